@@ -0,0 +1,21 @@
+package com.example.binance.backtest;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** 심볼 하나의 리플레이 결과 */
+@Getter
+@RequiredArgsConstructor
+public class BacktestResult {
+    private final String symbol;
+    private final int candles;
+    private final int alerts;
+    private final List<ScenarioResult> scenarios;
+    private final long elapsedMs;
+
+    public long count(String outcome) {
+        return scenarios.stream().filter(s -> outcome.equals(s.outcome())).count();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.binance.backtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.AggregationMode;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.service.CalculateService;
+import com.example.binance.service.ScenarioListener;
+import com.example.binance.service.SessionEvaluator;
+import com.example.binance.ws.CandleAggregator;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 kline CSV 를 라이브와 같은 경로(SymbolSession → SessionEvaluator → CalculateService)로 리플레이한다.
+ * 심볼마다 독립된 세션/시계/알림 캡처를 만들어 병렬로 돌리고, 봉은 closeTime 순으로
+ * 같은 closeTime 이면 H1 → M15 → M5 순서로 넣는다. 시계는 봉 closeTime 으로 이동하므로 실시간 대기가 없다.
+ * LOCAL 집계로 돌리면 5m 파일만 읽고 상위 봉은 라이브와 같은 방식으로 합성한다.
+ *
+ * <pre>
+ * ./mvnw -q compile exec:java -Dexec.mainClass=com.example.binance.backtest.BacktestRunner \
+ *     -Dexec.args="data/klines ETHUSDT,BTCUSDT target/backtest.csv [local]"
+ * </pre>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BacktestRunner {
+
+    private final Path dataDir;
+    private final int parallelism;
+    private final AggregationMode aggregation;
+
+    public BacktestRunner(Path dataDir, int parallelism) {
+        this(dataDir, parallelism, AggregationMode.EXCHANGE);
+    }
+
+    public List<BacktestResult> run(Collection<String> symbols) throws InterruptedException {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties());
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, symbols.size())));
+        try {
+            List<Future<BacktestResult>> futures = new ArrayList<>();
+            for (String symbol : symbols)
+                futures.add(pool.submit(() -> runSymbol(symbol, metrics)));
+
+            List<BacktestResult> results = new ArrayList<>();
+            for (Future<BacktestResult> f : futures) {
+                try {
+                    results.add(f.get());
+                } catch (ExecutionException e) {
+                    log.error("Backtest failed: {}", e.getCause().toString());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    BacktestResult runSymbol(String symbol, PipelineMetrics metrics) throws IOException {
+        long started = System.currentTimeMillis();
+
+        final boolean local = aggregation == AggregationMode.LOCAL;
+        Map<TimeFrame, List<Candle>> data = new EnumMap<>(TimeFrame.class);
+        for (TimeFrame tf : TimeFrame.values())
+            if (!local || tf == SessionEvaluator.BASE)
+                data.put(tf, CandleCsvReader.read(dataDir, symbol, tf));
+
+        VirtualClock clock = new VirtualClock();
+        CapturingAlertSink alerts = new CapturingAlertSink();
+        List<ScenarioResult> scenarios = new ArrayList<>();
+        ScenarioListener recorder = new ScenarioListener() {
+            @Override
+            public void onClosed(TradeScenario scenario, String reason) {
+                scenarios.add(ScenarioResult.of(scenario, reason));
+            }
+        };
+
+        CalculateService calc = new CalculateService(alerts, metrics, clock, List.of(recorder));
+        SessionEvaluator evaluator = new SessionEvaluator(calc, metrics);
+        SymbolSession sess = new SymbolSession(symbol, new SessionMailbox(symbol, Runnable::run));
+        for (TimeFrame tf : TimeFrame.values())
+            sess.buffer(tf); // 첫 H1 마감 전에 M15 가 와도 NPE 경고가 나지 않도록
+
+        int candles = local
+                ? replayBase(sess, evaluator, clock, data.get(SessionEvaluator.BASE))
+                : replay(sess, evaluator, clock, data);
+
+        for (TradeScenario open : sess.openScenarios())
+            scenarios.add(ScenarioResult.of(open, "open at end"));
+
+        BacktestResult result = new BacktestResult(symbol, candles, alerts.messages().size(), scenarios,
+                System.currentTimeMillis() - started);
+        log.info("Backtest {}: candles={}, alerts={}, scenarios={}, TP1={}, TP2={}, STOP={}, {}ms",
+                symbol, candles, result.getAlerts(), scenarios.size(),
+                result.count("TP1"), result.count("TP2"), result.count("STOP"), result.getElapsedMs());
+        return result;
+    }
+
+    /* 타임프레임별 정렬 리스트를 closeTime 순으로 병합해 리플레이 (동률은 H1 → M15 → M5) */
+    static int replay(SymbolSession sess, SessionEvaluator evaluator, VirtualClock clock,
+                      Map<TimeFrame, List<Candle>> data) {
+        return ReplayTape.of(sess.getSymbol(), data).replay(sess, evaluator, clock);
+    }
+
+    /* LOCAL 집계: base 봉만 넣고 상위 봉은 SessionEvaluator 가 합성 */
+    static int replayBase(SymbolSession sess, SessionEvaluator evaluator, VirtualClock clock, List<Candle> base) {
+        CandleAggregator.Listener ignore = (tf, candle) -> { };
+        for (Candle c : base) {
+            clock.set(c.getCloseTime());
+            evaluator.onBaseCandleClosed(sess, c.getOpenTime(), c.getCloseTime(),
+                    c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume(), ignore);
+        }
+        return base.size();
+    }
+
+    public static void writeCsv(Path out, List<BacktestResult> results) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(out)) {
+            w.write("symbol,tx,timeframe,side,activatedAt,closedAt,entry,stop,tp1,tp2,hitTp1,hitTp2,hitStop,outcome,closeReason");
+            w.newLine();
+            for (BacktestResult r : results) {
+                for (ScenarioResult s : r.getScenarios()) {
+                    w.write(String.join(",",
+                            s.getSymbol(), s.getId(), s.getTimeframe().timeFrame, s.getSide(),
+                            String.valueOf(s.getActivatedAt()), String.valueOf(s.getClosedAt()),
+                            String.valueOf(s.getEntry()), String.valueOf(s.getStop()),
+                            String.valueOf(s.getTp1()), String.valueOf(s.getTp2()),
+                            String.valueOf(s.isHitTp1()), String.valueOf(s.isHitTp2()), String.valueOf(s.isHitStop()),
+                            s.outcome(), '"' + s.getCloseReason() + '"'));
+                    w.newLine();
+                }
+            }
+        }
+    }
+
+    /** 디렉터리에서 5m 파일이 있는 심볼을 찾는다 */
+    static List<String> discoverSymbols(Path dir) throws IOException {
+        TreeSet<String> symbols = new TreeSet<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*-" + TimeFrame.M5.timeFrame + "-*.csv")) {
+            for (Path p : ds) {
+                String name = p.getFileName().toString();
+                symbols.add(name.substring(0, name.indexOf('-')));
+            }
+        }
+        return new ArrayList<>(symbols);
+    }
+
+    /** args: dataDir [SYMBOL,SYMBOL,...] [out.csv] [exchange|local] */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: BacktestRunner <dataDir> [SYMBOL,SYMBOL,...] [out.csv] [exchange|local]");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[0]);
+        List<String> symbols = args.length > 1 && !args[1].isBlank()
+                ? Arrays.asList(args[1].split(","))
+                : discoverSymbols(dir);
+
+        long started = System.currentTimeMillis();
+        AggregationMode mode = args.length > 3 ? AggregationMode.valueOf(args[3].toUpperCase()) : AggregationMode.EXCHANGE;
+        BacktestRunner runner = new BacktestRunner(dir, Runtime.getRuntime().availableProcessors(), mode);
+        List<BacktestResult> results = runner.run(symbols);
+
+        long scenarios = results.stream().mapToLong(r -> r.getScenarios().size()).sum();
+        log.info("Backtest done: {} symbols, {} scenarios in {}ms", results.size(), scenarios,
+                System.currentTimeMillis() - started);
+
+        if (args.length > 2) {
+            writeCsv(Paths.get(args[2]), results);
+            log.info("Results written to {}", args[2]);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.binance.backtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+
+/**
+ * data.binance.vision kline CSV 로더.
+ * 파일 이름은 {@code {SYMBOL}-{interval}-*.csv} (예: ETHUSDT-5m-2024-01.csv), 컬럼은
+ * {@code open_time,open,high,low,close,volume,close_time,...} 이고 헤더 행은 있어도 된다.
+ * 여러 파일을 합친 뒤 closeTime 순으로 정렬하고 중복 closeTime 은 하나만 남긴다.
+ */
+public final class CandleCsvReader {
+
+    private CandleCsvReader() {}
+
+    public static List<Candle> read(Path dir, String symbol, TimeFrame tf) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, symbol + "-" + tf.timeFrame + "-*.csv")) {
+            ds.forEach(files::add);
+        }
+        files.sort(Comparator.naturalOrder());
+
+        List<Candle> out = new ArrayList<>();
+        for (Path f : files) {
+            try (BufferedReader r = Files.newBufferedReader(f)) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    Candle c = parseLine(line);
+                    if (c != null)
+                        out.add(c);
+                }
+            }
+        }
+
+        out.sort(Comparator.comparingLong(Candle::getCloseTime));
+        List<Candle> dedup = new ArrayList<>(out.size());
+        long lastClose = Long.MIN_VALUE;
+        for (Candle c : out) {
+            if (c.getCloseTime() > lastClose) {
+                dedup.add(c);
+                lastClose = c.getCloseTime();
+            }
+        }
+        return dedup;
+    }
+
+    /** 한 행 파싱. 헤더/빈 줄은 null */
+    static Candle parseLine(String line) {
+        if (line.isEmpty() || !Character.isDigit(line.charAt(0)))
+            return null;
+
+        int[] cut = new int[7];
+        int from = 0;
+        for (int i = 0; i < cut.length; i++) {
+            int comma = line.indexOf(',', from);
+            cut[i] = comma < 0 ? line.length() : comma;
+            if (comma < 0 && i < cut.length - 1)
+                return null;
+            from = comma + 1;
+        }
+
+        return Candle.builder()
+                .openTime(toMillis(Long.parseLong(line, 0, cut[0], 10)))
+                .open(Double.parseDouble(line.substring(cut[0] + 1, cut[1])))
+                .high(Double.parseDouble(line.substring(cut[1] + 1, cut[2])))
+                .low(Double.parseDouble(line.substring(cut[2] + 1, cut[3])))
+                .close(Double.parseDouble(line.substring(cut[3] + 1, cut[4])))
+                .volume(Double.parseDouble(line.substring(cut[4] + 1, cut[5])))
+                .closeTime(toMillis(Long.parseLong(line, cut[5] + 1, cut[6], 10)))
+                .build();
+    }
+
+    // 일부 덤프는 마이크로초 단위 타임스탬프를 쓴다
+    private static long toMillis(long ts) {
+        return ts > 100_000_000_000_000L ? ts / 1_000L : ts;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.binance.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.binance.utils.AlertSink;
+
+/** 보내는 대신 메모리에 쌓아 두는 알림 출력 (심볼 하나의 리플레이 스레드 전용) */
+public final class CapturingAlertSink implements AlertSink {
+
+    private final List<String> messages = new ArrayList<>();
+
+    @Override
+    public boolean send(String message) {
+        messages.add(message);
+        return true;
+    }
+
+    public List<String> messages() {
+        return messages;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.binance.backtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.binance.dto.StrategyParams;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.service.CalculateService;
+import com.example.binance.service.ScenarioListener;
+import com.example.binance.service.SessionEvaluator;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 전략 파라미터 격자(또는 무작위 표본)를 과거 봉으로 평가해 기대값/적중률 순으로 정렬한다.
+ * 심볼별 {@link ReplayTape} 는 한 번만 만들어 모든 조합이 공유하고, 조합 인덱스 구간을
+ * fork-join 으로 쪼개 전 코어에서 돌린다. 워커 스레드마다 CalculateService/SessionEvaluator 를
+ * 하나씩 두고 조합마다 새 세션만 만든다 (지표 기간이 조합마다 다르므로).
+ *
+ * <pre>
+ * ./mvnw -q compile exec:java -Dexec.mainClass=com.example.binance.backtest.ParameterSweep \
+ *     -Dexec.args="data/klines ETHUSDT,BTCUSDT random:5000 target/sweep.csv"
+ * </pre>
+ */
+@Slf4j
+public class ParameterSweep {
+
+    static final int LEAF_SIZE = 4;
+    static final int DEFAULT_MIN_SCENARIOS = 30;
+
+    private final List<ReplayTape> tapes;
+    private final SweepSpace space;
+    private final int parallelism;
+    private final int minScenarios;
+
+    public ParameterSweep(List<ReplayTape> tapes, SweepSpace space, int parallelism, int minScenarios) {
+        this.tapes = List.copyOf(tapes);
+        this.space = space;
+        this.parallelism = Math.max(1, parallelism);
+        this.minScenarios = minScenarios;
+    }
+
+    /** 주어진 조합 인덱스를 모두 평가해 순위대로 돌려준다 */
+    public List<SweepResult> run(long[] indices) {
+        long started = System.currentTimeMillis();
+        AtomicInteger done = new AtomicInteger();
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SweepResult> results = pool.invoke(new Slice(indices, 0, indices.length, workers, done));
+            results.sort(SweepResult.ranking(minScenarios));
+            log.info("Sweep done: {} configs x {} symbols in {}ms",
+                    indices.length, tapes.size(), System.currentTimeMillis() - started);
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** 조합 하나를 전 심볼에 대해 평가 */
+    SweepResult evaluate(long index, Worker w) {
+        StrategyParams params = space.params(index);
+        w.reset();
+        for (ReplayTape tape : tapes) {
+            SymbolSession sess = new SymbolSession(tape.symbol(), new SessionMailbox(tape.symbol(), Runnable::run), params);
+            for (TimeFrame tf : TimeFrame.values())
+                sess.buffer(tf);
+            tape.replay(sess, w.evaluator, w.clock);
+            for (TradeScenario open : sess.openScenarios())
+                w.add(ScenarioResult.of(open, "open at end"));
+        }
+        return new SweepResult(index, params, w.scenarios, w.tp1, w.tp2, w.stop, w.sumR);
+    }
+
+    private final class Slice extends RecursiveTask<List<SweepResult>> {
+        private final long[] indices;
+        private final int from;
+        private final int to;
+        private final ThreadLocal<Worker> workers;
+        private final AtomicInteger done;
+
+        Slice(long[] indices, int from, int to, ThreadLocal<Worker> workers, AtomicInteger done) {
+            this.indices = indices;
+            this.from = from;
+            this.to = to;
+            this.workers = workers;
+            this.done = done;
+        }
+
+        @Override
+        protected List<SweepResult> compute() {
+            if (to - from <= LEAF_SIZE) {
+                Worker w = workers.get();
+                List<SweepResult> out = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    out.add(evaluate(indices[i], w));
+                    int n = done.incrementAndGet();
+                    if (n % 1000 == 0)
+                        log.info("Sweep progress {}/{}", n, indices.length);
+                }
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            Slice left = new Slice(indices, from, mid, workers, done);
+            left.fork();
+            List<SweepResult> right = new Slice(indices, mid, to, workers, done).compute();
+            List<SweepResult> out = left.join();
+            out.addAll(right);
+            return out;
+        }
+    }
+
+    /**
+     * 워커 스레드 전용 평가 컨텍스트. 시나리오는 닫힐 때 바로 집계해 조합별 목록을 남기지 않는다.
+     * 알림 중복 방지 창이 조합 사이에 이어지지만 시나리오 집계에는 영향이 없다.
+     */
+    static final class Worker implements ScenarioListener {
+        final VirtualClock clock = new VirtualClock();
+        final SessionEvaluator evaluator;
+
+        int scenarios, tp1, tp2, stop;
+        double sumR;
+
+        Worker() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            registry.config().meterFilter(MeterFilter.deny()); // 계측은 no-op
+            PipelineMetrics metrics = new PipelineMetrics(registry, new MetricsProperties());
+            CalculateService calc = new CalculateService(message -> true, metrics, clock, List.of(this));
+            this.evaluator = new SessionEvaluator(calc, metrics);
+        }
+
+        @Override
+        public void onClosed(TradeScenario scenario, String reason) {
+            add(ScenarioResult.of(scenario, reason));
+        }
+
+        void add(ScenarioResult r) {
+            scenarios++;
+            switch (r.outcome()) {
+                case "TP1" -> tp1++;
+                case "TP2" -> tp2++;
+                case "STOP" -> stop++;
+                default -> { }
+            }
+            sumR += r.rMultiple();
+        }
+
+        void reset() {
+            scenarios = tp1 = tp2 = stop = 0;
+            sumR = 0.0;
+        }
+    }
+
+    public static void writeCsv(Path out, SweepSpace space, List<SweepResult> results) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(out)) {
+            StringBuilder header = new StringBuilder("rank,index");
+            for (SweepSpace.Axis a : space.axes())
+                header.append(',').append(a.name());
+            w.write(header.append(",scenarios,tp1,tp2,stop,hitRate,expectancyR").toString());
+            w.newLine();
+
+            int rank = 1;
+            for (SweepResult r : results) {
+                StringBuilder line = new StringBuilder().append(rank++).append(',').append(r.getIndex());
+                for (double v : space.values(r.getIndex()))
+                    line.append(',').append(v);
+                line.append(',').append(r.getScenarios())
+                        .append(',').append(r.getTp1())
+                        .append(',').append(r.getTp2())
+                        .append(',').append(r.getStop())
+                        .append(',').append(String.format("%.4f", r.hitRate()))
+                        .append(',').append(String.format("%.4f", r.expectancy()));
+                w.write(line.toString());
+                w.newLine();
+            }
+        }
+    }
+
+    /** args: dataDir [SYMBOL,SYMBOL,...] [grid|random:N[:seed]] [out.csv] */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: ParameterSweep <dataDir> [SYMBOL,SYMBOL,...] [grid|random:N[:seed]] [out.csv]");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[0]);
+        List<String> symbols = args.length > 1 && !args[1].isBlank()
+                ? Arrays.asList(args[1].split(","))
+                : BacktestRunner.discoverSymbols(dir);
+
+        List<ReplayTape> tapes = new ArrayList<>();
+        for (String symbol : symbols)
+            tapes.add(ReplayTape.load(dir, symbol));
+
+        SweepSpace space = SweepSpace.defaults();
+        long[] indices = space.grid();
+        if (args.length > 2 && args[2].startsWith("random:")) {
+            String[] spec = args[2].split(":");
+            indices = space.sample(Integer.parseInt(spec[1]), spec.length > 2 ? Long.parseLong(spec[2]) : 42L);
+        }
+
+        ParameterSweep sweep = new ParameterSweep(tapes, space, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_MIN_SCENARIOS);
+        List<SweepResult> results = sweep.run(indices);
+
+        for (SweepResult r : results.subList(0, Math.min(10, results.size())))
+            log.info("E={}R hit={} n={} {}", String.format("%.3f", r.expectancy()),
+                    String.format("%.3f", r.hitRate()), r.getScenarios(), r.getParams());
+
+        if (args.length > 3) {
+            writeCsv(Paths.get(args[3]), space, results);
+            log.info("Results written to {}", args[3]);
+        }
+    }
+}
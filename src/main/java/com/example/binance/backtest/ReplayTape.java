@@ -0,0 +1,101 @@
+package com.example.binance.backtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.service.SessionEvaluator;
+import com.example.binance.ws.SymbolSession;
+
+/**
+ * 심볼 하나의 리플레이 순서를 미리 병합해 둔 열 배열.
+ * closeTime 순, 같은 closeTime 이면 H1 → M15 → M5 순서이며 한 번 만들면 읽기 전용이라
+ * 여러 스레드의 리플레이가 같은 배열을 공유한다.
+ */
+public final class ReplayTape {
+
+    private static final TimeFrame[] TFS = TimeFrame.values();
+
+    private final String symbol;
+    private final byte[] tf;
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+
+    private ReplayTape(String symbol, int n) {
+        this.symbol = symbol;
+        this.tf = new byte[n];
+        this.openTime = new long[n];
+        this.closeTime = new long[n];
+        this.open = new double[n];
+        this.high = new double[n];
+        this.low = new double[n];
+        this.close = new double[n];
+        this.volume = new double[n];
+    }
+
+    /** dataDir 의 전 타임프레임 CSV 로 테이프를 만든다 */
+    public static ReplayTape load(Path dataDir, String symbol) throws IOException {
+        Map<TimeFrame, List<Candle>> data = new EnumMap<>(TimeFrame.class);
+        for (TimeFrame t : TFS)
+            data.put(t, CandleCsvReader.read(dataDir, symbol, t));
+        return of(symbol, data);
+    }
+
+    /** 타임프레임별 정렬 리스트를 closeTime 순으로 병합 (동률은 enum 순서 H1 → M15 → M5) */
+    public static ReplayTape of(String symbol, Map<TimeFrame, List<Candle>> data) {
+        int total = 0;
+        for (TimeFrame t : TFS)
+            total += data.getOrDefault(t, List.of()).size();
+
+        ReplayTape tape = new ReplayTape(symbol, total);
+        int[] idx = new int[TFS.length];
+        for (int n = 0; n < total; n++) {
+            int best = -1;
+            long bestClose = Long.MAX_VALUE;
+            for (int k = 0; k < TFS.length; k++) {
+                List<Candle> list = data.getOrDefault(TFS[k], List.of());
+                if (idx[k] < list.size() && list.get(idx[k]).getCloseTime() < bestClose) {
+                    best = k;
+                    bestClose = list.get(idx[k]).getCloseTime();
+                }
+            }
+            Candle c = data.get(TFS[best]).get(idx[best]++);
+            tape.tf[n] = (byte) best;
+            tape.openTime[n] = c.getOpenTime();
+            tape.closeTime[n] = c.getCloseTime();
+            tape.open[n] = c.getOpen();
+            tape.high[n] = c.getHigh();
+            tape.low[n] = c.getLow();
+            tape.close[n] = c.getClose();
+            tape.volume[n] = c.getVolume();
+        }
+        return tape;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return tf.length;
+    }
+
+    /** 테이프 전체를 세션에 흘려 넣는다. 시계는 봉 closeTime 으로 이동한다. */
+    public int replay(SymbolSession sess, SessionEvaluator evaluator, VirtualClock clock) {
+        for (int n = 0; n < tf.length; n++) {
+            clock.set(closeTime[n]);
+            evaluator.onCandleClosed(sess, TFS[tf[n]], openTime[n], closeTime[n],
+                    open[n], high[n], low[n], close[n], volume[n]);
+        }
+        return tf.length;
+    }
+}
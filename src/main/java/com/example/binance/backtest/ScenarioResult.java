@@ -0,0 +1,74 @@
+package com.example.binance.backtest;
+
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/** 백테스트에서 닫힌(또는 끝까지 열려 있던) 시나리오 하나의 결과 */
+@Getter
+@Builder
+public class ScenarioResult {
+    private final String id;
+    private final String symbol;
+    private final TimeFrame timeframe;
+    private final String side;
+    private final long activatedAt;
+    private final long closedAt;
+    private final double entry;
+    private final double stop;
+    private final double tp1;
+    private final double tp2;
+    private final boolean hitTp1;
+    private final boolean hitTp2;
+    private final boolean hitStop;
+    private final String closeReason;
+
+    public static ScenarioResult of(TradeScenario s, String closeReason) {
+        return ScenarioResult.builder()
+                .id(s.getId())
+                .symbol(s.getSymbol())
+                .timeframe(s.getTimeframe())
+                .side(s.getSide())
+                .activatedAt(s.getActivatedAt())
+                .closedAt(s.getLastUpdated())
+                .entry(s.getEntry())
+                .stop(s.getStop())
+                .tp1(s.getTp1())
+                .tp2(s.getTp2())
+                .hitTp1(s.isHitTp1())
+                .hitTp2(s.isHitTp2())
+                .hitStop(s.isHitStop())
+                .closeReason(closeReason)
+                .build();
+    }
+
+    /**
+     * 손절폭 대비 손익 (R). STOP 은 -1, TP1/TP2 는 해당 목표까지의 거리 / 손절폭, NONE 은 0.
+     * 목표가 진입가 반대편이면 음수가 나올 수 있다.
+     */
+    public double rMultiple() {
+        double risk = Math.abs(entry - stop);
+        if (risk <= 0)
+            return 0.0;
+        double sign = "LONG".equals(side) ? 1.0 : -1.0;
+        return switch (outcome()) {
+            case "STOP" -> -1.0;
+            case "TP2" -> sign * (tp2 - entry) / risk;
+            case "TP1" -> sign * (tp1 - entry) / risk;
+            default -> 0.0;
+        };
+    }
+
+    /** TradeScenario#buildStatusSummary 와 같은 우선순위: STOP > TP2 > TP1 > NONE */
+    public String outcome() {
+        if (hitStop)
+            return "STOP";
+        if (hitTp2)
+            return "TP2";
+        if (hitTp1)
+            return "TP1";
+        return "NONE";
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.binance.backtest;
+
+import java.util.Comparator;
+
+import com.example.binance.dto.StrategyParams;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** 파라미터 조합 하나의 전 심볼 합산 결과 */
+@Getter
+@RequiredArgsConstructor
+public class SweepResult {
+
+    /** 시나리오 수가 충분한 것 먼저, 그 안에서 기대값(R) → 적중률 순 */
+    public static Comparator<SweepResult> ranking(int minScenarios) {
+        return Comparator.comparing((SweepResult r) -> r.getScenarios() < minScenarios)
+                .thenComparing(Comparator.comparingDouble(SweepResult::expectancy).reversed())
+                .thenComparing(Comparator.comparingDouble(SweepResult::hitRate).reversed())
+                .thenComparingLong(SweepResult::getIndex);
+    }
+
+    private final long index;
+    private final StrategyParams params;
+    private final int scenarios;
+    private final int tp1;
+    private final int tp2;
+    private final int stop;
+    private final double sumR;
+
+    /** TP 도달 / (TP 도달 + 손절). 결판이 안 난 시나리오는 제외 */
+    public double hitRate() {
+        int decided = tp1 + tp2 + stop;
+        return decided == 0 ? 0.0 : (double) (tp1 + tp2) / decided;
+    }
+
+    /** 시나리오당 평균 R (NONE 은 0 으로 계산) */
+    public double expectancy() {
+        return scenarios == 0 ? 0.0 : sumR / scenarios;
+    }
+}
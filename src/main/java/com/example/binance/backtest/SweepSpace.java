@@ -0,0 +1,104 @@
+package com.example.binance.backtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.binance.dto.StrategyParams;
+
+/**
+ * 파라미터 격자. 축마다 후보 값을 두고, 조합은 mixed-radix 인덱스 하나로 표현한다.
+ * 조합 객체를 미리 만들지 않으므로 수만 개 격자도 인덱스 배열만 들고 다닌다.
+ */
+public final class SweepSpace {
+
+    /** 축 값 하나를 빌더에 반영 */
+    @FunctionalInterface
+    public interface Setter {
+        void apply(StrategyParams.StrategyParamsBuilder b, double value);
+    }
+
+    public record Axis(String name, double[] values, Setter setter) { }
+
+    private final List<Axis> axes = new ArrayList<>();
+
+    public SweepSpace axis(String name, Setter setter, double... values) {
+        if (values.length == 0)
+            throw new IllegalArgumentException("axis without values: " + name);
+        axes.add(new Axis(name, values, setter));
+        return this;
+    }
+
+    public List<Axis> axes() {
+        return axes;
+    }
+
+    public long size() {
+        long n = 1;
+        for (Axis a : axes)
+            n = Math.multiplyExact(n, a.values().length);
+        return n;
+    }
+
+    /** 인덱스 → 축별 값 (첫 축이 가장 느리게 변한다) */
+    public double[] values(long index) {
+        double[] out = new double[axes.size()];
+        for (int k = axes.size() - 1; k >= 0; k--) {
+            double[] v = axes.get(k).values();
+            out[k] = v[(int) (index % v.length)];
+            index /= v.length;
+        }
+        return out;
+    }
+
+    public StrategyParams params(long index) {
+        double[] v = values(index);
+        StrategyParams.StrategyParamsBuilder b = StrategyParams.DEFAULT.toBuilder();
+        for (int k = 0; k < v.length; k++)
+            axes.get(k).setter().apply(b, v[k]);
+        return b.build();
+    }
+
+    public long[] grid() {
+        long n = size();
+        long[] out = new long[Math.toIntExact(n)];
+        for (int i = 0; i < out.length; i++)
+            out[i] = i;
+        return out;
+    }
+
+    /** 격자에서 중복 없이 n 개 무작위 추출 (n 이 격자보다 크면 격자 전체) */
+    public long[] sample(int n, long seed) {
+        long size = size();
+        if (n >= size)
+            return grid();
+        Random rnd = new Random(seed);
+        Set<Long> picked = new HashSet<>(n * 2);
+        while (picked.size() < n)
+            picked.add(Math.floorMod(rnd.nextLong(), size));
+        long[] out = picked.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(out);
+        return out;
+    }
+
+    /**
+     * CalculateService/SessionEvaluator 의 고정값 주변 기본 격자 (23,328 조합).
+     * RSI 임계는 50 기준 대칭 오프셋으로 묶어 축 수를 줄였다.
+     */
+    public static SweepSpace defaults() {
+        return new SweepSpace()
+                .axis("bbPeriod", (b, v) -> b.bbPeriod((int) v), 14, 20, 26)
+                .axis("bbK", (b, v) -> b.bbK(v), 1.5, 2.0, 2.5)
+                .axis("rsiPeriod", (b, v) -> b.rsiPeriod((int) v), 10, 14)
+                .axis("volSpike", (b, v) -> b.volSpike(v), 1.0, 1.2, 1.5, 2.0)
+                .axis("stopBandMul", (b, v) -> b.stopBandMul(v), 0.1, 0.2, 0.3)
+                .axis("tp1BandMul", (b, v) -> b.tp1BandMul(v), 0.2, 0.3, 0.5)
+                .axis("h1MinScore", (b, v) -> b.h1MinScore((int) v), 2, 3)
+                .axis("h1RsiBand", (b, v) -> b.h1LongRsi(50 - v).h1ShortRsi(50 + v), 0, 2, 4)
+                .axis("rsiRecover", (b, v) -> b.rsiRecoverLong(50 - v).rsiRecoverShort(50 + v), 1, 2)
+                .axis("rsiStrong", (b, v) -> b.rsiStrongLong(50 + v).rsiStrongShort(50 - v), 3, 5, 8);
+    }
+}
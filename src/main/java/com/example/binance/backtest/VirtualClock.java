@@ -0,0 +1,36 @@
+package com.example.binance.backtest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** 리플레이 중인 봉의 closeTime 으로 수동 이동하는 시계 (심볼 하나의 리플레이 스레드 전용) */
+public final class VirtualClock extends Clock {
+
+    private long millis;
+
+    public void set(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+}
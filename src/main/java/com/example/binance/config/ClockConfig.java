@@ -0,0 +1,16 @@
+package com.example.binance.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+    /** 전략 쪽 시간 소스 (백테스트는 가상 시계로 대체) */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.binance.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.example.binance.utils.Threads;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Slf4j
+public class ExecutorConfig {
+
+    /** 심볼 세션 mailbox 를 돌리는 공유 워커 풀 (코어 수만큼, CPU 작업이라 가상 스레드 모드에서도 플랫폼 스레드) */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService sessionExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Threads.factory("session-worker-", false));
+    }
+
+    /**
+     * 부트스트랩/재연결 중 블로킹 작업(캔들 파일 읽기·쓰기)용 스케줄러. 네티 이벤트 루프를 붙잡지 않게 여기로 넘긴다.
+     * {@code spring.threads.virtual.enabled=true} 이고 Java 21+ 이면 작업마다 가상 스레드, 아니면 bounded elastic.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler ioScheduler(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("I/O scheduler on virtual threads");
+            return Schedulers.fromExecutor(new VirtualThreadTaskExecutor("io-vt-"));
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false))
+            log.warn("spring.threads.virtual.enabled ignored on Java {} (21+ required)", Runtime.version().feature());
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "io", 60, true);
+    }
+}
@@ -1,27 +1,31 @@
 package com.example.binance.config;
 
+import java.util.List;
+
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.example.binance.properties.CoinProperties;
-import com.example.binance.service.KlineSocketService;
+import com.example.binance.service.ShardCoordinator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RequiredArgsConstructor
 @Configuration
+@EnableScheduling
 @Slf4j
 public class ScheduledConfig {
 
-    private final KlineSocketService klineSocketService;
+    private final ShardCoordinator shardCoordinator;
     private final CoinProperties coinProperties;
 
     @EventListener(ApplicationReadyEvent.class)
     public void checkProperties(){
         final String coin = coinProperties.getSymbol();
-        klineSocketService.start(coin, null);
+        shardCoordinator.assign(List.of(coin)); // 샤딩 모드면 링이 이 인스턴스를 가리킬 때만 열린다
         log.info("WebSocket started for: {}", coin);
     }
 }
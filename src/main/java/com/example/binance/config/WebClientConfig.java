@@ -81,21 +81,4 @@ public class WebClientConfig {
         return responseFromExternal;
     }
 
-    public static <T> ResponseEntity<T> getSend(final String endPoint,
-                                                final HttpHeaders headers,
-                                                final MultiValueMap<String, String> params,
-                                                final ParameterizedTypeReference<T> responseType){
-                                    
-        return webClient.get()
-                        .uri(endPoint, uriBuilder -> uriBuilder.queryParams(params).build())
-                        .headers(h -> {
-                            if(headers != null)
-                                h.addAll(headers);
-                            h.set(ENCODINGHEADER, ENCODINGVALUE);
-                        })
-                        .retrieve()
-                        .toEntity(responseType)
-                        .block();
-    }
-
 }
@@ -2,12 +2,18 @@ package com.example.binance.controller;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.binance.repository.ScenarioEventRepository;
 import com.example.binance.service.KlineSocketService;
+import com.example.binance.service.ShardCoordinator;
+import com.example.binance.service.UniverseManager;
 import com.example.binance.utils.Notifier;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -19,6 +25,9 @@ public class BinanceScanController {
     
     private final KlineSocketService klineSocketService;
     private final Notifier notifier;
+    private final ScenarioEventRepository scenarioEventRepository;
+    private final UniverseManager universeManager;
+    private final ShardCoordinator shardCoordinator;
 
     @GetMapping("/trade/test")
     public String scan(@RequestParam final String coin){
@@ -30,9 +39,11 @@ public class BinanceScanController {
         return "WebSocket started for: " + coin;
     }
 
+    /* 세션 스냅샷 페이지: after(이 심볼 다음부터), limit(최대 1000) */
     @GetMapping("/session/state")
-    public String getSessionState() {
-        return klineSocketService.printSessionStates();
+    public KlineSocketService.SessionPage getSessionState(@RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        return klineSocketService.snapshots(after, Math.max(1, Math.min(limit, 1000)));
     }
 
     @GetMapping("/session/close")
@@ -40,6 +51,27 @@ public class BinanceScanController {
         klineSocketService.close(symbol);
     }
 
+    /* 시나리오 적중 집계 (since: activatedAt ms, 기본 전체) */
+    @GetMapping("/scenario/stats")
+    public List<Map<String, Object>> scenarioStats(@RequestParam(defaultValue = "0") long since) {
+        return scenarioEventRepository.hitRates(since);
+    }
+
+    /* 유니버스 상태 (관리 세션 수/한도) */
+    @GetMapping("/universe/state")
+    public Map<String, Object> universeState() {
+        return Map.of(
+                "capacity", universeManager.capacity(),
+                "managed", universeManager.managed().size(),
+                "sessions", klineSocketService.sessions().size());
+    }
+
+    /* 샤딩 상태 (인스턴스/생존 멤버/맡은 심볼) */
+    @GetMapping("/shard/state")
+    public Map<String, Object> shardState() {
+        return shardCoordinator.state();
+    }
+
     @GetMapping("/telegram")
     public void sendMessage(@RequestParam String message) {
         notifier.send(message);
@@ -0,0 +1,61 @@
+package com.example.binance.controller;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.binance.enums.BackpressurePolicy;
+import com.example.binance.service.LiveEventHub;
+import com.example.binance.service.SessionHost;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+public class LiveStreamController {
+
+    private static final int MAX_BUFFER = 4096;
+
+    private final LiveEventHub hub;
+    private final SessionHost sessionHost;
+
+    /*
+     * 심볼별 라이브 이벤트 SSE.
+     * GET /stream?symbols=ETHUSDT,BTCUSDT&types=candle,signal&policy=drop-oldest&buffer=256
+     * types: candle, indicators, signal, scenario (생략하면 전부) / policy: drop-oldest(기본), latest
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(@RequestParam List<String> symbols,
+                                                @RequestParam(defaultValue = "") Set<String> types,
+                                                @RequestParam(defaultValue = "drop-oldest") String policy,
+                                                @RequestParam(defaultValue = "256") int buffer) {
+        if (symbols.isEmpty() || symbols.size() > LiveEventHub.MAX_SYMBOLS)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "symbols: 1.." + LiveEventHub.MAX_SYMBOLS);
+        // 열린 세션이 없는 심볼은 받지 않는다 (임의 심볼로 토픽이 쌓이지 않게)
+        List<String> unknown = symbols.stream()
+                .filter(s -> !sessionHost.sessions().containsKey(s.trim().toUpperCase(Locale.ROOT)))
+                .toList();
+        if (!unknown.isEmpty())
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no live session: " + unknown);
+        if (!LiveEventHub.TYPES.containsAll(types))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "types: " + LiveEventHub.TYPES);
+        if (buffer < 1 || buffer > MAX_BUFFER)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "buffer: 1.." + MAX_BUFFER);
+        BackpressurePolicy p;
+        try {
+            p = BackpressurePolicy.of(policy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "policy: drop-oldest | latest");
+        }
+        return hub.subscribe(symbols, types, p, buffer);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.binance.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** GET /fapi/v1/exchangeInfo 응답 (심볼 목록만) */
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExchangeInfo {
+    private List<ExchangeSymbol> symbols = List.of();
+}
@@ -0,0 +1,21 @@
+package com.example.binance.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** exchangeInfo 의 심볼 항목 (필요한 필드만) */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExchangeSymbol {
+    private String symbol;
+    private String status;          // TRADING, SETTLING ...
+    private String contractType;    // PERPETUAL, CURRENT_QUARTER ...
+    private String quoteAsset;
+}
@@ -0,0 +1,62 @@
+package com.example.binance.dto;
+
+import com.example.binance.enums.TimeFrame;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/** TradeScenario 수명 이벤트 스냅샷 (시나리오는 계속 변하므로 이벤트 시점 값을 복사해 둔다) */
+@Getter
+@Builder
+public class ScenarioEvent {
+
+    public enum Type { OPEN, UPDATE, CLOSE }
+
+    private final Type type;
+    private final String tx;
+    private final String strategy;
+    private final String symbol;
+    private final TimeFrame timeframe;
+    private final String side;
+    private final long activatedAt;
+    private final long eventTime;
+    private final double entry;
+    private final double stop;
+    private final double tp1;
+    private final double tp2;
+    private final double highest;
+    private final double lowest;
+    private final boolean hitTp1;
+    private final boolean hitTp2;
+    private final boolean hitStop;
+    private final long hitTp1At;
+    private final long hitTp2At;
+    private final long hitStopAt;
+    private final String reason;
+
+    public static ScenarioEvent of(Type type, TradeScenario s, String reason) {
+        return ScenarioEvent.builder()
+                .type(type)
+                .tx(s.getId())
+                .strategy(s.getStrategy())
+                .symbol(s.getSymbol())
+                .timeframe(s.getTimeframe())
+                .side(s.getSide())
+                .activatedAt(s.getActivatedAt())
+                .eventTime(s.getLastUpdated())
+                .entry(s.getEntry())
+                .stop(s.getStop())
+                .tp1(s.getTp1())
+                .tp2(s.getTp2())
+                .highest(s.getHighestPrice())
+                .lowest(s.getLowestPrice())
+                .hitTp1(s.isHitTp1())
+                .hitTp2(s.isHitTp2())
+                .hitStop(s.isHitStop())
+                .hitTp1At(s.getHitTp1At())
+                .hitTp2At(s.getHitTp2At())
+                .hitStopAt(s.getHitStopAt())
+                .reason(reason)
+                .build();
+    }
+}
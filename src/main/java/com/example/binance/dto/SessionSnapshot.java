@@ -0,0 +1,29 @@
+package com.example.binance.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.binance.enums.TimeFrame;
+
+/**
+ * 세션 상태의 불변 스냅샷 (읽기 모델).
+ * 세션 mailbox 스레드가 봉을 반영할 때마다 새로 만들어 참조 하나만 바꿔 끼우므로,
+ * 읽는 쪽은 락 없이 한 시점의 일관된 상태를 본다. version 은 세션마다 1 부터 발행할 때마다 증가한다.
+ *
+ * @param lastCloseTime 타임프레임 중 가장 최근 마감봉 closeTime(ms), 버퍼가 비어 있으면 -1
+ */
+public record SessionSnapshot(String symbol, long version, long lastCloseTime,
+                              Map<TimeFrame, Frame> frames, List<StrategyView> strategies) {
+
+    public record Bar(long openTime, long closeTime, double open, double high, double low, double close, double volume) { }
+
+    /** 타임프레임 하나: 버퍼 크기, 최근 봉, 마지막 봉 기준 지표 (워밍업 전 값은 null) */
+    public record Frame(int size, List<Bar> last, Double emaFast, Double emaSlow, Double rsi,
+                        Double bbMid, Double bbUpper, Double bbLower, Double avgVolume) { }
+
+    public record H1Env(long hourKey, boolean longOk, boolean shortOk, double bbMid, double bbUp, double bbLow) { }
+
+    /** 전략 하나의 상태: H1 게이트, M5 활성화, 진행 중 시나리오 */
+    public record StrategyView(String name, H1Env h1Env, boolean m5Active, String m5Side, long m5Since,
+                               List<ScenarioEvent> scenarios) { }
+}
@@ -0,0 +1,40 @@
+package com.example.binance.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 전략 튜닝 값. {@link #DEFAULT} 는 라이브에서 쓰던 고정값과 같다.
+ * 세션마다 하나씩 들고 있으며 지표 기간은 세션의 IndicatorState 생성 시점에 반영된다.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class StrategyParams {
+
+    public static final StrategyParams DEFAULT = StrategyParams.builder().build();
+
+    // 지표
+    @Builder.Default private final int bbPeriod = 20;
+    @Builder.Default private final double bbK = 2.0;
+    @Builder.Default private final int rsiPeriod = 14;
+    @Builder.Default private final int volumePeriod = 20;
+
+    // H1 환경: EMA·RSI·중심선 3개 조건 중 h1MinScore 개 이상 (롱은 RSI ≥ h1LongRsi, 숏은 RSI ≤ h1ShortRsi)
+    @Builder.Default private final double h1LongRsi = 48.0;
+    @Builder.Default private final double h1ShortRsi = 52.0;
+    @Builder.Default private final int h1MinScore = 2;
+
+    // 모멘텀: 볼륨 스파이크 OR RSI 회복 OR RSI 강세/약세
+    @Builder.Default private final double volSpike = 1.2;
+    @Builder.Default private final double rsiMid = 50.0;
+    @Builder.Default private final double rsiRecoverLong = 49.0;  // prevRsi < 이 값 → rsi >= rsiMid
+    @Builder.Default private final double rsiRecoverShort = 51.0; // prevRsi > 이 값 → rsi <= rsiMid
+    @Builder.Default private final double rsiStrongLong = 55.0;
+    @Builder.Default private final double rsiStrongShort = 45.0;
+
+    // 손절/TP1 밴드폭 배수
+    @Builder.Default private final double stopBandMul = 0.2;
+    @Builder.Default private final double tp1BandMul = 0.3;
+}
@@ -0,0 +1,19 @@
+package com.example.binance.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** GET /fapi/v1/ticker/24hr 항목 (quoteVolume 은 문자열로 오지만 Jackson 이 double 로 변환) */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Ticker24h {
+    private String symbol;
+    private double quoteVolume;
+}
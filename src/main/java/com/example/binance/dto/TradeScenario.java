@@ -21,6 +21,7 @@ public class TradeScenario {
     private final double tp1;
     private final double tp2;
     private final long activatedAt;
+    private String strategy = "default"; // 시나리오를 연 전략 이름
 
     private double highestPrice;
     private double lowestPrice;
@@ -28,6 +29,10 @@ public class TradeScenario {
     private boolean hitTp2;
     private boolean hitStop;
     private long lastUpdated;
+    // 처음 닿은 시각 (봉 마감 반영이면 closeTime, 진행 중 프레임이면 이벤트 시각). 0 이면 미도달
+    private long hitTp1At;
+    private long hitTp2At;
+    private long hitStopAt;
 
     public TradeScenario initialise(double price, long closeTime) {
         this.highestPrice = price;
@@ -36,10 +41,17 @@ public class TradeScenario {
         return this;
     }
 
-    public void update(double high, double low, long closeTime) {
+    public TradeScenario forStrategy(String name) {
+        this.strategy = name;
+        return this;
+    }
+
+    /** 봉(또는 진행 중 봉의 고가/저가) 반영. TP1/TP2/STOP 중 새로 닿은 것이 있으면 true */
+    public boolean update(double high, double low, long time) {
         this.highestPrice = Math.max(this.highestPrice, high);
         this.lowestPrice = Math.min(this.lowestPrice, low);
-        this.lastUpdated = closeTime;
+        this.lastUpdated = time;
+        final boolean before1 = hitTp1, before2 = hitTp2, beforeStop = hitStop;
 
         if (isLong()) {
             if (!hitStop && low <= stop)
@@ -56,6 +68,37 @@ public class TradeScenario {
             if (!hitTp2 && low <= tp2)
                 hitTp2 = true;
         }
+        if (hitTp1 && !before1)
+            hitTp1At = time;
+        if (hitTp2 && !before2)
+            hitTp2At = time;
+        if (hitStop && !beforeStop)
+            hitStopAt = time;
+        return hitTp1 != before1 || hitTp2 != before2 || hitStop != beforeStop;
+    }
+
+    /** 아직 닿지 않은 레벨 중 현재가 위쪽에서 가장 가까운 값 (없으면 +Inf) */
+    public double nextLevelAbove() {
+        double next = Double.POSITIVE_INFINITY;
+        if (isLong()) {
+            if (!hitTp1) next = Math.min(next, tp1);
+            if (!hitTp2) next = Math.min(next, tp2);
+        } else if (!hitStop) {
+            next = stop;
+        }
+        return next;
+    }
+
+    /** 아직 닿지 않은 레벨 중 현재가 아래쪽에서 가장 가까운 값 (없으면 -Inf) */
+    public double nextLevelBelow() {
+        double next = Double.NEGATIVE_INFINITY;
+        if (!isLong()) {
+            if (!hitTp1) next = Math.max(next, tp1);
+            if (!hitTp2) next = Math.max(next, tp2);
+        } else if (!hitStop) {
+            next = stop;
+        }
+        return next;
     }
 
     public boolean isLong() {
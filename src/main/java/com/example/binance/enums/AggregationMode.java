@@ -0,0 +1,8 @@
+package com.example.binance.enums;
+
+/** 상위 타임프레임 봉을 어디서 얻을지 */
+public enum AggregationMode {
+    EXCHANGE,   // 타임프레임별 kline 스트림을 각각 구독
+    LOCAL,      // 5m 스트림 하나만 구독하고 M15/H1 은 로컬에서 합성
+    VERIFY      // EXCHANGE 로 동작하면서 로컬 합성 봉을 거래소 봉과 비교
+}
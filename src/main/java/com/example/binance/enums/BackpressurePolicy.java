@@ -0,0 +1,14 @@
+package com.example.binance.enums;
+
+import java.util.Locale;
+
+/** 느린 스트림 구독자의 밀린 이벤트 처리 방식 */
+public enum BackpressurePolicy {
+    DROP_OLDEST,    // 버퍼가 차면 가장 오래된 이벤트부터 버린다
+    LATEST;         // 마지막 이벤트 하나만 남긴다
+
+    /** "drop-oldest", "latest" 같은 요청 파라미터 값 */
+    public static BackpressurePolicy of(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.binance.enums;
 
 public enum TimeFrame {
-    H1("1h"),
-    M15("15m"),
-    M5("5m");
+    H1("1h", 60L * 60L * 1000L),
+    M15("15m", 15L * 60L * 1000L),
+    M5("5m", 5L * 60L * 1000L);
 
     public final String timeFrame;
+    public final long millis;
 
-    TimeFrame(String b) {this.timeFrame = b;}
+    TimeFrame(String b, long millis) {
+        this.timeFrame = b;
+        this.millis = millis;
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.binance.indicator;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.dto.StrategyParams;
+
+/**
+ * 한 심볼/타임프레임의 증분 지표 상태.
+ * 마감봉이 추가될 때마다 {@link #update(Candle)} 로 O(1) 갱신하며, 현재/직전 값은 할당 없이 읽는다.
+ * RSI/볼린저/거래량 기간은 {@link StrategyParams} 로 바꿀 수 있다 (기본값은 아래 상수).
+ * 볼린저/평균 거래량 같은 파생 값은 마감봉마다 처음 읽을 때 한 번 계산해 두고, 다음 마감봉이 들어올 때만 무효화한다.
+ * 세션(심볼) × 타임프레임마다 하나이고 지표 스펙은 세션의 StrategyParams 이므로 이 객체가 곧
+ * (symbol, timeFrame, spec, lastCloseTime) 캐시다. 예: H1 밴드는 한 시간에 한 번만 계산되고 그 사이 M15/M5 평가는 읽기만 한다.
+ */
+public class IndicatorState {
+
+    public static final int EMA_FAST = 21;
+    public static final int EMA_SLOW = 50;
+    public static final int RSI_PERIOD = 14;
+    public static final int BB_PERIOD = 20;
+    public static final double BB_K = 2.0;
+    public static final int VOLUME_PERIOD = 20;
+
+    private final StreamingEma emaFast = new StreamingEma(EMA_FAST);
+    private final StreamingEma emaSlow = new StreamingEma(EMA_SLOW);
+    private final StreamingRsi rsi;
+    private final RollingStats closeStats;
+    private final RollingStats volumeStats;
+    private final double bbK;
+    private final int volumePeriod;
+
+    private long lastCloseTime = -1L;
+
+    // 파생 값 캐시 (mailbox 스레드 전용)
+    private boolean stale = true;
+    private long derivations;
+    private double bbMid, bbUpper, bbLower, avgVolume;
+
+    public IndicatorState() {
+        this(StrategyParams.DEFAULT);
+    }
+
+    public IndicatorState(StrategyParams p) {
+        this.rsi = new StreamingRsi(p.getRsiPeriod());
+        this.closeStats = new RollingStats(p.getBbPeriod());
+        this.volumeStats = new RollingStats(p.getVolumePeriod());
+        this.bbK = p.getBbK();
+        this.volumePeriod = p.getVolumePeriod();
+    }
+
+    public void update(Candle c) {
+        update(c.getCloseTime(), c.getClose(), c.getVolume());
+    }
+
+    public void update(long closeTime, double close, double volume) {
+        emaFast.update(close);
+        emaSlow.update(close);
+        rsi.update(close);
+        closeStats.update(close);
+        volumeStats.update(volume);
+        lastCloseTime = closeTime;
+        stale = true;
+    }
+
+    public void reset() {
+        emaFast.reset();
+        emaSlow.reset();
+        rsi.reset();
+        closeStats.reset();
+        volumeStats.reset();
+        lastCloseTime = -1L;
+        stale = true;
+    }
+
+    private void derive() {
+        if (!stale)
+            return;
+        double mean = closeStats.mean();
+        double band = bbK * closeStats.stdDev();
+        bbMid = mean;
+        bbUpper = mean + band;
+        bbLower = mean - band;
+        avgVolume = volumeStats.count() >= volumePeriod ? volumeStats.mean() : 0.0;
+        derivations++;
+        stale = false;
+    }
+
+    /** 파생 값을 계산한 횟수 (마감봉 수 이하) */
+    public long derivations() { return derivations; }
+
+    public long count() { return rsi.count(); }
+    public long lastCloseTime() { return lastCloseTime; }
+
+    public double emaFast() { return emaFast.value(); }
+    public double emaSlow() { return emaSlow.value(); }
+
+    public double rsi() { return rsi.value(); }
+    public double prevRsi() { return rsi.prev(); }
+
+    /** Bollinger mid (SMA) */
+    public double bbMid() { derive(); return bbMid; }
+    public double bbUpper() { derive(); return bbUpper; }
+    public double bbLower() { derive(); return bbLower; }
+
+    /** 최근 volumePeriod(기본 {@value #VOLUME_PERIOD}) 개 봉 평균 거래량 (윈도우가 차기 전에는 0) */
+    public double avgVolume() {
+        derive();
+        return avgVolume;
+    }
+}
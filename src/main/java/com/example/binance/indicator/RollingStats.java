@@ -0,0 +1,68 @@
+package com.example.binance.indicator;
+
+/**
+ * 고정 길이 윈도우의 이동 평균/모표준편차를 O(1) 로 유지한다.
+ * ta4j {@code SMAIndicator}/{@code StandardDeviationIndicator} 처럼 윈도우가 차기 전에는 가용한 값만 사용한다.
+ * 상쇄 오차를 줄이기 위해 첫 값을 기준점으로 빼서 합/제곱합을 누적한다.
+ */
+public class RollingStats {
+
+    private final int period;
+    private final double[] window;
+
+    private long count;
+    private int head;
+    private double shift;
+    private double sum;
+    private double sumSq;
+
+    public RollingStats(int period) {
+        this.period = period;
+        this.window = new double[period];
+    }
+
+    public void update(double x) {
+        if (count == 0)
+            shift = x;
+        double d = x - shift;
+        if (count >= period) {
+            double old = window[head];
+            sum -= old;
+            sumSq -= old * old;
+        }
+        window[head] = d;
+        head = (head + 1) % period;
+        sum += d;
+        sumSq += d * d;
+        count++;
+    }
+
+    public void reset() {
+        count = 0;
+        head = 0;
+        shift = 0.0;
+        sum = 0.0;
+        sumSq = 0.0;
+    }
+
+    public int size() {
+        return (int) Math.min(count, period);
+    }
+
+    public double mean() {
+        int n = size();
+        return n == 0 ? 0.0 : shift + sum / n;
+    }
+
+    public double stdDev() {
+        int n = size();
+        if (n == 0)
+            return 0.0;
+        double m = sum / n;
+        double var = sumSq / n - m * m;
+        return var > 0 ? Math.sqrt(var) : 0.0;
+    }
+
+    public int period() { return period; }
+    public long count() { return count; }
+}
@@ -0,0 +1,42 @@
+package com.example.binance.indicator;
+
+/**
+ * 증분 EMA. ta4j {@code EMAIndicator} 와 동일하게 첫 값으로 시드한 뒤
+ * {@code ema += (x - ema) * 2 / (period + 1)} 로 갱신한다.
+ */
+public class StreamingEma {
+
+    private final int period;
+    private final double multiplier;
+
+    private long count;
+    private double value;
+    private double prev;
+
+    public StreamingEma(int period) {
+        this.period = period;
+        this.multiplier = 2.0 / (period + 1);
+    }
+
+    public void update(double x) {
+        prev = value;
+        if (count == 0) {
+            value = x;
+            prev = x;
+        } else {
+            value += (x - value) * multiplier;
+        }
+        count++;
+    }
+
+    public void reset() {
+        count = 0;
+        value = 0.0;
+        prev = 0.0;
+    }
+
+    public int period() { return period; }
+    public long count() { return count; }
+    public double value() { return value; }
+    public double prev() { return prev; }
+}
@@ -0,0 +1,61 @@
+package com.example.binance.indicator;
+
+/**
+ * 증분 Wilder RSI. ta4j {@code RSIIndicator} 와 같이 gain/loss 를 MMA(1/period) 로 평활하며
+ * 첫 봉의 gain/loss 는 0 으로 시드한다.
+ */
+public class StreamingRsi {
+
+    private final int period;
+    private final double multiplier;
+
+    private long count;
+    private double lastClose;
+    private double avgGain;
+    private double avgLoss;
+    private double value;
+    private double prev;
+
+    public StreamingRsi(int period) {
+        this.period = period;
+        this.multiplier = 1.0 / period;
+    }
+
+    public void update(double close) {
+        prev = value;
+        if (count == 0) {
+            avgGain = 0.0;
+            avgLoss = 0.0;
+        } else {
+            double diff = close - lastClose;
+            double gain = diff > 0 ? diff : 0.0;
+            double loss = diff < 0 ? -diff : 0.0;
+            avgGain += (gain - avgGain) * multiplier;
+            avgLoss += (loss - avgLoss) * multiplier;
+        }
+        lastClose = close;
+        count++;
+
+        if (avgLoss == 0.0) {
+            value = avgGain == 0.0 ? 0.0 : 100.0;
+        } else {
+            value = 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+        }
+        if (count == 1)
+            prev = value;
+    }
+
+    public void reset() {
+        count = 0;
+        lastClose = 0.0;
+        avgGain = 0.0;
+        avgLoss = 0.0;
+        value = 0.0;
+        prev = 0.0;
+    }
+
+    public int period() { return period; }
+    public long count() { return count; }
+    public double value() { return value; }
+    public double prev() { return prev; }
+}
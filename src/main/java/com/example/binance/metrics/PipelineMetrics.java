@@ -0,0 +1,183 @@
+package com.example.binance.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 캔들 → 알림 파이프라인 계측.
+ * symbol 태그는 최대 {@code binance.metrics.max-symbol-tags} 개까지만 만들고 초과분은 {@value #OTHER} 로 합친다.
+ * 타이머(파싱/평가/알림 지연)는 timeFrame 태그만 달아 심볼 수와 무관하게 시계열 수가 고정된다.
+ * 핫패스에서는 미리 만든 미터를 맵에서 꺼내 쓰기만 한다. 알림 큐 지표는 {@code Notifier} 가 직접 바인딩한다.
+ */
+@Component
+public class PipelineMetrics {
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final int maxSymbolTags;
+
+    private final Map<String, SymbolMeters> bySymbol = new ConcurrentHashMap<>();
+    private final SymbolMeters other;
+    private final Timer parseTimer;
+    private final Map<TimeFrame, Timer> evalTimers = new EnumMap<>(TimeFrame.class);
+    private final Map<TimeFrame, Timer> alertLatency = new EnumMap<>(TimeFrame.class);
+    private final Timer hitLatency;
+    private final Map<TimeFrame, Counter> aggregateIncomplete = new EnumMap<>(TimeFrame.class);
+    private final Map<TimeFrame, Counter> aggregateMatch = new EnumMap<>(TimeFrame.class);
+    private final Map<TimeFrame, Counter> aggregateMismatch = new EnumMap<>(TimeFrame.class);
+
+    public PipelineMetrics(MeterRegistry registry, MetricsProperties properties) {
+        this.registry = registry;
+        this.maxSymbolTags = Math.max(0, properties.getMaxSymbolTags());
+        this.other = new SymbolMeters(OTHER);
+
+        parseTimer = Timer.builder("binance.ws.parse")
+                .description("kline 프레임 디코딩 시간")
+                .register(registry);
+
+        hitLatency = Timer.builder("binance.alert.hit.latency")
+                .description("진행 중 봉에서 TP/STOP 을 처음 본 프레임 시각 → Notifier.send 호출까지")
+                .register(registry);
+
+        for (TimeFrame tf : TimeFrame.values()) {
+            evalTimers.put(tf, Timer.builder("binance.strategy.evaluation")
+                    .description("CalculateService 마감봉 평가 시간")
+                    .tag("timeFrame", tf.timeFrame)
+                    .register(registry));
+            alertLatency.put(tf, Timer.builder("binance.alert.latency")
+                    .description("거래소 봉 closeTime → Notifier.send 호출까지")
+                    .tag("timeFrame", tf.timeFrame)
+                    .register(registry));
+            aggregateIncomplete.put(tf, Counter.builder("binance.aggregation.incomplete")
+                    .description("base 봉 누락으로 로컬 합성하지 못한 상위 봉")
+                    .tag("timeFrame", tf.timeFrame)
+                    .register(registry));
+            aggregateMatch.put(tf, verifyCounter(tf, true));
+            aggregateMismatch.put(tf, verifyCounter(tf, false));
+        }
+    }
+
+    private Counter verifyCounter(TimeFrame tf, boolean match) {
+        return Counter.builder("binance.aggregation.verify")
+                .description("로컬 합성 봉 vs 거래소 봉 비교 결과")
+                .tag("timeFrame", tf.timeFrame)
+                .tag("match", String.valueOf(match))
+                .register(registry);
+    }
+
+    /** 디코딩 한 번 (라우팅 전이라 심볼 태그 없음) */
+    public void parsed(long nanos) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 라우팅된 프레임 한 건. 초당 프레임 수와 마감봉 비율은 이 카운터의 rate 로 본다. */
+    public void frame(String symbol, boolean isFinal) {
+        SymbolMeters m = meters(symbol);
+        (isFinal ? m.finalFrames : m.nonFinalFrames).increment();
+    }
+
+    public void evaluated(TimeFrame tf, long nanos) {
+        evalTimers.get(tf).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 봉 closeTime 부터 알림 요청까지 걸린 시간(ms) */
+    public void alertRequested(TimeFrame tf, long delay) {
+        if (delay >= 0)
+            alertLatency.get(tf).record(delay, TimeUnit.MILLISECONDS);
+    }
+
+    public void hitNotified(long delay) {
+        if (delay >= 0)
+            hitLatency.record(delay, TimeUnit.MILLISECONDS);
+    }
+
+    public void aggregateIncomplete(TimeFrame tf) {
+        aggregateIncomplete.get(tf).increment();
+    }
+
+    public void aggregateVerified(TimeFrame tf, boolean match) {
+        (match ? aggregateMatch : aggregateMismatch).get(tf).increment();
+    }
+
+    /** 세션 버퍼/mailbox 게이지 등록. symbol 태그 한도를 넘은 세션은 게이지를 만들지 않는다. */
+    public void bindSession(SymbolSession sess) {
+        SymbolMeters m = meters(sess.getSymbol());
+        if (m == other || !m.sessionMeters.isEmpty())
+            return;
+
+        for (TimeFrame tf : TimeFrame.values()) {
+            m.sessionMeters.add(Gauge.builder("binance.session.buffer.size", sess, s -> s.buffer(tf).size())
+                    .tag("symbol", m.tag)
+                    .tag("timeFrame", tf.timeFrame)
+                    .register(registry));
+        }
+        m.sessionMeters.add(Gauge.builder("binance.session.mailbox.depth", sess, s -> s.getMailbox().size())
+                .tag("symbol", m.tag)
+                .register(registry));
+        m.sessionMeters.add(FunctionCounter.builder("binance.session.mailbox.dropped", sess, s -> s.getMailbox().dropped())
+                .tag("symbol", m.tag)
+                .register(registry));
+        m.sessionMeters.add(FunctionCounter.builder("binance.session.mailbox.busy", sess, s -> s.getMailbox().busyNanos() / 1e9)
+                .description("mailbox 작업 실행 누적 시간")
+                .baseUnit("seconds")
+                .tag("symbol", m.tag)
+                .register(registry));
+    }
+
+    /** 세션 종료: 해당 심볼의 미터를 지우고 태그 슬롯을 돌려준다 */
+    public void unbindSession(String symbol) {
+        SymbolMeters m = bySymbol.remove(symbol);
+        if (m == null)
+            return;
+        m.sessionMeters.forEach(registry::remove);
+        registry.remove(m.finalFrames);
+        registry.remove(m.nonFinalFrames);
+    }
+
+    private SymbolMeters meters(String symbol) {
+        SymbolMeters m = bySymbol.get(symbol);
+        if (m != null)
+            return m;
+        if (bySymbol.size() >= maxSymbolTags)
+            return other;
+        return bySymbol.computeIfAbsent(symbol, SymbolMeters::new);
+    }
+
+    private final class SymbolMeters {
+        final String tag;
+        final Counter finalFrames;
+        final Counter nonFinalFrames;
+        final List<Meter> sessionMeters = new ArrayList<>();
+
+        SymbolMeters(String tag) {
+            this.tag = tag;
+            this.finalFrames = frames(tag, true);
+            this.nonFinalFrames = frames(tag, false);
+        }
+
+        private Counter frames(String tag, boolean isFinal) {
+            return Counter.builder("binance.ws.frames")
+                    .tag("symbol", tag)
+                    .tag("final", String.valueOf(isFinal))
+                    .register(registry);
+        }
+    }
+}
@@ -14,6 +14,8 @@ public class DomainProperties {
     
     private String main;
     private String klines;
+    private String exchangeInfo;
+    private String ticker24h;
     private String ws;
     private Get get;
 
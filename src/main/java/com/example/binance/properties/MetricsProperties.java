@@ -0,0 +1,15 @@
+package com.example.binance.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.metrics")
+public class MetricsProperties {
+    private int maxSymbolTags = 100;    // symbol 태그를 따로 갖는 최대 심볼 수 (초과분은 "other")
+}
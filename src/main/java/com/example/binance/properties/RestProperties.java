@@ -0,0 +1,17 @@
+package com.example.binance.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.rest")
+public class RestProperties {
+    private int weightPerMinute = 2000;     // 로컬 예산 (거래소 한도 2400 보다 낮게)
+    private int maxRetries = 3;             // 429 재시도 횟수
+    private long defaultRetryAfterMs = 5_000L; // Retry-After 헤더가 없을 때
+}
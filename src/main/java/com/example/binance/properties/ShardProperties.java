@@ -0,0 +1,20 @@
+package com.example.binance.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.shard")
+public class ShardProperties {
+    private boolean enabled = false;            // 여러 인스턴스가 심볼을 나눠 맡는 모드
+    private String instanceId = "";             // 비우면 host-pid
+    private long heartbeatMs = 5_000L;          // 생존 신호 + 임대 갱신 주기
+    private long leaseTtlMs = 15_000L;          // 갱신이 끊긴 뒤 다른 인스턴스가 가져가기까지
+    private long clockSkewMs = 1_000L;          // 인스턴스 간 시계 오차 여유 (만료 이만큼 전에 알림을 멈춘다)
+    private int virtualNodes = 128;             // 해시 링의 인스턴스당 가상 노드 수
+}
@@ -0,0 +1,17 @@
+package com.example.binance.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.store")
+public class StoreProperties {
+    private boolean enabled = true;             // 로컬 캔들 저장소 사용 여부
+    private String dir = "data/candles";        // 심볼별 캔들 파일 위치
+    private int maxBars = 20_000;               // 심볼/타임프레임별 보관 봉 수 (파일을 열 때 잘라냄, 0 이면 무제한)
+}
@@ -0,0 +1,21 @@
+package com.example.binance.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.binance.strategy.StrategyDefinition;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.strategy")
+public class StrategyProperties {
+    private boolean includeDefault = true;                            // 기본 전략(기존 로직)을 첫 번째로 둘지
+    private List<StrategyDefinition> definitions = new ArrayList<>(); // 함께 돌릴 규칙 전략 (A/B)
+}
@@ -0,0 +1,22 @@
+package com.example.binance.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.binance.enums.AggregationMode;
+import com.example.binance.ws.SessionMailbox;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.stream")
+public class StreamProperties {
+    private int bootstrapLimit = 200;        // 타임프레임별 부트스트랩 캔들 수
+    private int bootstrapConcurrency = 8;    // 동시에 부트스트랩할 심볼 수
+    private AggregationMode aggregation = AggregationMode.EXCHANGE;   // 상위 타임프레임 봉 출처
+    private boolean intrabar = false;        // 진행 중 5m 프레임 고가/저가로 TP/STOP 즉시 확인
+    private int mailboxCapacity = SessionMailbox.DEFAULT_CAPACITY;     // 세션당 대기 작업 상한 (메모리 예산)
+}
@@ -11,7 +11,27 @@ import lombok.Setter;
 @Configuration
 @ConfigurationProperties("telegram")
 public class TelegramProperties {
+    // 텔레그램 전송 한도: 개인 채팅은 초당 1건, 그룹/채널(chat id 가 음수)은 분당 20건
+    public static final double PRIVATE_RATE = 1.0;
+    public static final int PRIVATE_BURST = 3;
+    public static final double GROUP_RATE = 20 / 60.0;
+    public static final int GROUP_BURST = 1;
+
     private String domain;
     private String token;
     private String chatId;
+    private Double ratePerSecond;   // 초당 전송 수 (비우면 채팅 종류별 기본값)
+    private Integer burst;          // 연달아 보낼 수 있는 수 (비우면 채팅 종류별 기본값)
+
+    public boolean isGroupChat() {
+        return chatId != null && chatId.trim().startsWith("-");
+    }
+
+    public double effectiveRatePerSecond() {
+        return ratePerSecond != null ? ratePerSecond : isGroupChat() ? GROUP_RATE : PRIVATE_RATE;
+    }
+
+    public int effectiveBurst() {
+        return burst != null ? burst : isGroupChat() ? GROUP_BURST : PRIVATE_BURST;
+    }
 }
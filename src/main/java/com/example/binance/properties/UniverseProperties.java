@@ -0,0 +1,33 @@
+package com.example.binance.properties;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("binance.universe")
+public class UniverseProperties {
+    private boolean enabled = false;
+    private long refreshMs = 300_000L;              // 랭킹 갱신 주기
+    private String quoteAsset = "USDT";
+    private String contractType = "PERPETUAL";
+    private double minQuoteVolume = 0.0;            // 24h 거래대금 하한
+    private List<String> exclude = List.of();
+
+    private int maxSessions = 500;
+    private int rankSlack = 50;                     // 운영 중인 심볼은 capacity + slack 순위까지 유지 (잦은 교체 방지)
+    private int maxStartsPerRefresh = 50;           // 한 번에 새로 부트스트랩할 심볼 수
+
+    // 세션당 예산: 합계가 가용 자원의 share 를 넘지 않도록 capacity 를 제한한다
+    private double cpuBudgetPerSession = 0.001;     // 코어 1개 대비 비율 (mailbox 실행 시간)
+    private double cpuShare = 0.75;
+    private long memoryBudgetPerSession = 256 * 1024L; // bytes
+    private double heapShare = 0.5;
+    private int overBudgetCooldown = 3;             // 예산 초과로 내린 심볼을 다시 올리지 않을 갱신 횟수
+}
@@ -0,0 +1,70 @@
+package com.example.binance.repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 샤딩 모드의 공유 상태: 인스턴스 생존 신호(shard_member)와 심볼 소유 임대(symbol_lease).
+ * 임대는 owner 가 같거나 만료된 행만 가져갈 수 있어 한 심볼의 주인은 언제나 하나다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void heartbeat(String instanceId, long now) {
+        jdbcTemplate.update("MERGE INTO shard_member (instance_id, heartbeat_at) KEY (instance_id) VALUES (?, ?)",
+                instanceId, now);
+    }
+
+    /** aliveSince 이후 생존 신호를 보낸 인스턴스 (id 순) */
+    public List<String> members(long aliveSince) {
+        return jdbcTemplate.queryForList(
+                "SELECT instance_id FROM shard_member WHERE heartbeat_at >= ? ORDER BY instance_id", String.class, aliveSince);
+    }
+
+    /** 비어 있거나, 이미 내 것이거나, 만료된 임대를 가져온다 */
+    public boolean tryAcquire(String symbol, String owner, long now, long expiresAt) {
+        int updated = jdbcTemplate.update(
+                "UPDATE symbol_lease SET owner = ?, expires_at = ? WHERE symbol = ? AND (owner = ? OR expires_at < ?)",
+                owner, expiresAt, symbol, owner, now);
+        if (updated > 0)
+            return true;
+        try {
+            return jdbcTemplate.update("INSERT INTO symbol_lease (symbol, owner, expires_at) VALUES (?, ?, ?)",
+                    symbol, owner, expiresAt) > 0;
+        } catch (DuplicateKeyException e) {
+            return false; // 다른 인스턴스가 들고 있다
+        }
+    }
+
+    /** 내 임대를 모두 연장하고 아직 내 것인 심볼을 돌려준다 (만료 뒤 남이 가져간 심볼은 빠진다) */
+    public Set<String> renew(String owner, long expiresAt) {
+        jdbcTemplate.update("UPDATE symbol_lease SET expires_at = ? WHERE owner = ?", expiresAt, owner);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT symbol FROM symbol_lease WHERE owner = ?", String.class, owner));
+    }
+
+    public void release(String symbol, String owner) {
+        jdbcTemplate.update("DELETE FROM symbol_lease WHERE symbol = ? AND owner = ?", symbol, owner);
+    }
+
+    /** 정상 종료: 생존 신호와 임대를 지워 남은 인스턴스가 다음 주기에 바로 가져가게 한다 */
+    public void leave(String instanceId) {
+        jdbcTemplate.update("DELETE FROM symbol_lease WHERE owner = ?", instanceId);
+        jdbcTemplate.update("DELETE FROM shard_member WHERE instance_id = ?", instanceId);
+    }
+
+    public List<Map<String, Object>> leases() {
+        return jdbcTemplate.queryForList("SELECT symbol, owner, expires_at FROM symbol_lease ORDER BY symbol");
+    }
+}
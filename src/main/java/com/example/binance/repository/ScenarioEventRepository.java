@@ -0,0 +1,72 @@
+package com.example.binance.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.binance.dto.ScenarioEvent;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ScenarioEventRepository {
+
+    private static final String INSERT = "INSERT INTO scenario_event "
+            + "(tx, event, symbol, timeframe, side, activated_at, event_time, entry, stop, tp1, tp2, "
+            + "highest, lowest, hit_tp1, hit_tp2, hit_stop, reason, hit_tp1_at, hit_tp2_at, hit_stop_at, strategy) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 닫힌 시나리오 기준 전략/심볼/타임프레임별 적중 수 (idx_scenario_event_event_act 사용)
+    static final String HIT_RATES = "SELECT strategy, symbol, timeframe, COUNT(*) AS scenarios, "
+            + "SUM(CASE WHEN hit_tp1 THEN 1 ELSE 0 END) AS tp1, "
+            + "SUM(CASE WHEN hit_tp2 THEN 1 ELSE 0 END) AS tp2, "
+            + "SUM(CASE WHEN hit_stop THEN 1 ELSE 0 END) AS stop "
+            + "FROM scenario_event WHERE event = 'CLOSE' AND activated_at >= ? "
+            + "GROUP BY strategy, symbol, timeframe ORDER BY strategy, symbol, timeframe";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 한 번의 JDBC batch 로 저장 */
+    public void insertAll(List<ScenarioEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setString(1, e.getTx());
+            ps.setString(2, e.getType().name());
+            ps.setString(3, e.getSymbol());
+            ps.setString(4, e.getTimeframe().timeFrame);
+            ps.setString(5, e.getSide());
+            ps.setLong(6, e.getActivatedAt());
+            ps.setLong(7, e.getEventTime());
+            ps.setDouble(8, e.getEntry());
+            ps.setDouble(9, e.getStop());
+            ps.setDouble(10, e.getTp1());
+            ps.setDouble(11, e.getTp2());
+            ps.setDouble(12, e.getHighest());
+            ps.setDouble(13, e.getLowest());
+            ps.setBoolean(14, e.isHitTp1());
+            ps.setBoolean(15, e.isHitTp2());
+            ps.setBoolean(16, e.isHitStop());
+            ps.setString(17, e.getReason());
+            setTime(ps, 18, e.getHitTp1At());
+            setTime(ps, 19, e.getHitTp2At());
+            setTime(ps, 20, e.getHitStopAt());
+            ps.setString(21, e.getStrategy());
+        });
+    }
+
+    private static void setTime(PreparedStatement ps, int i, long millis) throws SQLException {
+        if (millis > 0)
+            ps.setLong(i, millis);
+        else
+            ps.setNull(i, Types.BIGINT);
+    }
+
+    public List<Map<String, Object>> hitRates(long activatedSince) {
+        return jdbcTemplate.queryForList(HIT_RATES, activatedSince);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.binance.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.binance.properties.RestProperties;
+import com.example.binance.utils.WeightBudget;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 요청 가중치를 지키는 Binance REST GET.
+ * 보내기 전에 {@link WeightBudget} 에서 가중치를 잡고 (모자라면 다음 분까지 대기), 응답의
+ * {@code X-MBX-USED-WEIGHT-1M} 으로 사용량을 맞춘다. 429 는 Retry-After 만큼 전체를 멈춘 뒤 재시도하고,
+ * 418(IP 차단)은 멈춘 뒤 실패로 돌려준다. 같은 키로 진행 중인 요청은 하나로 합친다.
+ */
+@Component
+@Slf4j
+public class BinanceRestClient implements MeterBinder {
+
+    static final String USED_WEIGHT_HEADER = "X-MBX-USED-WEIGHT-1M";
+
+    private final WebClient webClient;
+    private final RestProperties properties;
+    private final WeightBudget budget;
+
+    private final Map<String, Mono<?>> inflight = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+
+    public BinanceRestClient(WebClient defaultWebClient, RestProperties properties, Clock clock) {
+        this.webClient = defaultWebClient;
+        this.properties = properties;
+        this.budget = new WeightBudget(properties.getWeightPerMinute(), clock::millis);
+    }
+
+    /** 가중치 예산 안에서 GET (빈 본문은 empty). key 가 null 이 아니면 같은 key 의 진행 중 요청과 합친다. */
+    public <T> Mono<T> get(String key, String url, MultiValueMap<String, String> params, int weight,
+                           ParameterizedTypeReference<T> type) {
+        Supplier<Mono<T>> call = () -> send(url, params, weight, type, 0);
+        return key == null ? Mono.defer(call) : coalesce(key, call);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String key, Supplier<Mono<T>> call) {
+        Mono<?> existing = inflight.get(key);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (Mono<T>) existing;
+        }
+        Object[] self = new Object[1];
+        Mono<T> shared = Mono.defer(call)
+                // 결과를 내보내기 전에 빼야 끝난 요청에 새 구독이 붙지 않는다
+                .doOnEach(signal -> inflight.remove(key, self[0]))
+                .cache();
+        self[0] = shared;
+        Mono<?> prev = inflight.putIfAbsent(key, shared);
+        if (prev != null) {
+            coalesced.incrementAndGet();
+            return (Mono<T>) prev;
+        }
+        return shared;
+    }
+
+    private <T> Mono<T> send(String url, MultiValueMap<String, String> params, int weight,
+                             ParameterizedTypeReference<T> type, int attempt) {
+        return Mono.defer(() -> {
+            long wait = budget.tryReserve(weight);
+            if (wait > 0) {
+                waits.incrementAndGet();
+                log.debug("REST weight wait {}ms (used={}/{})", wait, budget.used(), budget.limit());
+                return Mono.delay(Duration.ofMillis(wait)).then(send(url, params, weight, type, attempt));
+            }
+            requests.incrementAndGet();
+            return webClient.get()
+                    .uri(url, b -> b.queryParams(params).build())
+                    .header("accept-encoding", "identity")
+                    .retrieve()
+                    .toEntity(type)
+                    .doOnNext(this::observe)
+                    .mapNotNull(ResponseEntity::getBody)
+                    .onErrorResume(WebClientResponseException.class, e -> {
+                        observe(e.getHeaders());
+                        int status = e.getStatusCode().value();
+                        if (status != 429 && status != 418)
+                            return Mono.error(e);
+
+                        long retryAfter = retryAfterMs(e.getHeaders());
+                        throttled.incrementAndGet();
+                        budget.block(retryAfter);
+                        log.warn("REST {} from {}: paused {}ms", status, url, retryAfter);
+                        if (status == 418 || attempt >= properties.getMaxRetries())
+                            return Mono.error(e);
+                        return send(url, params, weight, type, attempt + 1);
+                    });
+        });
+    }
+
+    private void observe(ResponseEntity<?> response) {
+        observe(response.getHeaders());
+    }
+
+    private void observe(HttpHeaders headers) {
+        String used = headers.getFirst(USED_WEIGHT_HEADER);
+        if (used == null)
+            return;
+        try {
+            budget.observe(Integer.parseInt(used.trim()));
+        } catch (NumberFormatException ignore) {
+            // 잘못된 헤더는 무시
+        }
+    }
+
+    private long retryAfterMs(HttpHeaders headers) {
+        String v = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (v != null) {
+            try {
+                return Long.parseLong(v.trim()) * 1000L;
+            } catch (NumberFormatException ignore) {
+                // HTTP-date 형식은 Binance 가 쓰지 않는다
+            }
+        }
+        return properties.getDefaultRetryAfterMs();
+    }
+
+    /** GET /fapi/v1/klines 가중치 (limit 구간별) */
+    public static int klinesWeight(int limit) {
+        if (limit < 100)
+            return 1;
+        if (limit < 500)
+            return 2;
+        if (limit <= 1000)
+            return 5;
+        return 10;
+    }
+
+    public int usedWeight() { return budget.used(); }
+    public long blockedUntil() { return budget.blockedUntil(); }
+    public long requestCount() { return requests.get(); }
+    public long coalescedCount() { return coalesced.get(); }
+    public long throttledCount() { return throttled.get(); }
+    public long waitCount() { return waits.get(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("binance.rest.weight.used", this, BinanceRestClient::usedWeight).register(registry);
+        FunctionCounter.builder("binance.rest.requests", this, BinanceRestClient::requestCount).register(registry);
+        FunctionCounter.builder("binance.rest.coalesced", this, BinanceRestClient::coalescedCount).register(registry);
+        FunctionCounter.builder("binance.rest.throttled", this, BinanceRestClient::throttledCount).register(registry);
+        FunctionCounter.builder("binance.rest.weight.waits", this, BinanceRestClient::waitCount).register(registry);
+    }
+}
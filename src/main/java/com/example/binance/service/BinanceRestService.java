@@ -0,0 +1,116 @@
+package com.example.binance.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.dto.ExchangeInfo;
+import com.example.binance.dto.ExchangeSymbol;
+import com.example.binance.dto.Ticker24h;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.DomainProperties;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Binance Futures REST 조회. 모든 요청은 {@link BinanceRestClient} 의 가중치 예산을 거치고,
+ * 같은 kline 요청이 동시에 여러 번 들어오면 한 번만 보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BinanceRestService implements UniverseSource {
+
+    static final int EXCHANGE_INFO_WEIGHT = 1;
+    static final int TICKER_24H_ALL_WEIGHT = 40;
+
+    private final DomainProperties domainProperties;
+    private final BinanceRestClient client;
+
+    public List<Candle> klines(String symbol, TimeFrame tf, int limit) {
+        return klinesAsync(symbol, tf, limit).block();
+    }
+
+    public Mono<List<Candle>> klinesAsync(String symbol, TimeFrame tf, int limit) {
+        return klinesAsync(symbol, tf, null, limit);
+    }
+
+    /** startTime(ms) 이후의 봉부터 limit 개 (startTime 이 null 이면 최신 limit 개) */
+    public Mono<List<Candle>> klinesAsync(String symbol, TimeFrame tf, Long startTime, int limit) {
+        return klinesAsync(symbol, tf, startTime, null, limit);
+    }
+
+    /** [startTime, endTime] 구간의 봉, 최대 limit 개 (null 인 경계는 생략) */
+    public Mono<List<Candle>> klinesAsync(String symbol, TimeFrame tf, Long startTime, Long endTime, int limit) {
+
+        final String endPoint = new StringBuilder(domainProperties.getMain())
+                .append(domainProperties.getKlines())
+                .toString();
+
+        final MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("symbol", symbol);
+        params.add("interval", tf.timeFrame);
+        params.add("limit", String.valueOf(limit));
+        if (startTime != null)
+            params.add("startTime", String.valueOf(startTime));
+        if (endTime != null)
+            params.add("endTime", String.valueOf(endTime));
+
+        final String key = new StringBuilder("klines:").append(symbol).append(':').append(tf.timeFrame)
+                .append(':').append(startTime).append(':').append(endTime).append(':').append(limit)
+                .toString();
+        return client.get(key, endPoint, params, BinanceRestClient.klinesWeight(limit),
+                        new ParameterizedTypeReference<List<List<Object>>>() {
+                        })
+                .map(this::toCandles)
+                .defaultIfEmpty(List.of());
+    }
+
+    /** 거래소 심볼 목록 */
+    @Override
+    public Mono<List<ExchangeSymbol>> symbols() {
+        final String endPoint = domainProperties.getMain() + domainProperties.getExchangeInfo();
+        return client.get("exchangeInfo", endPoint, new LinkedMultiValueMap<>(), EXCHANGE_INFO_WEIGHT,
+                        new ParameterizedTypeReference<ExchangeInfo>() {
+                        })
+                .map(ExchangeInfo::getSymbols)
+                .defaultIfEmpty(List.of());
+    }
+
+    /** 전 심볼 24h 통계 */
+    @Override
+    public Mono<List<Ticker24h>> tickers() {
+        final String endPoint = domainProperties.getMain() + domainProperties.getTicker24h();
+        return client.get("ticker24h", endPoint, new LinkedMultiValueMap<>(), TICKER_24H_ALL_WEIGHT,
+                        new ParameterizedTypeReference<List<Ticker24h>>() {
+                        })
+                .defaultIfEmpty(List.of());
+    }
+
+    private List<Candle> toCandles(List<List<Object>> responseBody) {
+
+        List<Candle> out = new ArrayList<>();
+        
+        if (responseBody == null)
+            return out;
+
+        for (List<Object> k : responseBody) {
+            // kline 배열 인덱스: 0 opentime,1 open,2 high,3 low,4 close,5 volume,6 closetime ...
+            out.add(Candle.builder()
+                    .openTime(((Number) k.get(0)).longValue())
+                    .closeTime(((Number)k.get(6)).longValue())
+                    .open(Double.parseDouble((String) k.get(1)))
+                    .high(Double.parseDouble((String) k.get(2)))
+                    .low(Double.parseDouble((String) k.get(3)))
+                    .close(Double.parseDouble((String) k.get(4)))
+                    .volume(Double.parseDouble((String) k.get(5)))
+                    .build());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.binance.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.springframework.stereotype.Service;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.StreamProperties;
+import com.example.binance.store.CandleStore;
+import com.example.binance.ws.SymbolSession;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 여러 심볼의 캔들 히스토리를 논블로킹으로 병렬 수집한다.
+ * 심볼당 전 타임프레임을 동시에 요청하고, 심볼 수준 동시성은 {@code binance.stream.bootstrap-concurrency} 로 제한한다.
+ * 로컬 {@link CandleStore} 에 충분한 봉이 있으면 마지막 저장 closeTime 이후의 빈 구간만 REST 로 채운다.
+ * 재연결 후에는 {@link #gaps} 로 세션 버퍼의 마지막 closeTime 이후 마감봉만 받아 온다.
+ * 캔들 파일 읽기·쓰기는 {@code ioScheduler} 에서 돌려 네티 이벤트 루프를 막지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BootstrapCoordinator {
+
+    private final BinanceRestService restService;
+    private final StreamProperties streamProperties;
+    private final CandleStore store;
+    private final Clock clock;
+    private final Scheduler ioScheduler;
+
+    /** 한 심볼의 전 타임프레임 캔들. 실패한 타임프레임은 빈 리스트 */
+    public Mono<Map<TimeFrame, List<Candle>>> fetch(String symbol) {
+        final int limit = streamProperties.getBootstrapLimit();
+        return Flux.fromArray(TimeFrame.values())
+                .flatMap(tf -> fetch(symbol, tf, limit)
+                        .onErrorResume(e -> {
+                            log.warn("{} bootstrap error {}: {}", tf, symbol, e.getMessage());
+                            return Mono.just(List.of());
+                        })
+                        .map(list -> Map.entry(tf, list)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(TimeFrame.class));
+    }
+
+    private Mono<List<Candle>> fetch(String symbol, TimeFrame tf, int limit) {
+        final long now = clock.millis();
+        return Mono.fromCallable(() -> store.tail(symbol, tf, limit))
+                .subscribeOn(ioScheduler)
+                .flatMap(stored -> {
+                    long last = stored.isEmpty() ? -1L : stored.get(stored.size() - 1).getCloseTime();
+                    long missing = last < 0 ? limit : (now - last) / tf.millis + 1;
+
+                    // 저장분이 모자라거나 공백이 limit 이상이면 최신 limit 개를 통째로 받는다
+                    if (stored.size() < limit || missing >= limit)
+                        return latest(symbol, tf, limit, now);
+
+                    return restService.klinesAsync(symbol, tf, last + 1, (int) missing + 1)
+                            .publishOn(ioScheduler)
+                            .map(list -> closedOnly(list, now))
+                            .doOnNext(gap -> {
+                                store.appendAll(symbol, tf, gap);
+                                log.info("Bootstrap {} {} from store: stored={}, backfilled={}", tf, symbol, stored.size(), gap.size());
+                            })
+                            .map(gap -> {
+                                List<Candle> merged = new ArrayList<>(stored.size() + gap.size());
+                                merged.addAll(stored);
+                                merged.addAll(gap);
+                                return merged;
+                            })
+                            // 공백을 못 받으면 저장분 + 구멍 대신 최신 limit 개로
+                            .onErrorResume(e -> {
+                                log.warn("{} backfill error {}: {}, fetching latest", tf, symbol, e.getMessage());
+                                return latest(symbol, tf, limit, now);
+                            });
+                });
+    }
+
+    /* 최신 limit 개를 통째로 받아 마감봉만 저장 */
+    private Mono<List<Candle>> latest(String symbol, TimeFrame tf, int limit, long now) {
+        return restService.klinesAsync(symbol, tf, limit)
+                .publishOn(ioScheduler)
+                .map(list -> closedOnly(list, now))
+                .doOnNext(list -> store.appendAll(symbol, tf, list));
+    }
+
+    /**
+     * 재연결 공백 메우기: 타임프레임별 {@code (lastCloseTime, now]} 구간의 마감봉만 startTime/endTime 으로 받는다.
+     * 어느 하나라도 공백이 bootstrap-limit 이상이면 empty → 호출 측이 전체 부트스트랩으로 대체한다.
+     */
+    public Mono<Map<TimeFrame, List<Candle>>> gaps(String symbol, Map<TimeFrame, Long> lastCloseTimes) {
+        final int limit = streamProperties.getBootstrapLimit();
+        final long now = clock.millis();
+
+        for (Map.Entry<TimeFrame, Long> e : lastCloseTimes.entrySet()) {
+            long last = e.getValue();
+            if (last < 0 || (now - last) / e.getKey().millis >= limit)
+                return Mono.empty();
+        }
+
+        return Flux.fromIterable(lastCloseTimes.entrySet())
+                .flatMap(e -> {
+                    TimeFrame tf = e.getKey();
+                    long last = e.getValue();
+                    if (now - last <= tf.millis)
+                        return Mono.just(Map.entry(tf, List.<Candle>of())); // 놓친 마감봉 없음
+                    int missing = (int) ((now - last) / tf.millis) + 1;
+                    return restService.klinesAsync(symbol, tf, last + 1, now, missing)
+                            .publishOn(ioScheduler)
+                            .map(list -> closedOnly(list, now))
+                            .doOnNext(gap -> {
+                                store.appendAll(symbol, tf, gap);
+                                log.info("Backfill {} {}: {} candles after {}", tf, symbol, gap.size(), last);
+                            })
+                            .map(gap -> Map.entry(tf, gap));
+                })
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(TimeFrame.class));
+    }
+
+    /* REST 응답의 마지막 봉은 아직 진행 중일 수 있다 → 마감된 봉만 남긴다 */
+    private static List<Candle> closedOnly(List<Candle> candles, long now) {
+        List<Candle> out = new ArrayList<>(candles.size());
+        for (Candle c : candles)
+            if (c.getCloseTime() < now)
+                out.add(c);
+        return out;
+    }
+
+    /**
+     * 세션들을 제한된 동시성으로 부트스트랩한다.
+     * {@code onLoaded} 는 수집된 캔들을 세션에 반영하고 완료되면 세션을 내보내는 Mono 를 돌려준다.
+     */
+    public Flux<SymbolSession> bootstrapAll(Collection<SymbolSession> sessions,
+                                            BiFunction<SymbolSession, Map<TimeFrame, List<Candle>>, Mono<SymbolSession>> onLoaded) {
+        long started = System.currentTimeMillis();
+        return Flux.fromIterable(sessions)
+                .flatMap(sess -> fetch(sess.getSymbol())
+                        .flatMap(data -> onLoaded.apply(sess, data))
+                        .onErrorResume(e -> {
+                            log.warn("Bootstrap failed {}: {}", sess.getSymbol(), e.getMessage());
+                            return Mono.empty();
+                        }),
+                        Math.max(1, streamProperties.getBootstrapConcurrency()))
+                .doOnComplete(() -> log.info("Bootstrap done: {} sessions in {}ms",
+                        sessions.size(), System.currentTimeMillis() - started));
+    }
+}
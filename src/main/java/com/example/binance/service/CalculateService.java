@@ -1,204 +1,173 @@
 package com.example.binance.service;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Deque;
-import java.util.HashSet;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.example.binance.dto.Candle;
 import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.dto.StrategyParams;
 import com.example.binance.dto.TradeScenario;
 import com.example.binance.enums.TimeFrame;
-import com.example.binance.utils.Notifier;
+import com.example.binance.indicator.IndicatorState;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.strategy.RuleStrategy;
+import com.example.binance.strategy.Strategy;
+import com.example.binance.strategy.StrategyRegistry;
+import com.example.binance.utils.AlertSink;
+import com.example.binance.utils.DedupWindow;
+import com.example.binance.utils.SymbolIds;
+import com.example.binance.ws.CandleBuffer;
+import com.example.binance.ws.StrategyState;
 import com.example.binance.ws.SymbolSession;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.example.binance.utils.DateParser.getHour;
 
+/**
+ * 전략 평가와 시나리오/알림 처리.
+ * 세션마다 {@link StrategyRegistry} 의 전략을 순서대로 평가하며, 버퍼/지표는 함께 읽고
+ * H1 환경·M5 활성화·시나리오는 전략마다 따로 둔다 ({@link SymbolSession#strategy(int)}).
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CalculateService {
 
-    private final IndicatorService ind;
-    private final Notifier notifier;
-    private final Set<String> sentKeys = Collections.synchronizedSet(new HashSet<>());
+    private static final String LONG = "LONG";
+    private static final String SHORT = "SHORT";
+
+    private final AlertSink notifier;
+    private final PipelineMetrics metrics;
+    private final Clock clock;
+    private final List<ScenarioListener> scenarioListeners;
+    private final Strategy[] strategies;
+    private final List<String> strategyNames;
+    private static final TimeFrame[] SCENARIO_TFS = { TimeFrame.M15, TimeFrame.M5 };
+    // 알림 중복 방지: 최대 64k 키, 24시간 뒤 만료
+    private final DedupWindow sentKeys;
+
+    /** 기본 전략 하나 (백테스트/벤치마크) */
+    public CalculateService(AlertSink notifier, PipelineMetrics metrics, Clock clock,
+                            List<ScenarioListener> scenarioListeners) {
+        this(notifier, metrics, clock, scenarioListeners, StrategyRegistry.of(RuleStrategy.DEFAULT));
+    }
+
+    @Autowired
+    public CalculateService(AlertSink notifier, PipelineMetrics metrics, Clock clock,
+                            List<ScenarioListener> scenarioListeners, StrategyRegistry registry) {
+        this.notifier = notifier;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.scenarioListeners = List.copyOf(scenarioListeners);
+        this.strategies = registry.strategies().toArray(new Strategy[0]);
+        this.strategyNames = registry.strategies().stream().map(Strategy::name).toList();
+        this.sentKeys = new DedupWindow(1 << 16, TimeUnit.HOURS.toMillis(24), 16, clock::millis);
+    }
+
+    /** H1 마감(또는 부트스트랩) 후 전략별 H1 환경 갱신. 다음 한 시간 동안 M15 트리거의 게이트가 된다 */
+    public void refreshH1Env(SymbolSession sess) {
+        IndicatorState st = sess.indicators(TimeFrame.H1);
+        CandleBuffer h1 = sess.buffer(TimeFrame.H1);
+        long hourKey = h1.openTime(h1.lastIndex()) + 60L * 60L * 1000L; // H1 endTime(=closetime) 추정
+        double bbMid = st.bbMid(), bbUp = st.bbUpper(), bbLow = st.bbLower();
+
+        for (int i = 0; i < strategies.length; i++) {
+            BootStrapEnv env = BootStrapEnv.builder()
+                    .hourKey(hourKey)
+                    .longOk(strategies[i].gateLong(sess))
+                    .shortOk(strategies[i].gateShort(sess))
+                    .bbMid(bbMid)
+                    .bbUp(bbUp)
+                    .bbLow(bbLow)
+                    .build();
+            sess.strategy(i).getH1EnvRef().set(env);
+        }
+    }
 
     public void onCandleClosed_H1M15(SymbolSession sess) {
+        if (fenced(sess))
+            return;
 
         // 1) 버퍼 체크
-        Deque<Candle> h1 = sess.getBuffers().get(TimeFrame.H1);
-        Deque<Candle> m15 = sess.getBuffers().get(TimeFrame.M15);
+        CandleBuffer h1 = sess.getBuffers().get(TimeFrame.H1);
+        CandleBuffer m15 = sess.getBuffers().get(TimeFrame.M15);
         
         if(h1 == null ) 
             { log.warn("H1 NPE"); return; } 
         if(m15 == null) 
             { log.warn("M15 NPE"); return; } 
 
-        log.info("H1 Size : {} | M15 Size : {}", h1.size(), m15.size());
+        log.debug("H1 Size : {} | M15 Size : {}", h1.size(), m15.size());
         
         if (h1.size() < 60 || m15.size() < 60) 
-            { log.warn("Invalid Buffers"); return; }
+            { log.debug("Invalid Buffers"); return; }
+
+        int last = m15.lastIndex();
+        for (int i = 0; i < strategies.length; i++)
+            evaluateM15(sess, i, m15, last);
+    }
+
+    /* 전략 하나의 15분봉 평가 (H1 게이트 → M15 트리거) */
+    private void evaluateM15(SymbolSession sess, int index, CandleBuffer m15, int last) {
+        Strategy strategy = strategies[index];
+        StrategyState state = sess.strategy(index);
 
         // 2) H1 환경 (부트스트랩/갱신된 값)
-        BootStrapEnv env = sess.getH1EnvRef().get();
-        if (env == null) { log.warn("Invalid H1"); return;}
+        BootStrapEnv env = state.getH1EnvRef().get();
+        if (env == null) { log.debug("Invalid H1"); return;}
 
-        // 3) 동일 시간대 매핑: 해당 15m 봉이 env.hourKey 내에 있어야 함
-        List<Candle> m15List = new ArrayList<Candle>(m15);
-        Candle last = m15List.get(m15List.size() - 1);
-        Candle prev = m15List.get(m15List.size() - 2);
-        long hourKeyOfM15 = floorToHourEnd(last.getOpenTime()); // 15:45~16:00 → 16:00
+        if (log.isDebugEnabled())
+            log.debug("[{}] Hour Key = ENV : {} | LAST : {}", strategy.name(),
+                    getHour(env.getHourKey()), getHour(floorToHourEnd(m15.openTime(last))));
 
-        log.info("Hour Key Valid = ENV : {} | LAST : {}", 
-                                            getHour(env.getHourKey()), 
-                                            getHour(hourKeyOfM15));
+        // 기존 시나리오에 현재 봉 반영
+        updateScenarioWithCandle(state, TimeFrame.M15, m15, last);
+        updateScenarioWithCandle(state, TimeFrame.M5, m15, last);
 
+        log.debug("===[H1 Env] {} : LONG {} | SHORT {} ===", strategy.name(), env.isLongOk(), env.isShortOk());
 
-        
-        
-        // if (hourKeyOfM15 != env.getHourKey()){ 
-        //     log.warn("Invalid Hour Key => M15 : {} | ENV : {}", hourKeyOfM15, env.getHourKey()); 
-        //     return;
-        // }
+        // 3) 트리거 판정 (H1 게이트 → M15 스위치). 양방향이 동시에 참이면 long 우선
+        String side = null;
+        if (env.isLongOk() && strategy.triggerLong(sess, TimeFrame.M15))
+            side = LONG;
+        else if (env.isShortOk() && strategy.triggerShort(sess, TimeFrame.M15))
+            side = SHORT;
 
-        // 기존 시나리오에 현재 봉 반영
-        updateScenarioWithCandle(sess, TimeFrame.M15, last);
-        updateScenarioWithCandle(sess, TimeFrame.M5, last);
-
-
-        // 4) 지표 계산
-        double[] bb15 = ind.bollinger(m15List, TimeFrame.M15, 20, 2);
-        double rsi15 = ind.rsi(m15List, TimeFrame.M15, 14);
-        double prevRsi = ind.rsi(m15List.subList(0, m15List.size() - 1), TimeFrame.M15, 14);
-
-        // H1 BB는 TP2 계산용
-        List<Candle> h1List = new ArrayList<Candle>(h1);
-        double[] bbH1 = ind.bollinger(h1List, TimeFrame.H1, 20, 2);
-
-        // 모멘텀 완화: 볼륨 스파이크 OR RSI 회복/상승
-        double avgVol = 0.0;
-        if (m15List.size() >= 20) {
-            double sum = 0.0;
-            for (int i = m15List.size() - 20; i < m15List.size(); i++)
-                sum += m15List.get(i).getVolume();
-            avgVol = sum / 20.0;
-        }
-        boolean volSpike = avgVol > 0 && last.getVolume() >= 1.2 * avgVol;
-        boolean rsiRecoverUp = (prevRsi < 49.0 && rsi15 >= 50.0); // for Long
-        boolean rsiRecoverDown = (prevRsi > 51.0 && rsi15 <= 50.0); // for Short
-        boolean momentumLongOk = volSpike || rsiRecoverUp || rsi15 >= 55.0;
-        boolean momentumShortOk = volSpike || rsiRecoverDown || rsi15 <= 45.0;
-
-        //double eps = 0.0005 * last.getClose();
-
-        log.info("===[H1 Env] : LONG {} | SHORT {} ===", env.isLongOk(), env.isShortOk());
-
-        // 6) 트리거 판정 (H1 게이트 → M15 스위치)
-        boolean longTriggered = false;
-        boolean shortTriggered = false;
-
-        if (env.isLongOk()) {
-
-            /* 필터링 완화 */
-            //boolean crossUpMid  = (prev.getClose() <= bb15[0] + eps) && (last.getClose() >= bb15[0] - eps);
-            //boolean longTrigger  = (crossUpMid  || last.getClose() > bb15[1]) && momentumLongOk;
-            
-            boolean longTrigger = ((prev.getClose() <= bb15[0] && last.getClose() > bb15[0]) // 중심선 재탈환
-                     || (last.getClose() > bb15[1])) // 상단 돌파
-                     && momentumLongOk;
-
-            log.info("[LONG Alert] : {}", longTrigger);
-
-            if (longTrigger) {
-                longTriggered = true;
-                double entry = last.getClose();
-                // Stop: 하단밴드, 직전 저점, Entry보다 낮은 값 중 가장 낮은 값
-                double stopCandidate = Math.min(bb15[2], prev.getLow());
-                double stop = Math.min(stopCandidate, entry - (bb15[0] - bb15[2]) * 0.2); // Entry보다 확실히 낮게
-                // TP1: 상단밴드 또는 Entry보다 높은 값 (이미 돌파한 경우 대비)
-                double tp1 = Math.max(bb15[1], entry + (bb15[1] - bb15[0]) * 0.3); // 상단밴드 또는 Entry + 밴드폭의 30%
-                double tp2 = bbH1[1]; // 1h 상단밴드
-
-                TradeScenario scenario = startScenario(sess, TimeFrame.M15, "LONG", entry, stop, tp1, tp2, last);
-
-                // 15분봉 필터링 통과 시 5분봉 활성화
-                String currentSide = sess.getLastM15TriggerSide();
-                if (!"LONG".equals(currentSide)) {
-                    // 추세 역전 또는 새로운 신호
-                    sess.activateM5("LONG", last.getCloseTime());
-                    log.info("[M5 Activated] LONG at {}", last.getCloseTime());
-                }
-                
-                sendOnce(sess.getSymbol(), "15m", "LONG",
-                        last.getOpenTime(), entry, stop, tp1, tp2, scenario.getId(),
-                        String.format("[Results of 15] H1+M15 LONG (tx=%s): 15m mid recapture/upper break & (Vol↑ or RSI↑)", scenario.getId()));
+        // 15분봉 필터링 실패 시 5분봉 비활성화 및 시나리오 종료
+        if (side == null) {
+            closeScenario(state, TimeFrame.M5, "M5 filter inactive after 15m evaluation");
+            closeScenario(state, TimeFrame.M15, "15m filter inactive");
+            if (state.isM5Active()) {
+                state.deactivateM5();
+                log.debug("[M5 Deactivated] No trigger at {}", m15.closeTime(last));
             }
+            return;
         }
 
-        // 양방향이 동시에 true가 날 수 있어 tie-break 필요 → long 우선 후 아니면 short
-        if (!longTriggered && env.isShortOk()) {
-            
-            /* 필터링 완화 */
-            //boolean crossDnMid  = (prev.getClose() >= bb15[0] - eps) && (last.getClose() <= bb15[0] + eps);
-            //boolean shortTrigger = (crossDnMid  || last.getClose() < bb15[2]) && momentumShortOk;
-            
-            boolean shortTrigger = ((prev.getClose() >= bb15[0] && last.getClose() < bb15[0]) // 중심선 상실
-                     || (last.getClose() < bb15[2])) // 하단 돌파
-                     && momentumShortOk;
-
-            log.info("[SHORT Alert] : {}", shortTrigger);
-
-            if (shortTrigger) {
-                shortTriggered = true;
-                double entry = last.getClose();
-                // Stop: 상단밴드, 직전 고점, Entry보다 높은 값 중 가장 높은 값
-                double stopCandidate = Math.max(bb15[1], prev.getHigh());
-                double stop = Math.max(stopCandidate, entry + (bb15[1] - bb15[0]) * 0.2); // Entry보다 확실히 높게
-                // TP1: 하단밴드 또는 Entry보다 낮은 값 (이미 돌파한 경우 대비)
-                double tp1 = Math.min(bb15[2], entry - (bb15[0] - bb15[2]) * 0.3); // 하단밴드 또는 Entry - 밴드폭의 30%
-                double tp2 = bbH1[2]; // 1h 하단밴드
-
-                TradeScenario scenario = startScenario(sess, TimeFrame.M15, "SHORT", entry, stop, tp1, tp2, last);
-                
-                // 15분봉 필터링 통과 시 5분봉 활성화
-                String currentSide = sess.getLastM15TriggerSide();
-                if (!"SHORT".equals(currentSide)) {
-                    // 추세 역전 또는 새로운 신호
-                    sess.activateM5("SHORT", last.getCloseTime());
-                    log.info("[M5 Activated] SHORT at {}", last.getCloseTime());
-                }
-                
-                sendOnce(sess.getSymbol(), "15m", "SHORT",
-                        last.getOpenTime(), entry, stop, tp1, tp2, scenario.getId(),
-                        String.format("[Results of 15] H1+M15 SHORT (tx=%s): 15m mid loss/lower break & (Vol↑ or RSI↓)", scenario.getId()));
-            }
-        }
-        
-        // 15분봉 필터링 실패 시 5분봉 비활성화 및 시나리오 종료
-        if (!longTriggered && !shortTriggered) {
-            closeScenario(sess, TimeFrame.M5, "M5 filter inactive after 15m evaluation");
-            closeScenario(sess, TimeFrame.M15, "15m filter inactive");
-            if (sess.isM5Active()) {
-                sess.deactivateM5();
-                log.info("[M5 Deactivated] No trigger at {}", last.getCloseTime());
-            }
+        TradeScenario scenario = openScenario(sess, index, TimeFrame.M15, side, m15, last);
+
+        // 15분봉 필터링 통과 시 5분봉 활성화 (추세 역전 또는 새로운 신호)
+        if (!side.equals(state.getLastM15TriggerSide())) {
+            state.activateM5(side, m15.closeTime(last));
+            log.debug("[M5 Activated] {} at {}", side, m15.closeTime(last));
         }
+
+        sendOnce(sess.getSymbol(), index, TimeFrame.M15, m15.openTime(last), m15.closeTime(last), scenario);
     }
 
     /* 5분봉 마감 시 트리거 평가 */
     public void onCandleClosed_M5(SymbolSession sess) {
-        
+        if (fenced(sess))
+            return;
+
         // 1) 버퍼 체크
-        Deque<Candle> m5 = sess.getBuffers().get(TimeFrame.M5);
-        Deque<Candle> m15 = sess.getBuffers().get(TimeFrame.M15);
-        Deque<Candle> h1 = sess.getBuffers().get(TimeFrame.H1);
+        CandleBuffer m5 = sess.getBuffers().get(TimeFrame.M5);
+        CandleBuffer m15 = sess.getBuffers().get(TimeFrame.M15);
+        CandleBuffer h1 = sess.getBuffers().get(TimeFrame.H1);
         
         if (m5 == null || m15 == null || h1 == null) {
             log.warn("M5/M15/H1 Buffer NPE");
@@ -206,120 +175,109 @@ public class CalculateService {
         }
         
         if (m5.size() < 40 || m15.size() < 60 || h1.size() < 60) {
-            log.warn("Invalid Buffers for M5: M5={}, M15={}, H1={}", m5.size(), m15.size(), h1.size());
+            log.debug("Invalid Buffers for M5: M5={}, M15={}, H1={}", m5.size(), m15.size(), h1.size());
             return;
         }
-        
-        List<Candle> m5List = new ArrayList<>(m5);
-        Candle m5Last = m5List.get(m5List.size() - 1);
-        Candle m5Prev = m5List.get(m5List.size() - 2);
+
+        for (int i = 0; i < strategies.length; i++) {
+            if (sess.strategy(i).isM5Active()) // 비활성화 상태면 처리 안함
+                evaluateM5(sess, i, m5, m15);
+        }
+    }
+
+    /* 전략 하나의 5분봉 평가 (15분봉 방향과 같은 쪽만) */
+    private void evaluateM5(SymbolSession sess, int index, CandleBuffer m5, CandleBuffer m15) {
+        StrategyState state = sess.strategy(index);
+        int m5Last = m5.lastIndex();
 
         // 기존 시나리오에 현재 봉 반영
-        updateScenarioWithCandle(sess, TimeFrame.M5, m5Last);
-        updateScenarioWithCandle(sess, TimeFrame.M15, m5Last);
+        updateScenarioWithCandle(state, TimeFrame.M5, m5, m5Last);
+        updateScenarioWithCandle(state, TimeFrame.M15, m5, m5Last);
 
-        
-        // 2) 활성화 상태 및 방향 확인
-        if (!sess.isM5Active()) {
-            return; // 비활성화 상태면 처리 안함
-        }
-        
-        String expectedSide = sess.getLastM15TriggerSide();
+        String expectedSide = state.getLastM15TriggerSide();
         if (expectedSide == null) {
             log.warn("M5 Active but no side set");
-            closeScenario(sess, TimeFrame.M5, "M5 active without direction");
-            sess.deactivateM5();
+            closeScenario(state, TimeFrame.M5, "M5 active without direction");
+            state.deactivateM5();
             return;
         }
         
-        List<Candle> m15List = new ArrayList<>(m15);
-        Candle m15Last = m15List.get(m15List.size() - 1);
+        int m15Last = m15.lastIndex();
         
         // 5분봉이 마지막 15분봉의 시간 범위 내에 있는지 확인
-        long m15Start = m15Last.getOpenTime();
-        long m15End = m15Last.getCloseTime();
-        if (m5Last.getOpenTime() < m15Start || m5Last.getCloseTime() > m15End) {
+        long m15Start = m15.openTime(m15Last);
+        long m15End = m15.closeTime(m15Last);
+        if (m5.openTime(m5Last) < m15Start || m5.closeTime(m5Last) > m15End) {
             // 5분봉이 15분봉 범위를 벗어나면 비활성화
-            if (m5Last.getCloseTime() > m15End) {
-                closeScenario(sess, TimeFrame.M5, "M5 candle out of 15m range");
-                sess.deactivateM5();
-                log.info("[M5 Deactivated] Out of M15 range");
+            if (m5.closeTime(m5Last) > m15End) {
+                closeScenario(state, TimeFrame.M5, "M5 candle out of 15m range");
+                state.deactivateM5();
+                log.debug("[M5 Deactivated] Out of M15 range");
             }
             return;
         }
-        
-        // 4) 지표 계산
-        double[] bb5 = ind.bollinger(m5List, TimeFrame.M5, 20, 2);
-        double rsi5 = ind.rsi(m5List, TimeFrame.M5, 14);
-        double prevRsi5 = ind.rsi(m5List.subList(0, m5List.size() - 1), TimeFrame.M5, 14);
-        
-        // H1 BB는 TP2 계산용
-        List<Candle> h1List = new ArrayList<>(h1);
-        double[] bbH1 = ind.bollinger(h1List, TimeFrame.H1, 20, 2);
-        
-        // 5) 모멘텀 확인
-        double avgVol = 0.0;
-        if (m5List.size() >= 20) {
-            double sum = 0.0;
-            for (int i = m5List.size() - 20; i < m5List.size(); i++)
-                sum += m5List.get(i).getVolume();
-            avgVol = sum / 20.0;
-        }
-        boolean volSpike = avgVol > 0 && m5Last.getVolume() >= 1.2 * avgVol;
-        boolean rsiRecoverUp = (prevRsi5 < 49.0 && rsi5 >= 50.0);
-        boolean rsiRecoverDown = (prevRsi5 > 51.0 && rsi5 <= 50.0);
-        boolean momentumLongOk = volSpike || rsiRecoverUp || rsi5 >= 55.0;
-        boolean momentumShortOk = volSpike || rsiRecoverDown || rsi5 <= 45.0;
-        
-        // 6) 트리거 판정 (15분봉 방향과 일치하는지 확인)
-        boolean trigger = false;
-        double entry = 0.0;
-        double stop = 0.0;
-        double tp1 = 0.0;
-        double tp2 = 0.0;
-        String reason = "";
-        TradeScenario scenario = null;
-        
-        if ("LONG".equals(expectedSide) && momentumLongOk) {
-            // LONG: 5분봉 볼린저 중심선 재탈환 또는 상단 돌파
-            boolean longTrigger = ((m5Prev.getClose() <= bb5[0] && m5Last.getClose() > bb5[0])
-                     || (m5Last.getClose() > bb5[1]));
-            
-            if (longTrigger) {
-                trigger = true;
-                entry = m5Last.getClose();
-                // Stop: 하단밴드, 직전 저점, Entry보다 낮은 값 중 가장 낮은 값
-                double stopCandidate = Math.min(bb5[2], m5Prev.getLow());
-                stop = Math.min(stopCandidate, entry - (bb5[0] - bb5[2]) * 0.2); // Entry보다 확실히 낮게
-                // TP1: 상단밴드 또는 Entry보다 높은 값 (이미 돌파한 경우 대비)
-                tp1 = Math.max(bb5[1], entry + (bb5[1] - bb5[0]) * 0.3); // 상단밴드 또는 Entry + 밴드폭의 30%
-                tp2 = bbH1[1]; // 1시간 상단밴드
-                scenario = startScenario(sess, TimeFrame.M5, "LONG", entry, stop, tp1, tp2, m5Last);
-                reason = String.format("[Results of 5] M5 LONG (tx=%s): 5m mid recapture/upper break & (Vol↑ or RSI↑)", scenario.getId());
-            }
-        } else if ("SHORT".equals(expectedSide) && momentumShortOk) {
-            // SHORT: 5분봉 볼린저 중심선 상실 또는 하단 돌파
-            boolean shortTrigger = ((m5Prev.getClose() >= bb5[0] && m5Last.getClose() < bb5[0])
-                     || (m5Last.getClose() < bb5[2]));
-            
-            if (shortTrigger) {
-                trigger = true;
-                entry = m5Last.getClose();
-                // Stop: 상단밴드, 직전 고점, Entry보다 높은 값 중 가장 높은 값
-                double stopCandidate = Math.max(bb5[1], m5Prev.getHigh());
-                stop = Math.max(stopCandidate, entry + (bb5[1] - bb5[0]) * 0.2); // Entry보다 확실히 높게
-                // TP1: 하단밴드 또는 Entry보다 낮은 값 (이미 돌파한 경우 대비)
-                tp1 = Math.min(bb5[2], entry - (bb5[0] - bb5[2]) * 0.3); // 하단밴드 또는 Entry - 밴드폭의 30%
-                tp2 = bbH1[2]; // 1시간 하단밴드
-                scenario = startScenario(sess, TimeFrame.M5, "SHORT", entry, stop, tp1, tp2, m5Last);
-                reason = String.format("[Results of 5] M5 SHORT (tx=%s): 5m mid loss/lower break & (Vol↑ or RSI↓)", scenario.getId());
-            }
+
+        Strategy strategy = strategies[index];
+        boolean trigger = LONG.equals(expectedSide) ? strategy.triggerLong(sess, TimeFrame.M5)
+                : SHORT.equals(expectedSide) && strategy.triggerShort(sess, TimeFrame.M5);
+        if (trigger) {
+            TradeScenario scenario = openScenario(sess, index, TimeFrame.M5, expectedSide, m5, m5Last);
+            sendOnce(sess.getSymbol(), index, TimeFrame.M5, m5.openTime(m5Last), m5.closeTime(m5Last), scenario);
         }
-        
-        if (trigger && scenario != null) {
-            sendOnce(sess.getSymbol(), "5m", expectedSide,
-                    m5Last.getOpenTime(), entry, stop, tp1, tp2, scenario.getId(), reason);
+    }
+
+    /*
+     * 트리거 봉(i) 기준 진입/손절/TP 로 시나리오 시작.
+     * LONG  stop: 하단밴드·직전 저점·entry - 밴드폭×stopBandMul 중 최저, tp1: 상단밴드와 entry + 밴드폭×tp1BandMul 중 높은 값, tp2: 1h 상단밴드
+     * SHORT 는 대칭
+     */
+    private TradeScenario openScenario(SymbolSession sess, int index, TimeFrame tf, String side, CandleBuffer buf, int i) {
+        StrategyParams p = sess.getParams();
+        IndicatorState st = sess.indicators(tf);
+        IndicatorState stH1 = sess.indicators(TimeFrame.H1);
+        double mid = st.bbMid(), upper = st.bbUpper(), lower = st.bbLower();
+        double entry = buf.close(i);
+
+        double stop, tp1, tp2;
+        if (LONG.equals(side)) {
+            stop = Math.min(Math.min(lower, buf.low(i - 1)), entry - (mid - lower) * p.getStopBandMul());
+            tp1 = Math.max(upper, entry + (upper - mid) * p.getTp1BandMul());
+            tp2 = stH1.bbUpper();
+        } else {
+            stop = Math.max(Math.max(upper, buf.high(i - 1)), entry + (upper - mid) * p.getStopBandMul());
+            tp1 = Math.min(lower, entry - (mid - lower) * p.getTp1BandMul());
+            tp2 = stH1.bbLower();
         }
+        return startScenario(sess, index, tf, side, entry, stop, tp1, tp2, buf, i);
+    }
+
+    /**
+     * 진행 중인 base 봉(openTime)의 현재 고가/저가를 활성 시나리오에 반영한다 (low-latency 모드, mailbox 스레드).
+     * 시나리오 시작 이후에 열린 봉만 반영하며, 새로 닿은 TP/STOP 은 그 프레임 시각으로 바로 알린다.
+     */
+    public void onIntrabar(SymbolSession sess, long openTime, double high, double low, long eventTime) {
+        if (fenced(sess))
+            return;
+        for (int i = 0; i < strategies.length; i++)
+            for (TimeFrame tf : SCENARIO_TFS)
+                applyIntrabar(sess.strategy(i).getScenario(tf), openTime, high, low, eventTime);
+        sess.refreshWatchLevels();
+    }
+
+    private void applyIntrabar(TradeScenario scenario, long openTime, double high, double low, long eventTime) {
+        if (scenario == null || openTime <= scenario.getActivatedAt())
+            return;
+        final boolean before1 = scenario.isHitTp1(), before2 = scenario.isHitTp2(), beforeStop = scenario.isHitStop();
+        if (!scenario.update(high, low, eventTime))
+            return;
+        for (ScenarioListener l : scenarioListeners)
+            l.onUpdated(scenario);
+        if (scenario.isHitStop() && !beforeStop)
+            sendHit(scenario, "STOP", scenario.getStop(), eventTime);
+        if (scenario.isHitTp1() && !before1)
+            sendHit(scenario, "TP1", scenario.getTp1(), eventTime);
+        if (scenario.isHitTp2() && !before2)
+            sendHit(scenario, "TP2", scenario.getTp2(), eventTime);
     }
 
     /** 15:45~16:00 봉 openTime → 16:00 (해당 시간 경계)로 정규화 */
@@ -329,55 +287,94 @@ public class CalculateService {
         return close - (close % hour); // 해당 시간 경계(예: 16:00)
     }
 
-    private TradeScenario startScenario(SymbolSession sess, TimeFrame tf, String side,
-                                        double entry, double stop, double tp1, double tp2, Candle candle) {
-        closeScenario(sess, tf, "Replaced by new " + side + " signal");
-        TradeScenario scenario = new TradeScenario(sess.getSymbol(), tf, side, entry, stop, tp1, tp2, candle.getCloseTime())
-                .initialise(entry, candle.getCloseTime());
-        scenario.update(candle.getHigh(), candle.getLow(), candle.getCloseTime());
-        sess.setScenario(tf, scenario);
+    private TradeScenario startScenario(SymbolSession sess, int index, TimeFrame tf, String side,
+                                        double entry, double stop, double tp1, double tp2, CandleBuffer buf, int i) {
+        StrategyState state = sess.strategy(index);
+        closeScenario(state, tf, "Replaced by new " + side + " signal");
+        TradeScenario scenario = new TradeScenario(sess.getSymbol(), tf, side, entry, stop, tp1, tp2, buf.closeTime(i))
+                .forStrategy(strategies[index].name())
+                .initialise(entry, buf.closeTime(i));
+        scenario.update(buf.high(i), buf.low(i), buf.closeTime(i));
+        state.setScenario(tf, scenario);
+        for (ScenarioListener l : scenarioListeners)
+            l.onOpened(scenario);
         return scenario;
     }
 
-    private void updateScenarioWithCandle(SymbolSession sess, TimeFrame tf, Candle candle) {
-        TradeScenario scenario = sess.getScenario(tf);
-        if (scenario != null) {
-            scenario.update(candle.getHigh(), candle.getLow(), candle.getCloseTime());
+    private void updateScenarioWithCandle(StrategyState state, TimeFrame tf, CandleBuffer buf, int i) {
+        TradeScenario scenario = state.getScenario(tf);
+        if (scenario != null && scenario.update(buf.high(i), buf.low(i), buf.closeTime(i))) {
+            for (ScenarioListener l : scenarioListeners)
+                l.onUpdated(scenario);
         }
     }
 
-    private void closeScenario(SymbolSession sess, TimeFrame tf, String reason) {
-        TradeScenario scenario = sess.getScenario(tf);
+    private void closeScenario(StrategyState state, TimeFrame tf, String reason) {
+        TradeScenario scenario = state.getScenario(tf);
         if (scenario == null)
             return;
         String message = String.format("[Exit %s]\n[tx=%s]\nside: %s\nentry: %.2f\nstop: %.2f\ntp1: %.2f\ntp2: %.2f\nstatus: %s",
                 tf.name().toLowerCase(), scenario.getId(), scenario.getSide(),
                 scenario.getEntry(), scenario.getStop(), scenario.getTp1(), scenario.getTp2(),
                 scenario.buildStatusSummary());
-        sendExit(scenario.getSymbol(), tf.name().toLowerCase(), scenario.getId(), message);
-        sess.setScenario(tf, null);
+        sendExit(scenario.getSymbol(), tf, scenario.getId(), message);
+        state.setScenario(tf, null);
+        for (ScenarioListener l : scenarioListeners)
+            l.onClosed(scenario, reason);
+    }
+
+    /* 샤딩 모드에서 임대가 끊긴 세션은 평가하지 않는다 (심볼을 넘겨받은 인스턴스와 알림이 겹치지 않게) */
+    private boolean fenced(SymbolSession sess) {
+        if (sess.holdsLease(clock.millis()))
+            return false;
+        log.debug("Lease expired, skip evaluation: {}", sess.getSymbol());
+        return true;
     }
 
-    /* 트리거 발생 시 알림 */
-    private void sendOnce(String symbol, String tf, String side, long closeTime,
-            double entry, double stop, double tp1, double tp2, String txId, String reason) {
+    /* 트리거 발생 시 알림. 키에 전략 인덱스를 넣어 같은 봉에서 여러 전략이 울려도 각자 한 번씩 (기본 전략 키는 예전과 같음) */
+    private void sendOnce(String symbol, int index, TimeFrame tf, long openTime, long closeTime, TradeScenario s) {
 
-        String msg = "";
-        String key = symbol + "|" + tf + "|" + side + "|" + closeTime;
+        long key = DedupWindow.key(SymbolIds.of(symbol), tf.ordinal(),
+                LONG.equals(s.getSide()) ? DedupWindow.KIND_LONG : DedupWindow.KIND_SHORT,
+                ((long) index << 28) | (openTime / 60_000L));
 
         if (sentKeys.add(key)) {
-            msg = String.format(
+            String msg = String.format(
                     "[%s %s] \n[tx=%s] \n%s\nentry: %.2f\nstop: %.2f\ntp1: %.2f\ntp2: %.2f",
-                    symbol, tf, txId, side, entry, stop, tp1, tp2);
+                    symbol, tf.timeFrame, s.getId(), s.getSide(), s.getEntry(), s.getStop(), s.getTp1(), s.getTp2());
+            if (!Strategy.DEFAULT_NAME.equals(s.getStrategy()))
+                msg += "\nstrategy: " + s.getStrategy();
+            metrics.alertRequested(tf, clock.millis() - closeTime);
             notifier.send(msg);
         }
     }
 
-    private void sendExit(String symbol, String tf, String txId, String message) {
+    private void sendHit(TradeScenario scenario, String level, double price, long hitTime) {
+        int kind = switch (level) { case "STOP" -> 0; case "TP1" -> 1; default -> 2; };
+        long key = DedupWindow.key(SymbolIds.of(scenario.getSymbol()), scenario.getTimeframe().ordinal(),
+                DedupWindow.KIND_HIT, (Long.parseLong(scenario.getId(), 16) << 2) | kind);
+        if (sentKeys.add(key)) {
+            metrics.hitNotified(clock.millis() - hitTime);
+            notifier.send(String.format("[%s %s %s]\n[tx=%s]\nside: %s\nlevel: %.2f\nat: %s",
+                    scenario.getSymbol(), scenario.getTimeframe().timeFrame, level, scenario.getId(),
+                    scenario.getSide(), price, Instant.ofEpochMilli(hitTime)));
+        }
+    }
+
+    private void sendExit(String symbol, TimeFrame tf, String txId, String message) {
 
-        String key = symbol + "|exit|" + txId + "|" + tf;
+        long key = DedupWindow.key(SymbolIds.of(symbol), tf.ordinal(), DedupWindow.KIND_EXIT,
+                Long.parseLong(txId, 16));
         if (sentKeys.add(key)) {
             notifier.send(message);
         }
     }
+
+    /** 전략 이름 (세션 전략 상태 인덱스 순) */
+    public List<String> strategyNames() {
+        return strategyNames;
+    }
+
+    public int sentKeyCount() { return sentKeys.size(); }
+    public long sentKeyEvicted() { return sentKeys.evicted(); }
 }
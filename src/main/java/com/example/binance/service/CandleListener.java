@@ -0,0 +1,10 @@
+package com.example.binance.service;
+
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.SymbolSession;
+
+/** 라이브 마감봉이 버퍼/지표에 반영된 직후 (전략 평가 전, 세션 mailbox 스레드에서 동기 호출되므로 가볍게 처리할 것) */
+public interface CandleListener {
+
+    void onCandleClosed(SymbolSession sess, TimeFrame tf);
+}
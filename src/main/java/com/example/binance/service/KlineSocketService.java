@@ -1,336 +1,380 @@
 package com.example.binance.service;
 
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.Deque;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
 
 import org.springframework.stereotype.Service;
 
 import com.example.binance.dto.Candle;
-import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.dto.SessionSnapshot;
+import com.example.binance.enums.AggregationMode;
 import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
 import com.example.binance.properties.DomainProperties;
+import com.example.binance.properties.StreamProperties;
+import com.example.binance.store.CandleStore;
+import com.example.binance.ws.CandleAggregator;
+import com.example.binance.ws.KlineFrame;
+import com.example.binance.ws.KlineFrameDecoder;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.StreamConnectionPool;
 import com.example.binance.ws.SymbolSession;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
-import okhttp3.WebSocket;
-import okhttp3.WebSocketListener;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class KlineSocketService {
+public class KlineSocketService implements SessionHost {
 
-    private final DomainProperties domain;
-    private final IndicatorService ind;
-    private final BinanceRestService bInanceRestService;
-    private final CalculateService onlyH1Service;
+    private static final Duration BACKFILL_TIMEOUT = Duration.ofSeconds(30);
 
-    private final ObjectMapper om = new ObjectMapper();
+    private final DomainProperties domain;
+    private final StreamProperties streamProperties;
+    private final BinanceRestService restService;
+    private final BootstrapCoordinator bootstrapCoordinator;
+    private final SessionEvaluator evaluator;
+    private final ExecutorService sessionExecutor;
+    private final PipelineMetrics metrics;
+    private final CandleStore store;
+
+    // OkHttp 리더 스레드별 디코더/프레임 재사용
+    private final ThreadLocal<KlineFrameDecoder> decoders = ThreadLocal.withInitial(KlineFrameDecoder::new);
+    private final ThreadLocal<KlineFrame> frames = ThreadLocal.withInitial(KlineFrame::new);
     private final OkHttpClient client = new OkHttpClient();
 
     private final Map<String, SymbolSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, SymbolSession> routes = new ConcurrentHashMap<>(); // stream name -> session
+    private StreamConnectionPool pool;
 
-    public SymbolSession start(final String symbol, Object unused) {
-
-        if (sessions.containsKey(symbol)) {
-            return sessions.get(symbol);
-        }
-
-        SymbolSession sess = new SymbolSession(symbol);
-
-        sessions.put(symbol, sess);
-
-        bootStrapH1Env(symbol, sess);
-
-        bootstrapM15Buffer(symbol, sess, 200);
-        bootstrapM5Buffer(symbol, sess, 200);
-
-        final String streams = new StringBuilder(symbol.toLowerCase())
-                .append("@kline_5m/")
-                .append(symbol.toLowerCase())
-                .append("@kline_15m/")
-                .append(symbol.toLowerCase())
-                .append("@kline_1h")
-                .toString();
-
-        final String url = new StringBuilder(domain.getWs())
-                .append("?streams=")
-                .append(streams)
-                .toString();
-
-        Request reqe = new Request.Builder().url(url).build();
-
-        WebSocket ws = client.newWebSocket(reqe, new WebSocketListener() {
+    @PostConstruct
+    void initPool() {
+        pool = new StreamConnectionPool(client, domain.getWs(), new StreamConnectionPool.Listener() {
             @Override
-            public void onOpen(WebSocket webSocket, Response response) {
-                log.info("WS open : {}", symbol);
-                sess.setWebSocket(webSocket);
+            public void onFrame(String text) {
+                handleFrame(text);
             }
 
-            public void onMessage(WebSocket webSocket, String text) {
-
-                try {
-                    JsonNode root = om.readTree(text);
-                    JsonNode k = root.path("data").path("k");
-                    if (k.isMissingNode())
-                        return;
-
-                    boolean isFinal = k.path("x").asBoolean();
-                    if (!isFinal)
-                        return; // ✅ 마감봉만 처리
-
-                    log.info("[RAW Message] {}", text);
-
-                    String interval = k.path("i").asText(); // "5m", "15m" or "1h"
-                    long openTime = k.path("t").asLong();
-                    long closeTime = k.path("T").asLong();
-                    double o = k.path("o").asDouble();
-                    double h = k.path("h").asDouble();
-                    double l = k.path("l").asDouble();
-                    double c = k.path("c").asDouble();
-                    double v = k.path("v").asDouble();
-
-                    TimeFrame tf;
-                    if ("5m".equals(interval)) {
-                        tf = TimeFrame.M5;
-                    } else if ("15m".equals(interval)) {
-                        tf = TimeFrame.M15;
-                    } else {
-                        tf = TimeFrame.H1;
-                    }
-
-                    // 버퍼 업데이트
-                    Deque<Candle> dq = sess.buffer(tf);
-
-                    if(!dq.isEmpty()){
-                        Candle last = dq.peekLast();
-                        if(last.getCloseTime() == closeTime) return;
-                        if(last.getCloseTime() > closeTime) return;
-                    }
+            @Override
+            public void onReconnected(Set<String> symbols) {
+                // 끊겨 있던 동안 놓친 마감봉만 채운다 (세션 재구성 없음)
+                for (String s : symbols) {
+                    SymbolSession sess = routes.get(streamsOf(s).get(0));
+                    if (sess != null)
+                        backfill(sess);
+                }
+            }
+        });
+    }
 
-                    dq.addLast(new Candle(openTime, closeTime, o, h, l, c, v));
-                    while (dq.size() > 300) {
-                        dq.removeFirst();
-                    }
+    @PreDestroy
+    void shutdown() {
+        pool.closeAll();
+    }
 
-                    // ✅ 2-a) H1 마감 들어오면 환경 갱신 (다음 한 시간 유효)
-                    if (tf == TimeFrame.H1) {
-                        refreshH1EnvFromBuffers(sess);
-                    }
+    public SymbolSession start(final String symbol, Object unused) {
+        startAll(List.of(symbol));
+        return sessions.get(symbol);
+    }
 
-                    // ✅ 2-b) M15 마감 들어오면 H1Env를 게이트로 트리거 평가
-                    if (tf == TimeFrame.M15) {
-                        log.info("===== Get Trigger =====");
-                        onlyH1Service.onCandleClosed_H1M15(sess);
-                    }
+    /**
+     * 여러 심볼을 한 번에 시작한다. 히스토리는 병렬로 부트스트랩하고,
+     * 각 심볼의 스트림은 버퍼가 채워진 뒤에 구독한다.
+     */
+    @Override
+    public List<SymbolSession> startAll(Collection<String> symbols) {
+
+        List<SymbolSession> created = new ArrayList<>();
+        for (String symbol : symbols) {
+            if (sessions.containsKey(symbol))
+                continue;
+            SymbolSession sess = new SymbolSession(symbol,
+                    new SessionMailbox(symbol, sessionExecutor, streamProperties.getMailboxCapacity()));
+            if (sessions.putIfAbsent(symbol, sess) == null) {
+                metrics.bindSession(sess);
+                created.add(sess);
+            }
+        }
 
-                    // ✅ 2-c) M5 마감 들어오면 활성화 상태 확인 후 트리거 평가
-                    if (tf == TimeFrame.M5) {
-                        if (sess.isM5Active()) {
-                            log.info("===== M5 Trigger Check =====");
-                            onlyH1Service.onCandleClosed_M5(sess);
-                        }
-                    }
+        bootstrapCoordinator.bootstrapAll(created, this::applyBootstrap)
+                .subscribe(this::subscribeStreams);
 
-                } catch (Exception e) {
-                    log.warn("WS parse error {}: {}", symbol, e.getMessage());
-                }
-            }
+        return created;
+    }
 
-            @Override
-            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-                log.error("WS failure {} {}", symbol, t.getMessage());
-                close(symbol);
-                start(symbol, null);
-            }
+    private void subscribeStreams(SymbolSession sess) {
+        final String symbol = sess.getSymbol();
+        if (sessions.get(symbol) != sess)
+            return; // 부트스트랩 중에 닫힘
 
-            @Override
-            public void onClosing(WebSocket webSocket, int code, String reason) {
-                log.info("WS closing {} {} {}", symbol, code, reason);
-                close(symbol);
-            }
-        });
+        List<String> streams = streamsOf(symbol);
+        for (String stream : streams)
+            routes.put(stream, sess);
+        pool.subscribe(symbol, streams);
+    }
 
-        sess.setWebSocket(ws);
-        return sess;
+    /* LOCAL 집계면 base(5m) 스트림 하나, 아니면 타임프레임별 스트림 */
+    private List<String> streamsOf(String symbol) {
+        final String lower = symbol.toLowerCase();
+        if (streamProperties.getAggregation() == AggregationMode.LOCAL)
+            return List.of(lower + "@kline_" + SessionEvaluator.BASE.timeFrame);
+        return List.of(
+                lower + "@kline_5m",
+                lower + "@kline_15m",
+                lower + "@kline_1h");
     }
 
-    public void close(String symbol) {
-        SymbolSession sess = sessions.remove(symbol);
-        if (sess != null && sess.getWebSocket() != null) {
+    /* 부트스트랩 결과를 세션 mailbox 에서 반영 (세션 상태는 mailbox 스레드만 변경) */
+    private Mono<SymbolSession> applyBootstrap(SymbolSession sess, Map<TimeFrame, List<Candle>> data) {
+        return Mono.create(sink -> sess.getMailbox().force(() -> {
             try {
-                sess.getWebSocket().close(1000, "bye");
+                evaluator.bootstrap(sess, data);
+                sink.success(sess);
             } catch (Exception e) {
+                sink.error(e);
             }
-        }
+        }));
     }
 
-    public Map<String, SymbolSession> sessions() {
-        return sessions;
+    /**
+     * 재연결 공백 메우기. mailbox 에서 버퍼의 마지막 closeTime 을 잡고 그 뒤로 들어오는 실시간 마감봉은 미뤄 둔다.
+     * 빈 구간을 REST 로 받아 closeTime 순(동률 H1 → M15 → M5)으로 평가한 뒤 미뤄 둔 봉을 이어서 처리한다.
+     * 이미 반영된 봉은 버퍼가 closeTime 으로 거르고 알림은 DedupWindow 가 openTime 으로 거르므로 중복 알림이 없다.
+     * 시작·반영·끝 작업은 mailbox 가 가득 차도 버려지지 않는다 (끝이 빠지면 세션이 미루기만 하다 멈춘다).
+     */
+    void backfill(SymbolSession sess) {
+        if (!sess.queueBackfill())
+            return; // 시작 작업이 이미 대기 중
+        sess.getMailbox().force(() -> {
+            if (sess.beginBackfill())
+                fetchGaps(sess); // 진행 중이었다면 끝날 때 한 번 더 메운다
+        });
     }
 
-    /* 현재 소켓의 세션상태 확인 */
-    public String printSessionStates() {
-
-        String state = null;
-
-        for (Map.Entry<String, SymbolSession> entry : sessions.entrySet()) {
-            final String symbol = entry.getKey();
-            SymbolSession sess = entry.getValue();
-            boolean active = sess.getWebSocket() != null;
-
-            state = new StringBuilder("Symbol : ")
-                    .append(symbol)
-                    .append(" | Active : ")
-                    .append(active)
-                    .append(" | Buffers : ")
-                    .append(sess.getBuffers().keySet())
-                    .toString();
+    /* 버퍼의 마지막 closeTime 뒤를 받아 반영하고 끝 작업을 넣는다 (mailbox 스레드에서 시작) */
+    private void fetchGaps(SymbolSession sess) {
+        Map<TimeFrame, Long> last = new EnumMap<>(TimeFrame.class);
+        for (TimeFrame tf : subscribedTimeFrames())
+            last.put(tf, sess.buffer(tf).lastCloseTime());
+
+        bootstrapCoordinator.gaps(sess.getSymbol(), last)
+                .timeout(BACKFILL_TIMEOUT)
+                .flatMap(gaps -> applyGaps(sess, gaps))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("Backfill {}: gap too large, full bootstrap", sess.getSymbol());
+                    return bootstrapCoordinator.bootstrapAll(List.of(sess), this::applyBootstrap).next();
+                }))
+                .doOnError(e -> log.warn("Backfill failed {}: {}", sess.getSymbol(), e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> sess.getMailbox().force(() -> endBackfill(sess)))
+                .subscribe();
+    }
 
-        }
+    private Mono<SymbolSession> applyGaps(SymbolSession sess, Map<TimeFrame, List<Candle>> gaps) {
+        List<Map.Entry<TimeFrame, Candle>> ordered = new ArrayList<>();
+        gaps.forEach((tf, list) -> list.forEach(c -> ordered.add(Map.entry(tf, c))));
+        ordered.sort(Comparator.<Map.Entry<TimeFrame, Candle>>comparingLong(e -> e.getValue().getCloseTime())
+                .thenComparing(Map.Entry::getKey));
 
-        return state;
+        return Mono.create(sink -> sess.getMailbox().force(() -> {
+            try {
+                for (Map.Entry<TimeFrame, Candle> e : ordered) {
+                    Candle k = e.getValue();
+                    process(sess, e.getKey(), k.getOpenTime(), k.getCloseTime(),
+                            k.getOpen(), k.getHigh(), k.getLow(), k.getClose(), k.getVolume());
+                }
+                log.info("Backfill {}: replayed {} candles", sess.getSymbol(), ordered.size());
+                sink.success(sess);
+            } catch (Exception ex) {
+                sink.error(ex);
+            }
+        }));
     }
 
-    private void bootStrapH1Env(String symbol, SymbolSession session) {
-        List<Candle> h1 = bInanceRestService.klines(symbol, TimeFrame.H1, 200);
-        if (h1 == null || h1.size() < 60) {
-            log.warn("H1 is not enough candles : {}", symbol);
+    /* 공백 메우는 동안 미뤄 둔 실시간 마감봉을 도착 순서대로 처리 (mailbox 스레드) */
+    private void endBackfill(SymbolSession sess) {
+        if (sess.takeBackfillAgain()) {
+            fetchGaps(sess); // 미뤄 둔 봉은 그대로 두고 새 공백까지 이어서 받는다
             return;
         }
+        List<Runnable> deferred = sess.endBackfill();
+        for (Runnable r : deferred)
+            r.run();
+    }
 
-        Deque<Candle> dq = session.buffer(TimeFrame.H1);
-        dq.clear();
-        for (Candle c : h1) {
-            dq.addLast(c);
-        }
-
-        BootStrapEnv env = computeH1Env(h1);
-        session.getH1EnvRef().set(env);
-
-        log.info("H1 Value from first api : {}, longOk = {}, shortOk = {}", symbol, env.isLongOk(), env.isShortOk());
+    private List<TimeFrame> subscribedTimeFrames() {
+        if (streamProperties.getAggregation() == AggregationMode.LOCAL)
+            return List.of(SessionEvaluator.BASE);
+        return List.of(TimeFrame.H1, TimeFrame.M15, TimeFrame.M5);
     }
 
-    private void bootstrapM15Buffer(final String symbol, SymbolSession sess, int limit) {
+    /* combined stream 프레임 → stream 이름으로 세션 라우팅 (OkHttp 리더 스레드) */
+    private void handleFrame(String text) {
+
+        KlineFrame f = frames.get();
         try {
-            List<Candle> m15 = bInanceRestService.klines(symbol, TimeFrame.M15, limit);
-            if (m15 == null || m15.isEmpty()) {
-                log.warn("M15 bootstrap is empty : {}", symbol);
+            long started = System.nanoTime();
+            KlineFrameDecoder.Result result = decoders.get().decode(text, f);
+            metrics.parsed(System.nanoTime() - started);
+            if (result == KlineFrameDecoder.Result.IGNORED)
                 return;
-            }
-
-            m15.sort(Comparator.comparingLong(Candle::getCloseTime));
 
-            Deque<Candle> dq = sess.buffer(TimeFrame.M15);
-            dq.clear();
+            SymbolSession sess = f.stream == null ? null : routes.get(f.stream);
+            if (sess == null)
+                return;
 
-            long prevClose = -1L;
-            for (Candle cd : m15) {
-                long ct = cd.getCloseTime();
-                if (ct <= prevClose) continue; // 중복 또는 역순 드롭
-                dq.addLast(cd);
-                prevClose = ct;
-                // 상한(메모리 캡)
-                while (dq.size() > 300)
-                    dq.removeFirst();
+            metrics.frame(sess.getSymbol(), result == KlineFrameDecoder.Result.FINAL);
+            if (result != KlineFrameDecoder.Result.FINAL) {
+                // 진행 중 봉은 감시 레벨에 닿았을 때만 mailbox 로 넘긴다 (평소에는 비교 두 번)
+                if (streamProperties.isIntrabar() && f.timeFrame == SessionEvaluator.BASE
+                        && sess.touchesWatch(f.high, f.low)) {
+                    final long openTime = f.openTime, eventTime = f.eventTime;
+                    final double h = f.high, l = f.low;
+                    sess.getMailbox().offerDroppable(() -> evaluator.onIntrabar(sess, openTime, h, l, eventTime));
+                }
+                return; // ✅ 평가는 마감봉만
             }
 
-            log.info("Bootstrap M15 {}: loaded={}, buffered={}, lastClose={}",
-                symbol, m15.size(), dq.size(), prevClose);
+            log.debug("[RAW Message] {}", text);
+
+            // 평가는 심볼 mailbox 에서 순차 실행 → 리더 스레드는 다음 프레임을 바로 읽는다
+            final TimeFrame tf = f.timeFrame;
+            final long openTime = f.openTime, closeTime = f.closeTime;
+            final double o = f.open, h = f.high, l = f.low, c = f.close, v = f.volume;
+            submitClosed(sess, tf, openTime, closeTime, o, h, l, c, v);
 
         } catch (Exception e) {
-            // TODO: handle exception
+            log.warn("WS parse error {}: {}", f.stream, e.getMessage());
         }
     }
 
-    private void bootstrapM5Buffer(final String symbol, SymbolSession sess, int limit) {
-        try {
-            List<Candle> m5 = bInanceRestService.klines(symbol, TimeFrame.M5, limit);
-            if (m5 == null || m5.isEmpty()) {
-                log.warn("M5 bootstrap is empty : {}", symbol);
-                return;
-            }
+    /* 마감봉을 mailbox 로 넘긴다. 예약분까지 차서 빠지면 놓친 봉은 REST 공백 메우기로 다시 받는다 */
+    void submitClosed(SymbolSession sess, TimeFrame tf, long openTime, long closeTime,
+                      double o, double h, double l, double c, double v) {
+        if (!sess.getMailbox().offer(() -> onCandleClosed(sess, tf, openTime, closeTime, o, h, l, c, v))) {
+            log.warn("Final candle dropped {} {} close={}, backfilling", sess.getSymbol(), tf, closeTime);
+            backfill(sess);
+        }
+    }
 
-            m5.sort(Comparator.comparingLong(Candle::getCloseTime));
+    /* 마감봉 처리 (세션 mailbox 스레드). 공백 메우는 중이면 끝날 때까지 미룬다 */
+    void onCandleClosed(SymbolSession sess, TimeFrame tf, long openTime, long closeTime,
+                                double o, double h, double l, double c, double v) {
+        if (sess.isBackfilling()) {
+            sess.defer(() -> process(sess, tf, openTime, closeTime, o, h, l, c, v));
+            return;
+        }
+        process(sess, tf, openTime, closeTime, o, h, l, c, v);
+    }
 
-            Deque<Candle> dq = sess.buffer(TimeFrame.M5);
-            dq.clear();
+    private void process(SymbolSession sess, TimeFrame tf, long openTime, long closeTime,
+                         double o, double h, double l, double c, double v) {
+        final String symbol = sess.getSymbol();
+        store.append(symbol, tf, openTime, closeTime, o, h, l, c, v);
+
+        switch (streamProperties.getAggregation()) {
+            case LOCAL -> {
+                if (tf != SessionEvaluator.BASE)
+                    return;
+                evaluator.onBaseCandleClosed(sess, openTime, closeTime, o, h, l, c, v, new CandleAggregator.Listener() {
+                    @Override
+                    public void closed(TimeFrame higher, Candle k) {
+                        store.append(symbol, higher, k.getOpenTime(), k.getCloseTime(),
+                                k.getOpen(), k.getHigh(), k.getLow(), k.getClose(), k.getVolume());
+                    }
 
-            long prevClose = -1L;
-            for (Candle cd : m5) {
-                long ct = cd.getCloseTime();
-                if (ct <= prevClose) continue; // 중복 또는 역순 드롭
-                dq.addLast(cd);
-                prevClose = ct;
-                // 상한(메모리 캡)
-                while (dq.size() > 300)
-                    dq.removeFirst();
+                    @Override
+                    public void incomplete(TimeFrame higher, long bucketOpen) {
+                        fetchExchangeCandle(sess, higher, bucketOpen);
+                    }
+                });
+            }
+            case VERIFY -> {
+                evaluator.onCandleClosed(sess, tf, openTime, closeTime, o, h, l, c, v);
+                evaluator.verify(sess, tf);
             }
+            default -> evaluator.onCandleClosed(sess, tf, openTime, closeTime, o, h, l, c, v);
+        }
+    }
 
-            log.info("Bootstrap M5 {}: loaded={}, buffered={}, lastClose={}",
-                symbol, m5.size(), dq.size(), prevClose);
+    /* 로컬 합성이 안 된 구간은 거래소 봉으로 메운다 */
+    private void fetchExchangeCandle(SymbolSession sess, TimeFrame tf, long bucketOpen) {
+        restService.klinesAsync(sess.getSymbol(), tf, bucketOpen, 1)
+                .subscribe(list -> {
+                    for (Candle k : list) {
+                        if (k.getOpenTime() != bucketOpen)
+                            continue;
+                        sess.getMailbox().offer(() -> {
+                            store.append(sess.getSymbol(), tf, k.getOpenTime(), k.getCloseTime(),
+                                    k.getOpen(), k.getHigh(), k.getLow(), k.getClose(), k.getVolume());
+                            evaluator.onCandleClosed(sess, tf, k.getOpenTime(), k.getCloseTime(),
+                                    k.getOpen(), k.getHigh(), k.getLow(), k.getClose(), k.getVolume());
+                        });
+                    }
+                }, e -> log.warn("{} candle fetch failed {} @{}: {}", tf, sess.getSymbol(), bucketOpen, e.getMessage()));
+    }
 
-        } catch (Exception e) {
-            log.warn("M5 bootstrap error: {}", e.getMessage());
+    @Override
+    public void close(String symbol) {
+        SymbolSession sess = sessions.remove(symbol);
+        if (sess != null) {
+            for (String stream : streamsOf(symbol))
+                routes.remove(stream);
+            pool.unsubscribe(symbol);
+            metrics.unbindSession(symbol);
+            // 이미 큐에 있는 작업이 끝난 뒤 파일을 닫는다. 가득 차도 빠지면 안 된다
+            // (바로 닫으면 남은 append 가 파일을 다시 열어 그대로 새어 나간다)
+            sess.getMailbox().force(() -> store.close(symbol));
         }
     }
 
-    private void refreshH1EnvFromBuffers(SymbolSession sess) {
-        java.util.Deque<Candle> dq = sess.getBuffers().get(TimeFrame.H1);
-        if (dq == null || dq.size() < 60)
-            return;
-        java.util.List<Candle> h1List = new java.util.ArrayList<Candle>(dq);
-        BootStrapEnv env = computeH1Env(h1List);
-        sess.getH1EnvRef().set(env);
-        log.info("Refresh H1Env {}: hourKey={}, longOk={}, shortOk={}",
-                sess.getSymbol(), env.getHourKey(), env.isLongOk(), env.isShortOk());
+    @Override
+    public Map<String, SymbolSession> sessions() {
+        return sessions;
     }
 
-    private BootStrapEnv computeH1Env(List<Candle> h1) {
-        // 지표 계산
-        double ema21 = ind.ema(h1, TimeFrame.H1, 21);
-        double ema50 = ind.ema(h1, TimeFrame.H1, 50);
-        double rsi = ind.rsi(h1, TimeFrame.H1, 14);
-        double[] bb = ind.bollinger(h1, TimeFrame.H1, 20, 2);
-
-        Candle last = h1.get(h1.size() - 1);
-        long hourKey = last.getOpenTime() + 60L * 60L * 1000L; // H1 endTime(=closetime) 추정
-
-        int longScore = 0;
-        if (ema21 > ema50)
-            longScore++;
-        if (rsi >= 48.0)
-            longScore++; // 약간 완화 (기존 50 → 48)
-        if (last.getClose() >= bb[0])
-            longScore++;
-
-        int shortScore = 0;
-        if (ema21 < ema50)
-            shortScore++;
-        if (rsi <= 52.0)
-            shortScore++;
-        if (last.getClose() <= bb[0])
-            shortScore++;
-
-        boolean longOk = longScore >= 2;
-        boolean shortOk = shortScore >= 2;
-
-        return BootStrapEnv.builder()
-                .hourKey(hourKey)
-                .longOk(longOk)
-                .shortOk(shortOk)
-                .bbMid(bb[0])
-                .bbUp(bb[1])
-                .bbLow(bb[2])
-                .build();
+    public record SessionEntry(String symbol, boolean connected, SessionSnapshot snapshot) { }
+
+    /** next: 다음 페이지의 after 값, 마지막 페이지면 null */
+    public record SessionPage(int total, List<SessionEntry> items, String next) { }
+
+    /** 세션 상태 한 페이지 (심볼순, after 초과). 세션이 마지막으로 발행한 스냅샷 참조만 읽으므로 mailbox 와 경합하지 않는다 */
+    public SessionPage snapshots(String after, int limit) {
+        return page(sessions, after, limit, pool::isConnected);
+    }
+
+    static SessionPage page(Map<String, SymbolSession> sessions, String after, int limit, Predicate<String> connected) {
+        List<String> symbols = new ArrayList<>();
+        for (String s : sessions.keySet())
+            if (after == null || s.compareTo(after) > 0)
+                symbols.add(s);
+        symbols.sort(null);
+
+        List<SessionEntry> items = new ArrayList<>(Math.min(limit, symbols.size()));
+        String next = null;
+        for (String s : symbols) {
+            if (items.size() == limit) {
+                next = items.get(limit - 1).symbol();
+                break;
+            }
+            SymbolSession sess = sessions.get(s);
+            if (sess != null) // 읽는 사이 닫힌 세션은 건너뜀
+                items.add(new SessionEntry(s, connected.test(s), sess.getSnapshot()));
+        }
+        return new SessionPage(sessions.size(), items, next);
     }
 }
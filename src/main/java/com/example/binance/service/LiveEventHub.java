@@ -0,0 +1,197 @@
+package com.example.binance.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import com.example.binance.dto.ScenarioEvent;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.BackpressurePolicy;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.indicator.IndicatorState;
+import com.example.binance.ws.CandleBuffer;
+import com.example.binance.ws.SymbolSession;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * 대시보드용 라이브 이벤트 허브 (SSE).
+ * 심볼마다 토픽(best-effort multicast sink)이 하나 있고, 마감봉·지표 스냅샷·시그널·시나리오 변경을 그 심볼의 mailbox 스레드에서
+ * 한 번만 JSON 으로 직렬화해 같은 {@link ServerSentEvent} 인스턴스를 모든 구독자에게 넘긴다.
+ * 구독자마다 자기 백프레셔 정책(drop-oldest / latest)을 두므로 느린 클라이언트는 자기 이벤트만 잃고
+ * 수집 경로(mailbox)는 기다리지 않는다. 구독자가 없는 심볼은 직렬화도 하지 않는다.
+ * 끊긴 연결은 다음 이벤트를 쓸 때 정리된다 (심볼마다 적어도 5분봉마다 한 번).
+ * <ul>
+ *   <li>candle: 마감봉 OHLCV</li>
+ *   <li>indicators: 그 봉 기준 EMA/RSI/볼린저/평균 거래량</li>
+ *   <li>signal: 시나리오 시작 (트리거)</li>
+ *   <li>scenario: TP/STOP 도달, 종료</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveEventHub implements CandleListener, ScenarioListener, MeterBinder {
+
+    public static final Set<String> TYPES = Set.of("candle", "indicators", "signal", "scenario");
+    public static final int MAX_SYMBOLS = 50;   // 요청 하나가 구독할 수 있는 심볼 수
+
+    private final ObjectMapper mapper;
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger clients = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public record CandleView(String symbol, String tf, long openTime, long closeTime,
+                             double open, double high, double low, double close, double volume) { }
+
+    public record IndicatorView(String symbol, String tf, long closeTime, Double emaFast, Double emaSlow,
+                                Double rsi, Double bbMid, Double bbUpper, Double bbLower, Double avgVolume) { }
+
+    /**
+     * symbols 의 이벤트 스트림. types 가 비어 있으면 전부.
+     * 버퍼는 구독자 전용이며 drop-oldest 는 buffer 개까지, latest 는 마지막 하나만 남긴다.
+     * 심볼 검증(열린 세션만, 최대 {@link #MAX_SYMBOLS} 개)은 호출하는 쪽 몫이다.
+     */
+    public Flux<ServerSentEvent<String>> subscribe(Collection<String> symbols, Set<String> types,
+                                                   BackpressurePolicy policy, int buffer) {
+        if (symbols.isEmpty() || symbols.size() > MAX_SYMBOLS)
+            throw new IllegalArgumentException("symbols: 1.." + MAX_SYMBOLS);
+        List<Flux<ServerSentEvent<String>>> sources = new ArrayList<>();
+        for (String s : symbols)
+            sources.add(topicFlux(s.trim().toUpperCase(Locale.ROOT)));
+        Flux<ServerSentEvent<String>> events = sources.size() == 1 ? sources.get(0)
+                : Flux.merge(Flux.fromIterable(sources), sources.size(), Queues.SMALL_BUFFER_SIZE);
+        if (!types.isEmpty())
+            events = events.filter(e -> types.contains(e.event()));
+
+        events = switch (policy) {
+            case LATEST -> events.onBackpressureLatest();
+            case DROP_OLDEST -> events.onBackpressureBuffer(buffer, e -> dropped.incrementAndGet(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+        };
+        return events
+                .doOnSubscribe(s -> clients.incrementAndGet())
+                .doFinally(signal -> clients.decrementAndGet());
+    }
+
+    /*
+     * 구독할 때 토픽을 만들거나 참조 수를 올리고, 마지막 구독자가 나가면 토픽을 지운다.
+     * 참조 수는 CHM compute 안에서만 바꾸므로 지우는 것과 새로 붙는 것이 엇갈리지 않는다.
+     */
+    private Flux<ServerSentEvent<String>> topicFlux(String symbol) {
+        return Flux.defer(() -> {
+            Topic topic = topics.compute(symbol, (k, t) -> {
+                Topic out = t != null ? t : new Topic();
+                out.refs++;
+                return out;
+            });
+            return topic.sink.asFlux()
+                    .doFinally(signal -> topics.computeIfPresent(symbol, (k, t) -> --t.refs == 0 ? null : t));
+        });
+    }
+
+    @Override
+    public void onCandleClosed(SymbolSession sess, TimeFrame tf) {
+        Sinks.Many<ServerSentEvent<String>> topic = sink(sess.getSymbol());
+        if (topic == null)
+            return;
+
+        CandleBuffer b = sess.buffer(tf);
+        int i = b.lastIndex();
+        emit(topic, "candle", new CandleView(sess.getSymbol(), tf.timeFrame, b.openTime(i), b.closeTime(i),
+                b.open(i), b.high(i), b.low(i), b.close(i), b.volume(i)));
+
+        IndicatorState st = sess.indicators(tf);
+        emit(topic, "indicators", new IndicatorView(sess.getSymbol(), tf.timeFrame, st.lastCloseTime(),
+                finite(st.emaFast()), finite(st.emaSlow()), finite(st.rsi()),
+                finite(st.bbMid()), finite(st.bbUpper()), finite(st.bbLower()), finite(st.avgVolume())));
+    }
+
+    @Override
+    public void onOpened(TradeScenario scenario) {
+        emitScenario("signal", ScenarioEvent.Type.OPEN, scenario, null);
+    }
+
+    @Override
+    public void onUpdated(TradeScenario scenario) {
+        emitScenario("scenario", ScenarioEvent.Type.UPDATE, scenario, scenario.buildStatusSummary());
+    }
+
+    @Override
+    public void onClosed(TradeScenario scenario, String reason) {
+        emitScenario("scenario", ScenarioEvent.Type.CLOSE, scenario, reason);
+    }
+
+    private void emitScenario(String type, ScenarioEvent.Type event, TradeScenario scenario, String reason) {
+        Sinks.Many<ServerSentEvent<String>> topic = sink(scenario.getSymbol());
+        if (topic != null)
+            emit(topic, type, ScenarioEvent.of(event, scenario, reason));
+    }
+
+    /* 구독자가 있는 토픽의 sink, 없으면 null (emit 쪽은 토픽을 만들지 않는다) */
+    private Sinks.Many<ServerSentEvent<String>> sink(String symbol) {
+        Topic t = topics.get(symbol);
+        return t == null || t.sink.currentSubscriberCount() == 0 ? null : t.sink;
+    }
+
+    /* 한 번 직렬화해서 토픽의 모든 구독자에게 같은 인스턴스를 넘긴다 (심볼 mailbox 스레드라 토픽별 emit 은 순차) */
+    private void emit(Sinks.Many<ServerSentEvent<String>> topic, String type, Object payload) {
+        try {
+            ServerSentEvent<String> event = ServerSentEvent.builder(mapper.writeValueAsString(payload)).event(type).build();
+            if (topic.tryEmitNext(event).isSuccess())
+                published.incrementAndGet();
+        } catch (JsonProcessingException e) {
+            log.warn("Live event serialization failed {}: {}", type, e.getMessage());
+        }
+    }
+
+    /* 심볼 토픽: best-effort multicast + 구독 참조 수 (compute 안에서만 변경) */
+    private static final class Topic {
+        final Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().multicast().directBestEffort();
+        int refs;
+    }
+
+    /* 워밍업 전 NaN 은 JSON 에 못 쓰므로 null */
+    private static Double finite(double v) {
+        return Double.isFinite(v) ? v : null;
+    }
+
+    public int clientCount() { return clients.get(); }
+    public long droppedCount() { return dropped.get(); }
+    public int topicCount() { return topics.size(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("binance.stream.clients", clients, AtomicInteger::get)
+                .description("라이브 스트림 구독자 수")
+                .register(registry);
+        FunctionCounter.builder("binance.stream.published", published, AtomicLong::get)
+                .description("직렬화해 토픽에 낸 이벤트 수 (구독자 수와 무관하게 한 번)")
+                .register(registry);
+        FunctionCounter.builder("binance.stream.dropped", dropped, AtomicLong::get)
+                .description("drop-oldest 구독자 버퍼가 넘쳐 버린 이벤트 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.binance.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.example.binance.dto.ScenarioEvent;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.repository.ScenarioEventRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시나리오 이벤트 write-behind 저장.
+ * 평가 스레드는 스냅샷을 bounded 큐에 넣기만 하고(가득 차면 버림), 전용 스레드가 모인 이벤트를
+ * 최대 {@link #BATCH_SIZE} 개씩 JDBC batch insert 한 번으로 내려쓴다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ScenarioEventWriter implements ScenarioListener, MeterBinder {
+
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int BATCH_SIZE = 500;
+
+    private final ScenarioEventRepository repository;
+
+    private final BlockingQueue<ScenarioEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "scenario-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null)
+            writer.join(5_000L);
+    }
+
+    @Override
+    public void onOpened(TradeScenario scenario) {
+        enqueue(ScenarioEvent.of(ScenarioEvent.Type.OPEN, scenario, null));
+    }
+
+    @Override
+    public void onUpdated(TradeScenario scenario) {
+        enqueue(ScenarioEvent.of(ScenarioEvent.Type.UPDATE, scenario, scenario.buildStatusSummary()));
+    }
+
+    @Override
+    public void onClosed(TradeScenario scenario, String reason) {
+        enqueue(ScenarioEvent.of(ScenarioEvent.Type.CLOSE, scenario, reason));
+    }
+
+    public int queueDepth() { return queue.size(); }
+    public long writtenCount() { return written.get(); }
+    public long droppedCount() { return dropped.get(); }
+    public long failureCount() { return failed.get(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("binance.scenario.writer.queue.depth", this, ScenarioEventWriter::queueDepth).register(registry);
+        FunctionCounter.builder("binance.scenario.writer.written", this, ScenarioEventWriter::writtenCount).register(registry);
+        FunctionCounter.builder("binance.scenario.writer.dropped", this, ScenarioEventWriter::droppedCount).register(registry);
+        FunctionCounter.builder("binance.scenario.writer.failures", this, ScenarioEventWriter::failureCount).register(registry);
+    }
+
+    private void enqueue(ScenarioEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+            log.warn("Scenario event queue full, dropped {} {}", event.getType(), event.getTx());
+        }
+    }
+
+    private void writeLoop() {
+        List<ScenarioEvent> batch = new ArrayList<>(BATCH_SIZE);
+        // 종료 요청 후에도 큐에 남은 것은 모두 내려쓴다
+        while (running || !queue.isEmpty()) {
+            try {
+                ScenarioEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null)
+                    continue;
+                batch.clear();
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<ScenarioEvent> batch) {
+        try {
+            repository.insertAll(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("Scenario event batch insert failed ({} events): {}", batch.size(), e.getMessage());
+        }
+    }
+}
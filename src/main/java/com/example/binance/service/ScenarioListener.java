@@ -0,0 +1,14 @@
+package com.example.binance.service;
+
+import com.example.binance.dto.TradeScenario;
+
+/** CalculateService 시나리오 수명 이벤트 (평가 스레드에서 동기 호출되므로 가볍게 처리할 것) */
+public interface ScenarioListener {
+
+    default void onOpened(TradeScenario scenario) {}
+
+    /** TP1/TP2/STOP 중 하나에 새로 닿았을 때 */
+    default void onUpdated(TradeScenario scenario) {}
+
+    default void onClosed(TradeScenario scenario, String reason) {}
+}
@@ -0,0 +1,219 @@
+package com.example.binance.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.ws.CandleAggregator;
+import com.example.binance.ws.CandleBuffer;
+import com.example.binance.ws.SymbolSession;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 세션 하나에 마감봉을 반영하고 전략을 평가한다.
+ * 라이브(KlineSocketService, 세션 mailbox 스레드)와 백테스트가 같은 경로를 쓴다.
+ * 같은 closeTime 의 봉은 H1 → M15 → M5 순서로 넣어야 H1Env 가 먼저 갱신된다.
+ * LOCAL 집계에서는 {@link #onBaseCandleClosed} 가 M5 하나로 이 순서를 직접 만든다.
+ */
+@Service
+@Slf4j
+public class SessionEvaluator {
+
+    public static final TimeFrame BASE = TimeFrame.M5;
+    private static final List<TimeFrame> AGGREGATED = CandleAggregator.targetsOf(BASE);
+
+    private final CalculateService onlyH1Service;
+    private final PipelineMetrics metrics;
+    private final List<CandleListener> candleListeners;
+
+    /** 백테스트/벤치용: 마감봉 구독자 없음 */
+    public SessionEvaluator(CalculateService onlyH1Service, PipelineMetrics metrics) {
+        this(onlyH1Service, metrics, List.of());
+    }
+
+    @Autowired
+    public SessionEvaluator(CalculateService onlyH1Service, PipelineMetrics metrics, List<CandleListener> candleListeners) {
+        this.onlyH1Service = onlyH1Service;
+        this.metrics = metrics;
+        this.candleListeners = List.copyOf(candleListeners);
+    }
+
+    /** 마감봉 처리 */
+    public void onCandleClosed(SymbolSession sess, TimeFrame tf, long openTime, long closeTime,
+                               double o, double h, double l, double c, double v) {
+
+        // 버퍼 + 증분 지표 업데이트 (중복/역순 closeTime 은 무시)
+        if (!sess.append(tf, openTime, closeTime, o, h, l, c, v))
+            return;
+        evaluate(sess, tf);
+    }
+
+    /**
+     * LOCAL 집계: base(M5) 마감봉 하나로 경계에 걸린 상위 봉을 합성해 H1 → M15 → M5 순서로 평가한다.
+     * 합성한 봉과 합성하지 못한 구간은 listener 로 알린다.
+     */
+    public void onBaseCandleClosed(SymbolSession sess, long openTime, long closeTime,
+                                   double o, double h, double l, double c, double v,
+                                   CandleAggregator.Listener listener) {
+
+        if (!sess.append(BASE, openTime, closeTime, o, h, l, c, v))
+            return;
+
+        CandleBuffer base = sess.buffer(BASE);
+        for (TimeFrame tf : AGGREGATED) {
+            Candle out = new Candle();
+            switch (CandleAggregator.closeIfBoundary(base, BASE, tf, out)) {
+                case CLOSED -> {
+                    onCandleClosed(sess, tf, out.getOpenTime(), out.getCloseTime(),
+                            out.getOpen(), out.getHigh(), out.getLow(), out.getClose(), out.getVolume());
+                    listener.closed(tf, out);
+                }
+                case INCOMPLETE -> {
+                    long bucketOpen = Math.floorDiv(openTime, tf.millis) * tf.millis;
+                    metrics.aggregateIncomplete(tf);
+                    log.warn("Aggregate {} {} incomplete at {}", tf, sess.getSymbol(), bucketOpen);
+                    listener.incomplete(tf, bucketOpen);
+                }
+                case NONE -> { }
+            }
+        }
+        evaluate(sess, BASE);
+    }
+
+    /**
+     * VERIFY 모드: 방금 들어온 봉 기준으로 로컬 합성 봉과 거래소 봉을 같은 구간끼리 비교한다.
+     * 어느 쪽이 먼저 도착해도 되도록 로컬 봉은 세션에 잠시 보관한다.
+     */
+    public void verify(SymbolSession sess, TimeFrame tf) {
+        if (tf == BASE) {
+            CandleBuffer base = sess.buffer(BASE);
+            for (TimeFrame target : AGGREGATED) {
+                Candle local = new Candle();
+                if (CandleAggregator.closeIfBoundary(base, BASE, target, local) == CandleAggregator.Result.CLOSED)
+                    sess.getPendingAggregates().put(target, local);
+                compare(sess, target);
+            }
+        } else {
+            compare(sess, tf);
+        }
+    }
+
+    private void compare(SymbolSession sess, TimeFrame tf) {
+        Candle local = sess.getPendingAggregates().get(tf);
+        CandleBuffer ex = sess.buffer(tf);
+        if (local == null || ex.lastCloseTime() < local.getCloseTime())
+            return; // 거래소 봉이 아직 안 옴
+
+        sess.getPendingAggregates().remove(tf);
+        int i = ex.lastIndex();
+        while (i >= 0 && ex.closeTime(i) > local.getCloseTime())
+            i--;
+
+        boolean match = i >= 0 && ex.closeTime(i) == local.getCloseTime()
+                && ex.open(i) == local.getOpen() && ex.high(i) == local.getHigh()
+                && ex.low(i) == local.getLow() && ex.close(i) == local.getClose()
+                && Math.abs(ex.volume(i) - local.getVolume()) <= 1e-9 * Math.max(1.0, Math.abs(ex.volume(i)));
+        metrics.aggregateVerified(tf, match);
+        if (!match) {
+            log.warn("Aggregate mismatch {} {} @{}: local o={} h={} l={} c={} v={} / exchange {}",
+                    tf, sess.getSymbol(), local.getOpenTime(), local.getOpen(), local.getHigh(), local.getLow(),
+                    local.getClose(), local.getVolume(),
+                    i < 0 || ex.closeTime(i) != local.getCloseTime() ? "missing"
+                            : String.format("o=%s h=%s l=%s c=%s v=%s", ex.open(i), ex.high(i), ex.low(i), ex.close(i), ex.volume(i)));
+        }
+    }
+
+    /* 버퍼에 반영된 봉 기준 평가 */
+    private void evaluate(SymbolSession sess, TimeFrame tf) {
+
+        for (int i = 0; i < candleListeners.size(); i++)
+            candleListeners.get(i).onCandleClosed(sess, tf);
+
+        // ✅ 2-a) H1 마감 들어오면 환경 갱신 (다음 한 시간 유효)
+        if (tf == TimeFrame.H1) {
+            refreshH1EnvFromBuffers(sess);
+        }
+
+        // ✅ 2-b) M15 마감 들어오면 H1Env를 게이트로 트리거 평가
+        if (tf == TimeFrame.M15) {
+            log.debug("===== Get Trigger =====");
+            long started = System.nanoTime();
+            onlyH1Service.onCandleClosed_H1M15(sess);
+            metrics.evaluated(tf, System.nanoTime() - started);
+        }
+
+        // ✅ 2-c) M5 마감 들어오면 활성화 상태 확인 후 트리거 평가
+        if (tf == TimeFrame.M5) {
+            if (sess.isM5Active()) {
+                log.debug("===== M5 Trigger Check =====");
+                long started = System.nanoTime();
+                onlyH1Service.onCandleClosed_M5(sess);
+                metrics.evaluated(tf, System.nanoTime() - started);
+            }
+        }
+
+        // 시나리오가 열리거나 닫혔을 수 있으므로 진행 중 봉 감시 레벨 갱신
+        sess.refreshWatchLevels();
+        sess.publishSnapshot(onlyH1Service.strategyNames());
+    }
+
+    /** low-latency 모드: 진행 중 base 봉의 고가/저가로 시나리오 TP/STOP 을 바로 확인 */
+    public void onIntrabar(SymbolSession sess, long openTime, double high, double low, long eventTime) {
+        onlyH1Service.onIntrabar(sess, openTime, high, low, eventTime);
+        sess.publishSnapshot(onlyH1Service.strategyNames());
+    }
+
+    /** 부트스트랩 결과 반영: H1 환경 → M15 → M5 버퍼 */
+    public void bootstrap(SymbolSession sess, Map<TimeFrame, List<Candle>> data) {
+        bootStrapH1Env(sess, data.getOrDefault(TimeFrame.H1, List.of()));
+        bootstrapBuffer(sess, TimeFrame.M15, data.getOrDefault(TimeFrame.M15, List.of()));
+        bootstrapBuffer(sess, TimeFrame.M5, data.getOrDefault(TimeFrame.M5, List.of()));
+        sess.publishSnapshot(onlyH1Service.strategyNames());
+    }
+
+    private void bootStrapH1Env(SymbolSession session, List<Candle> h1) {
+        final String symbol = session.getSymbol();
+        if (h1 == null || h1.size() < 60) {
+            log.warn("H1 is not enough candles : {}", symbol);
+            return;
+        }
+
+        session.reload(TimeFrame.H1, new ArrayList<>(h1));
+
+        onlyH1Service.refreshH1Env(session);
+        BootStrapEnv env = session.strategy(0).getH1EnvRef().get();
+
+        log.info("H1 Value from first api : {}, longOk = {}, shortOk = {}", symbol, env.isLongOk(), env.isShortOk());
+    }
+
+    private void bootstrapBuffer(SymbolSession sess, TimeFrame tf, List<Candle> candles) {
+        final String symbol = sess.getSymbol();
+        if (candles == null || candles.isEmpty()) {
+            log.warn("{} bootstrap is empty : {}", tf, symbol);
+            return;
+        }
+
+        int buffered = sess.reload(tf, new ArrayList<>(candles));
+
+        log.info("Bootstrap {} {}: loaded={}, buffered={}, lastClose={}",
+            tf, symbol, candles.size(), buffered, sess.indicators(tf).lastCloseTime());
+    }
+
+    private void refreshH1EnvFromBuffers(SymbolSession sess) {
+        CandleBuffer buf = sess.getBuffers().get(TimeFrame.H1);
+        if (buf == null || buf.size() < 60)
+            return;
+        onlyH1Service.refreshH1Env(sess);
+        BootStrapEnv env = sess.strategy(0).getH1EnvRef().get();
+        log.debug("Refresh H1Env {}: hourKey={}, longOk={}, shortOk={}",
+                sess.getSymbol(), env.getHourKey(), env.isLongOk(), env.isShortOk());
+    }
+}
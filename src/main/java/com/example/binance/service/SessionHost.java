@@ -0,0 +1,17 @@
+package com.example.binance.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.example.binance.ws.SymbolSession;
+
+/** 심볼 세션을 실제로 여닫는 쪽 (기본은 {@link KlineSocketService}, 테스트는 로컬 스텁) */
+public interface SessionHost {
+
+    List<SymbolSession> startAll(Collection<String> symbols);
+
+    void close(String symbol);
+
+    Map<String, SymbolSession> sessions();
+}
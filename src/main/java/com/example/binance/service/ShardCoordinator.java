@@ -0,0 +1,202 @@
+package com.example.binance.service;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.binance.properties.ShardProperties;
+import com.example.binance.repository.LeaseRepository;
+import com.example.binance.utils.HashRing;
+import com.example.binance.ws.SymbolSession;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 인스턴스가 심볼 유니버스를 나눠 맡게 하는 조정자.
+ * 맡을 심볼(desired)은 인스턴스마다 같게 모으고, 생존 인스턴스로 만든 {@link HashRing} 이 나를 가리키는 심볼만
+ * 공유 임대 테이블에서 가져와 세션을 연다. 주기마다 생존 신호를 남기고 임대를 연장한다.
+ * <ul>
+ *   <li>인스턴스가 죽으면 임대가 lease-ttl 뒤 만료되고, 링에서 빠지므로 남은 인스턴스가 가져가 버퍼를 다시 채운다
+ *       (로컬 캔들 저장소 + REST 부트스트랩, 부트스트랩은 알림을 내지 않는다)</li>
+ *   <li>세션의 알림 기한은 임대 만료보다 clock-skew 만큼 앞이라, 갱신이 끊긴 인스턴스는 새 주인이 임대를 얻기 전에 알림을 멈춘다</li>
+ *   <li>인스턴스가 늘어 링 주인이 바뀐 심볼은 세션을 닫고 임대를 놓는다. 새 주인은 다음 주기에 가져간다</li>
+ * </ul>
+ * 샤딩이 꺼져 있으면 assign/unassign 은 바로 세션을 여닫는다.
+ */
+@Service
+@Slf4j
+public class ShardCoordinator {
+
+    private final ShardProperties properties;
+    private final LeaseRepository leases;
+    private final SessionHost host;
+    private final Clock clock;
+    private final String instanceId;
+
+    private final Set<String> desired = ConcurrentHashMap.newKeySet();
+    private final Set<String> held = new HashSet<>();   // tick 전용 (synchronized)
+    private volatile List<String> members = List.of();
+
+    public record Assignment(List<String> acquired, List<String> released, List<String> lost) { }
+
+    public ShardCoordinator(ShardProperties properties, LeaseRepository leases, SessionHost host, Clock clock) {
+        this.properties = properties;
+        this.leases = leases;
+        this.host = host;
+        this.clock = clock;
+        this.instanceId = properties.getInstanceId().isBlank() ? defaultInstanceId() : properties.getInstanceId();
+    }
+
+    /** 심볼을 맡을 대상에 넣는다. 샤딩 모드면 링이 나를 가리키는 심볼만 다음 주기에 연다 */
+    public void assign(Collection<String> symbols) {
+        if (!properties.isEnabled()) {
+            host.startAll(symbols);
+            return;
+        }
+        desired.addAll(symbols);
+    }
+
+    /** 맡을 대상에서 뺀다. 샤딩 모드면 다음 주기에 세션을 닫고 임대를 놓는다 */
+    public void unassign(String symbol) {
+        if (!properties.isEnabled()) {
+            host.close(symbol);
+            return;
+        }
+        desired.remove(symbol);
+    }
+
+    @Scheduled(fixedDelayString = "${binance.shard.heartbeat-ms:5000}")
+    public void scheduledTick() {
+        if (!properties.isEnabled())
+            return;
+        try {
+            tick();
+        } catch (Exception e) {
+            // 갱신 실패가 이어지면 알림 기한이 지나 스스로 멈춘다
+            log.warn("Shard heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /** 생존 신호 → 임대 연장 → 링 기준으로 놓을 심볼/가져올 심볼 정리 */
+    public synchronized Assignment tick() {
+        long now = clock.millis();
+        long ttl = properties.getLeaseTtlMs();
+        long expiresAt = now + ttl;
+
+        leases.heartbeat(instanceId, now);
+        List<String> live = leases.members(now - ttl);
+        members = live;
+        HashRing ring = new HashRing(live, properties.getVirtualNodes());
+
+        // 만료 뒤 남이 가져간 심볼: 세션만 닫는다
+        Set<String> owned = leases.renew(instanceId, expiresAt);
+        List<String> lost = new ArrayList<>();
+        for (String s : held)
+            if (!owned.contains(s))
+                lost.add(s);
+        for (String s : lost) {
+            held.remove(s);
+            stopLocal(s);
+        }
+
+        // 더 이상 원하지 않거나 링 주인이 바뀐 심볼: 세션을 닫고 임대를 놓는다
+        List<String> released = new ArrayList<>();
+        for (String s : owned) {
+            if (desired.contains(s) && instanceId.equals(ring.owner(s))) {
+                held.add(s);
+                continue;
+            }
+            held.remove(s);
+            stopLocal(s);
+            leases.release(s, instanceId);
+            released.add(s);
+        }
+
+        List<String> acquired = new ArrayList<>();
+        for (String s : desired) {
+            if (!held.contains(s) && instanceId.equals(ring.owner(s)) && leases.tryAcquire(s, instanceId, now, expiresAt)) {
+                held.add(s);
+                acquired.add(s);
+            }
+        }
+
+        Map<String, SymbolSession> sessions = host.sessions();
+        List<String> missing = new ArrayList<>();
+        for (String s : held)
+            if (!sessions.containsKey(s))
+                missing.add(s);
+        if (!missing.isEmpty())
+            host.startAll(missing);
+
+        long fence = expiresAt - properties.getClockSkewMs();
+        for (String s : held) {
+            SymbolSession sess = sessions.get(s);
+            if (sess != null)
+                sess.setLeaseUntil(fence);
+        }
+
+        if (!acquired.isEmpty() || !released.isEmpty() || !lost.isEmpty())
+            log.info("Shard {}: members={}, held={}, acquired={}, released={}, lost={}",
+                    instanceId, live, held.size(), acquired.size(), released.size(), lost);
+        return new Assignment(acquired, released, lost);
+    }
+
+    /* 알림부터 막고 세션을 닫는다 (mailbox 에 남은 작업도 fenced) */
+    private void stopLocal(String symbol) {
+        SymbolSession sess = host.sessions().get(symbol);
+        if (sess != null)
+            sess.setLeaseUntil(0L);
+        host.close(symbol);
+    }
+
+    @PreDestroy
+    void leave() {
+        if (!properties.isEnabled())
+            return;
+        try {
+            leases.leave(instanceId);
+            log.info("Shard {} left", instanceId);
+        } catch (Exception e) {
+            log.warn("Shard leave failed: {}", e.getMessage());
+        }
+    }
+
+    /** 링 크기 (샤딩이 꺼져 있으면 1) */
+    public int memberCount() {
+        return properties.isEnabled() ? Math.max(1, members.size()) : 1;
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public synchronized Map<String, Object> state() {
+        return Map.of(
+                "enabled", properties.isEnabled(),
+                "instance", instanceId,
+                "members", members,
+                "desired", desired.size(),
+                "held", new TreeSet<>(held));
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "local";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.binance.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.binance.dto.ExchangeSymbol;
+import com.example.binance.dto.Ticker24h;
+import com.example.binance.properties.UniverseProperties;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래 대상 심볼(유니버스) 자동 관리.
+ * exchangeInfo 에서 조건에 맞는 심볼을 고르고 24h 거래대금으로 순위를 매겨 상위 capacity 개의 세션을 유지한다.
+ * capacity 는 max-sessions 와 세션당 CPU/메모리 예산으로 계산한 한도 중 작은 값이다.
+ * 직접 시작한 세션만 관리하며 (coin.symbol, /trade/test 로 연 세션은 건드리지 않음),
+ * 순위 경계의 심볼은 rank-slack 만큼 여유를 두어 갱신마다 교체되지 않게 한다.
+ * 샤딩 모드에서는 클러스터 전체 한도(capacity × 인스턴스 수)로 고르고 실제 세션은 {@link ShardCoordinator} 가 나눠 연다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UniverseManager implements MeterBinder {
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final UniverseProperties properties;
+    private final UniverseSource source;
+    private final KlineSocketService klineSocketService;
+    private final ShardCoordinator shardCoordinator;
+
+    private final Set<String> managed = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastBusyNanos = new HashMap<>();  // 갱신 스레드 전용
+    private final Map<String, Integer> cooldown = new HashMap<>();    // 예산 초과로 내린 심볼 → 남은 갱신 횟수
+    private long lastRefreshNanos;
+
+    public record Plan(List<String> start, List<String> stop) { }
+
+    @Scheduled(fixedDelayString = "${binance.universe.refresh-ms:300000}", initialDelayString = "${binance.universe.initial-delay-ms:10000}")
+    public void scheduledRefresh() {
+        if (!properties.isEnabled())
+            return;
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Universe refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** 순위를 다시 계산하고 세션을 시작/종료한다 */
+    public synchronized Plan refresh() {
+        List<ExchangeSymbol> symbols = source.symbols().block(FETCH_TIMEOUT);
+        List<Ticker24h> tickers = source.tickers().block(FETCH_TIMEOUT);
+        List<String> ranked = rank(symbols, tickers, properties);
+
+        Map<String, SymbolSession> sessions = klineSocketService.sessions();
+        Set<String> external = new HashSet<>(sessions.keySet());
+        external.removeAll(managed);
+
+        Set<String> overBudget = checkBudgets(sessions);
+        int capacity = capacity() * shardCoordinator.memberCount();
+        Plan plan = select(ranked, managed, external, cooldown.keySet(), capacity,
+                properties.getRankSlack(), properties.getMaxStartsPerRefresh());
+
+        for (String symbol : plan.stop()) {
+            shardCoordinator.unassign(symbol);
+            managed.remove(symbol);
+            lastBusyNanos.remove(symbol);
+        }
+        if (!plan.start().isEmpty()) {
+            managed.addAll(plan.start());
+            shardCoordinator.assign(plan.start());
+        }
+
+        log.info("Universe refresh: candidates={}, capacity={}, managed={}, started={}, stopped={}, overBudget={}",
+                ranked.size(), capacity, managed.size(), plan.start().size(), plan.stop().size(), overBudget);
+        return plan;
+    }
+
+    /** 조건(상태/계약/견적 자산/거래대금/제외 목록)에 맞는 심볼을 24h 거래대금 내림차순으로 */
+    static List<String> rank(List<ExchangeSymbol> symbols, List<Ticker24h> tickers, UniverseProperties p) {
+        Map<String, Double> volume = new HashMap<>();
+        for (Ticker24h t : tickers)
+            volume.put(t.getSymbol(), t.getQuoteVolume());
+
+        Set<String> exclude = new HashSet<>(p.getExclude());
+        List<String> out = new ArrayList<>();
+        for (ExchangeSymbol s : symbols) {
+            if (!"TRADING".equals(s.getStatus())
+                    || !p.getContractType().equals(s.getContractType())
+                    || !p.getQuoteAsset().equals(s.getQuoteAsset())
+                    || exclude.contains(s.getSymbol()))
+                continue;
+            Double v = volume.get(s.getSymbol());
+            if (v != null && v >= p.getMinQuoteVolume())
+                out.add(s.getSymbol());
+        }
+        out.sort(Comparator.comparingDouble((String s) -> volume.get(s)).reversed().thenComparing(s -> s));
+        return out;
+    }
+
+    /**
+     * 순위 → 시작/종료 계획.
+     * 운영 중인 심볼은 capacity + slack 순위 안이면 유지하고, 남는 자리를 상위 순위부터 최대 maxStarts 개 채운다.
+     * external(직접 관리하지 않는 세션)과 excluded(예산 초과 냉각 중)는 새로 시작하지 않는다.
+     */
+    static Plan select(List<String> ranked, Set<String> current, Set<String> external, Set<String> excluded,
+                       int capacity, int slack, int maxStarts) {
+        Set<String> keep = new LinkedHashSet<>();
+        int keepWithin = Math.min(ranked.size(), capacity + Math.max(0, slack));
+        for (int i = 0; i < keepWithin && keep.size() < capacity; i++) {
+            String s = ranked.get(i);
+            if (current.contains(s) && !excluded.contains(s))
+                keep.add(s);
+        }
+
+        List<String> start = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && keep.size() + start.size() < capacity && start.size() < maxStarts; i++) {
+            String s = ranked.get(i);
+            if (!keep.contains(s) && !current.contains(s) && !external.contains(s) && !excluded.contains(s))
+                start.add(s);
+        }
+
+        List<String> stop = new ArrayList<>();
+        for (String s : current)
+            if (!keep.contains(s))
+                stop.add(s);
+        stop.sort(null);
+        return new Plan(start, stop);
+    }
+
+    /** max-sessions 와 CPU/메모리 예산으로 계산한 동시 세션 한도 */
+    public int capacity() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long heap = Runtime.getRuntime().maxMemory();
+        long byCpu = (long) (cores * properties.getCpuShare() / properties.getCpuBudgetPerSession());
+        long byHeap = (long) (heap * properties.getHeapShare() / properties.getMemoryBudgetPerSession());
+        return (int) Math.max(0, Math.min(properties.getMaxSessions(), Math.min(byCpu, byHeap)));
+    }
+
+    /*
+     * 지난 갱신 이후 mailbox 실행 시간이 CPU 예산을 넘은 관리 세션은 냉각 목록에 올려 이번 계획에서 내린다.
+     * 냉각 횟수는 갱신마다 줄고 0 이 되면 다시 후보가 된다.
+     */
+    private Set<String> checkBudgets(Map<String, SymbolSession> sessions) {
+        cooldown.replaceAll((s, n) -> n - 1);
+        cooldown.values().removeIf(n -> n <= 0);
+
+        long now = System.nanoTime();
+        long elapsed = now - lastRefreshNanos;
+        boolean measured = lastRefreshNanos != 0 && elapsed > 0;
+        lastRefreshNanos = now;
+
+        Set<String> over = new LinkedHashSet<>();
+        for (String symbol : managed) {
+            SymbolSession sess = sessions.get(symbol);
+            if (sess == null)
+                continue;
+            long busy = sess.getMailbox().busyNanos();
+            Long prev = lastBusyNanos.put(symbol, busy);
+            if (!measured || prev == null)
+                continue;
+            double share = (double) (busy - prev) / elapsed;
+            if (share > properties.getCpuBudgetPerSession()) {
+                over.add(symbol);
+                cooldown.put(symbol, properties.getOverBudgetCooldown());
+                log.warn("Session {} over CPU budget: {}% of a core", symbol, String.format("%.3f", share * 100));
+            }
+        }
+        return over;
+    }
+
+    public Set<String> managed() {
+        return Set.copyOf(managed);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("binance.universe.sessions", managed, Set::size)
+                .description("유니버스가 관리하는 세션 수")
+                .register(registry);
+        Gauge.builder("binance.universe.capacity", this, UniverseManager::capacity)
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.binance.service;
+
+import java.util.List;
+
+import com.example.binance.dto.ExchangeSymbol;
+import com.example.binance.dto.Ticker24h;
+
+import reactor.core.publisher.Mono;
+
+/** 유니버스 후보 심볼과 24h 거래대금 출처 (기본은 REST, 테스트는 로컬 스텁) */
+public interface UniverseSource {
+
+    Mono<List<ExchangeSymbol>> symbols();
+
+    Mono<List<Ticker24h>> tickers();
+}
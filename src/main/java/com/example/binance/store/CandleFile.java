@@ -0,0 +1,182 @@
+package com.example.binance.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.binance.dto.Candle;
+
+/**
+ * 심볼/타임프레임 하나의 append-only 캔들 파일 (memory-mapped).
+ * 64바이트 헤더 뒤에 56바이트 고정 레코드 {@code openTime, closeTime, open, high, low, close, volume} 가 closeTime 순으로 붙는다.
+ * 레코드가 정렬돼 있으므로 closeTime 이진 탐색이 곧 시간 인덱스다.
+ * 레코드를 먼저 쓰고 헤더의 count 를 나중에 올리므로, 중간에 죽어도 count 까지의 레코드는 온전하다.
+ * 보관 한도는 {@link #open(Path, int)} 로 열 때 적용한다 (넘치면 최근 봉만 임시 파일에 다시 써서 바꿔 끼운다).
+ */
+public final class CandleFile implements Closeable {
+
+    static final int MAGIC = 0x434E444C;      // "CNDL"
+    static final int VERSION = 1;
+    static final int HEADER = 64;
+    static final int RECORD = 56;
+    static final int INITIAL_RECORDS = 1024;
+
+    private static final int OFF_COUNT = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;   // 현재 매핑에 들어가는 레코드 수
+    private int count;
+
+    public CandleFile(Path path) throws IOException {
+        this.path = path;
+        Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long existing = channel.size();
+        int records = existing <= HEADER ? INITIAL_RECORDS
+                : Math.max(INITIAL_RECORDS, (int) ((existing - HEADER) / RECORD));
+        remap(records);
+
+        if (existing < HEADER) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, RECORD);
+            map.putLong(OFF_COUNT, 0L);
+        } else if (map.getInt(0) != MAGIC || map.getInt(8) != RECORD) {
+            channel.close();
+            throw new IOException("Unexpected candle file format: " + path);
+        }
+        count = (int) Math.min(map.getLong(OFF_COUNT), capacity);
+    }
+
+    /**
+     * 파일을 열고, 레코드가 maxRecords 를 넘으면 최근 maxRecords 개만 남긴다 (0 이하면 무제한).
+     * 새 파일을 다 쓴 뒤 원자적으로 이름을 바꾸므로 도중에 죽어도 원래 파일이 남는다.
+     */
+    public static CandleFile open(Path path, int maxRecords) throws IOException {
+        CandleFile f = new CandleFile(path);
+        if (maxRecords <= 0 || f.size() <= maxRecords)
+            return f;
+
+        List<Candle> keep = f.tail(maxRecords);
+        f.close();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        try (CandleFile t = new CandleFile(tmp)) {
+            for (Candle c : keep)
+                t.append(c);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new CandleFile(path);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /** 마지막 레코드의 closeTime, 비어 있으면 -1 */
+    public synchronized long lastCloseTime() {
+        return count == 0 ? -1L : closeTimeAt(count - 1);
+    }
+
+    /** closeTime 이 마지막 레코드보다 새로울 때만 추가 */
+    public synchronized boolean append(long ot, long ct, double o, double h, double l, double c, double v) throws IOException {
+        if (count > 0 && closeTimeAt(count - 1) >= ct)
+            return false;
+        if (count == capacity)
+            remap(capacity * 2);
+
+        int p = HEADER + count * RECORD;
+        map.putLong(p, ot);
+        map.putLong(p + 8, ct);
+        map.putDouble(p + 16, o);
+        map.putDouble(p + 24, h);
+        map.putDouble(p + 32, l);
+        map.putDouble(p + 40, c);
+        map.putDouble(p + 48, v);
+        count++;
+        map.putLong(OFF_COUNT, count);
+        return true;
+    }
+
+    public boolean append(Candle c) throws IOException {
+        return append(c.getOpenTime(), c.getCloseTime(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+    }
+
+    /** 최근 n 개 (오래된 것부터) */
+    public synchronized List<Candle> tail(int n) {
+        return read(Math.max(0, count - n), count);
+    }
+
+    /** fromCloseTime <= closeTime <= toCloseTime 인 레코드 */
+    public synchronized List<Candle> range(long fromCloseTime, long toCloseTime) {
+        return read(lowerBound(fromCloseTime), lowerBound(toCloseTime + 1));
+    }
+
+    /** closeTime >= t 인 첫 레코드 인덱스 */
+    synchronized int lowerBound(long t) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (closeTimeAt(mid) < t)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    public synchronized void force() {
+        map.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+
+    private List<Candle> read(int from, int to) {
+        List<Candle> out = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            int p = HEADER + i * RECORD;
+            out.add(Candle.builder()
+                    .openTime(map.getLong(p))
+                    .closeTime(map.getLong(p + 8))
+                    .open(map.getDouble(p + 16))
+                    .high(map.getDouble(p + 24))
+                    .low(map.getDouble(p + 32))
+                    .close(map.getDouble(p + 40))
+                    .volume(map.getDouble(p + 48))
+                    .build());
+        }
+        return out;
+    }
+
+    private long closeTimeAt(int i) {
+        return map.getLong(HEADER + i * RECORD + 8);
+    }
+
+    // 매핑 크기를 늘리면 파일도 함께 늘어난다 (이전 매핑은 GC 시 해제)
+    private void remap(int records) throws IOException {
+        if (map != null)
+            map.force();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) records * RECORD);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        capacity = records;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.binance.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.StoreProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 마감봉 로컬 저장소. {@code {dir}/{SYMBOL}/{interval}.bin} 파일 하나가 {@link CandleFile} 하나다.
+ * 파일 I/O 오류는 로그만 남기고 삼킨다 (저장소는 재시작 가속용이라 실패해도 REST 로 복구된다).
+ * 파일은 열 때 {@code max-bars} 개로 잘라낸다 (세션을 다시 열거나 재시작할 때마다 정리).
+ */
+@Component
+@Slf4j
+public class CandleStore {
+
+    private final boolean enabled;
+    private final Path root;
+    private final int maxBars;
+    private final Map<String, CandleFile> files = new ConcurrentHashMap<>();
+
+    public CandleStore(StoreProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.root = Paths.get(properties.getDir());
+        this.maxBars = properties.getMaxBars();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 저장된 최근 n 개. 파일이 없으면 빈 리스트 */
+    public List<Candle> tail(String symbol, TimeFrame tf, int n) {
+        CandleFile f = file(symbol, tf, false);
+        return f == null ? List.of() : f.tail(n);
+    }
+
+    public long lastCloseTime(String symbol, TimeFrame tf) {
+        CandleFile f = file(symbol, tf, false);
+        return f == null ? -1L : f.lastCloseTime();
+    }
+
+    public void append(String symbol, TimeFrame tf, long ot, long ct, double o, double h, double l, double c, double v) {
+        CandleFile f = file(symbol, tf, true);
+        if (f == null)
+            return;
+        try {
+            f.append(ot, ct, o, h, l, c, v);
+        } catch (IOException e) {
+            log.warn("Candle store append failed {} {}: {}", symbol, tf, e.getMessage());
+        }
+    }
+
+    /** closeTime 순으로 이어 붙인다 (이미 저장된 구간은 건너뜀) */
+    public void appendAll(String symbol, TimeFrame tf, List<Candle> candles) {
+        for (Candle c : candles)
+            append(symbol, tf, c.getOpenTime(), c.getCloseTime(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+    }
+
+    /** 심볼 하나의 파일을 닫고 매핑을 놓는다 (세션 종료 시) */
+    public void close(String symbol) {
+        final String prefix = symbol + '/';
+        files.entrySet().removeIf(e -> {
+            if (!e.getKey().startsWith(prefix))
+                return false;
+            try {
+                e.getValue().close();
+            } catch (IOException ex) {
+                log.warn("Candle store close failed {}: {}", e.getValue().path(), ex.getMessage());
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (CandleFile f : files.values()) {
+            try {
+                f.close();
+            } catch (IOException e) {
+                log.warn("Candle store close failed {}: {}", f.path(), e.getMessage());
+            }
+        }
+        files.clear();
+    }
+
+    private CandleFile file(String symbol, TimeFrame tf, boolean create) {
+        if (!enabled)
+            return null;
+        final String key = symbol + '/' + tf.timeFrame;
+        CandleFile f = files.get(key);
+        if (f != null)
+            return f;
+
+        Path path = root.resolve(symbol).resolve(tf.timeFrame + ".bin");
+        if (!create && !Files.exists(path))
+            return null;
+        try {
+            return files.computeIfAbsent(key, k -> {
+                try {
+                    return CandleFile.open(path, maxBars);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            log.warn("Candle store open failed {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
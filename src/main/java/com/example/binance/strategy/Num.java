@@ -0,0 +1,10 @@
+package com.example.binance.strategy;
+
+import com.example.binance.ws.SymbolSession;
+
+/** 규칙의 숫자 인자: 상수 또는 세션 StrategyParams 값 ({@code $rsiMid}) */
+@FunctionalInterface
+public interface Num {
+
+    double value(SymbolSession s);
+}
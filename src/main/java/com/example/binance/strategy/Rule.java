@@ -0,0 +1,13 @@
+package com.example.binance.strategy;
+
+import com.example.binance.ws.SymbolSession;
+
+/**
+ * 컴파일된 규칙 트리의 노드.
+ * 세션의 버퍼/IndicatorState 를 직접 읽으며 평가 중에 객체를 만들지 않는다 (mailbox 스레드).
+ */
+@FunctionalInterface
+public interface Rule {
+
+    boolean test(SymbolSession s);
+}
@@ -0,0 +1,331 @@
+package com.example.binance.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+import com.example.binance.dto.StrategyParams;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.indicator.IndicatorState;
+import com.example.binance.ws.CandleBuffer;
+import com.example.binance.ws.SymbolSession;
+
+/**
+ * 규칙 식 → {@link Rule} 트리 컴파일러. 파싱과 이름/인자 검사는 여기서 한 번만 하고,
+ * 결과 트리는 필드만 읽는 작은 노드들이라 평가 중 할당이 없다.
+ *
+ * <pre>
+ * rule  := name [ '(' arg { ',' arg } ')' ]
+ * arg   := rule | number | '$' param | timeframe      (timeframe: H1, M15, M5)
+ *
+ * 조합:    all(r...)  any(r...)  not(r)  score(n, r...)   n 개 이상 참
+ * 볼린저:  cross_mid_up  cross_mid_down                  직전 종가 ≤ 중심선 &lt; 종가 (반대는 대칭)
+ *          close_above_upper  close_below_lower           종가 &gt; 상단 / 종가 &lt; 하단
+ *          close_above_mid  close_below_mid               종가 ≥ 중심선 / 종가 ≤ 중심선
+ * RSI:     rsi_above(x)  rsi_below(x)                     rsi ≥ x / rsi ≤ x
+ *          rsi_recover_up(a, b)  rsi_recover_down(a, b)   직전 rsi &lt; a 이고 rsi ≥ b (반대는 대칭)
+ * 거래량:  volume_spike(k)                                 거래량 ≥ k × 평균 거래량
+ * EMA:     ema_above  ema_below                           EMA fast &gt; slow / fast &lt; slow
+ * </pre>
+ * 지표 규칙은 첫 인자로 타임프레임을 줄 수 있고 생략하면 컴파일할 때 받은 기본 타임프레임을 쓴다.
+ * 숫자 자리에 {@code $이름} 을 쓰면 평가 시 세션 {@link StrategyParams} 의 값을 읽는다 (파라미터 스윕 호환).
+ */
+public final class RuleCompiler {
+
+    private final String src;
+    private final TimeFrame defaultTf;
+    private int pos;
+
+    private RuleCompiler(String src, TimeFrame defaultTf) {
+        this.src = src;
+        this.defaultTf = defaultTf;
+    }
+
+    public static Rule compile(String expr, TimeFrame defaultTf) {
+        RuleCompiler c = new RuleCompiler(expr, defaultTf);
+        Rule rule = c.rule();
+        c.skipSpace();
+        if (c.pos < c.src.length())
+            throw c.error("unexpected '" + c.src.charAt(c.pos) + "'");
+        return rule;
+    }
+
+    /* ---------- 파서 ---------- */
+
+    private Rule rule() {
+        int at = skipSpace();
+        String name = ident();
+        if (name.isEmpty())
+            throw error("rule expected");
+        List<Object> args = new ArrayList<>();
+        if (peek('(')) {
+            pos++;
+            if (!peek(')')) {
+                do {
+                    args.add(arg());
+                } while (accept(','));
+            }
+            expect(')');
+        }
+        return build(name.toLowerCase(Locale.ROOT), args, at);
+    }
+
+    private Object arg() {
+        skipSpace();
+        if (pos >= src.length())
+            throw error("argument expected");
+        char ch = src.charAt(pos);
+        if (ch == '$') {
+            pos++;
+            int at = pos;
+            return param(ident(), at);
+        }
+        if (ch == '-' || ch == '.' || Character.isDigit(ch))
+            return number();
+
+        int mark = pos;
+        String word = ident();
+        skipSpace();
+        if (!peek('(')) {
+            for (TimeFrame tf : TimeFrame.values())
+                if (tf.name().equalsIgnoreCase(word))
+                    return tf;
+        }
+        pos = mark;
+        return rule();
+    }
+
+    private Num number() {
+        int start = pos;
+        while (pos < src.length() && "+-.0123456789eE".indexOf(src.charAt(pos)) >= 0)
+            pos++;
+        try {
+            double v = Double.parseDouble(src.substring(start, pos));
+            return s -> v;
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("bad number");
+        }
+    }
+
+    private String ident() {
+        int start = pos;
+        while (pos < src.length() && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_'))
+            pos++;
+        return src.substring(start, pos);
+    }
+
+    private int skipSpace() {
+        while (pos < src.length() && Character.isWhitespace(src.charAt(pos)))
+            pos++;
+        return pos;
+    }
+
+    private boolean peek(char ch) {
+        skipSpace();
+        return pos < src.length() && src.charAt(pos) == ch;
+    }
+
+    private boolean accept(char ch) {
+        if (!peek(ch))
+            return false;
+        pos++;
+        return true;
+    }
+
+    private void expect(char ch) {
+        if (!accept(ch))
+            throw error("'" + ch + "' expected");
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + pos + ": " + src);
+    }
+
+    /* ---------- 노드 생성 ---------- */
+
+    private Rule build(String name, List<Object> args, int at) {
+        switch (name) {
+            case "all" -> {
+                Rule[] rs = rules(name, args, 0, at);
+                return s -> {
+                    for (Rule r : rs)
+                        if (!r.test(s))
+                            return false;
+                    return true;
+                };
+            }
+            case "any" -> {
+                Rule[] rs = rules(name, args, 0, at);
+                return s -> {
+                    for (Rule r : rs)
+                        if (r.test(s))
+                            return true;
+                    return false;
+                };
+            }
+            case "not" -> {
+                Rule[] rs = rules(name, args, 0, at);
+                if (rs.length != 1)
+                    throw errorAt(at, "not(rule) takes one rule");
+                Rule r = rs[0];
+                return s -> !r.test(s);
+            }
+            case "score" -> {
+                if (args.isEmpty() || !(args.get(0) instanceof Num))
+                    throw errorAt(at, "score(n, rule...) needs a count first");
+                Num n = (Num) args.get(0);
+                Rule[] rs = rules(name, args, 1, at);
+                return s -> {
+                    int hits = 0;
+                    for (Rule r : rs)
+                        if (r.test(s))
+                            hits++;
+                    return hits >= n.value(s);
+                };
+            }
+            default -> {
+                return indicator(name, args, at);
+            }
+        }
+    }
+
+    private Rule indicator(String name, List<Object> args, int at) {
+        int i = 0;
+        TimeFrame tf = defaultTf;
+        if (!args.isEmpty() && args.get(0) instanceof TimeFrame t) {
+            tf = t;
+            i = 1;
+        }
+        Num[] n = nums(name, args, i, at);
+        final TimeFrame f = tf;
+
+        return switch (name) {
+            case "cross_mid_up" -> arity(name, n, 0, at, s -> {
+                CandleBuffer b = s.buffer(f);
+                int last = b.lastIndex();
+                double mid = s.indicators(f).bbMid();
+                return last >= 1 && b.close(last - 1) <= mid && b.close(last) > mid;
+            });
+            case "cross_mid_down" -> arity(name, n, 0, at, s -> {
+                CandleBuffer b = s.buffer(f);
+                int last = b.lastIndex();
+                double mid = s.indicators(f).bbMid();
+                return last >= 1 && b.close(last - 1) >= mid && b.close(last) < mid;
+            });
+            case "close_above_upper" -> arity(name, n, 0, at, s -> close(s, f) > s.indicators(f).bbUpper());
+            case "close_below_lower" -> arity(name, n, 0, at, s -> close(s, f) < s.indicators(f).bbLower());
+            case "close_above_mid" -> arity(name, n, 0, at, s -> close(s, f) >= s.indicators(f).bbMid());
+            case "close_below_mid" -> arity(name, n, 0, at, s -> close(s, f) <= s.indicators(f).bbMid());
+            case "ema_above" -> arity(name, n, 0, at, s -> {
+                IndicatorState st = s.indicators(f);
+                return st.emaFast() > st.emaSlow();
+            });
+            case "ema_below" -> arity(name, n, 0, at, s -> {
+                IndicatorState st = s.indicators(f);
+                return st.emaFast() < st.emaSlow();
+            });
+            case "rsi_above" -> {
+                Num x = one(name, n, at);
+                yield s -> s.indicators(f).rsi() >= x.value(s);
+            }
+            case "rsi_below" -> {
+                Num x = one(name, n, at);
+                yield s -> s.indicators(f).rsi() <= x.value(s);
+            }
+            case "rsi_recover_up" -> {
+                Num[] ab = two(name, n, at);
+                Num from = ab[0], to = ab[1];
+                yield s -> {
+                    IndicatorState st = s.indicators(f);
+                    return st.prevRsi() < from.value(s) && st.rsi() >= to.value(s);
+                };
+            }
+            case "rsi_recover_down" -> {
+                Num[] ab = two(name, n, at);
+                Num from = ab[0], to = ab[1];
+                yield s -> {
+                    IndicatorState st = s.indicators(f);
+                    return st.prevRsi() > from.value(s) && st.rsi() <= to.value(s);
+                };
+            }
+            case "volume_spike" -> {
+                Num k = one(name, n, at);
+                yield s -> {
+                    double avg = s.indicators(f).avgVolume();
+                    CandleBuffer b = s.buffer(f);
+                    return avg > 0 && b.volume(b.lastIndex()) >= k.value(s) * avg;
+                };
+            }
+            default -> throw errorAt(at, "unknown rule '" + name + "'");
+        };
+    }
+
+    private static double close(SymbolSession s, TimeFrame tf) {
+        CandleBuffer b = s.buffer(tf);
+        return b.close(b.lastIndex());
+    }
+
+    private Rule arity(String name, Num[] n, int expected, int at, Rule rule) {
+        if (n.length != expected)
+            throw errorAt(at, name + " takes " + expected + " number(s), got " + n.length);
+        return rule;
+    }
+
+    private Num one(String name, Num[] n, int at) {
+        arity(name, n, 1, at, null);
+        return n[0];
+    }
+
+    private Num[] two(String name, Num[] n, int at) {
+        arity(name, n, 2, at, null);
+        return n;
+    }
+
+    private Rule[] rules(String name, List<Object> args, int from, int at) {
+        if (args.size() <= from)
+            throw errorAt(at, name + " needs at least one rule");
+        Rule[] out = new Rule[args.size() - from];
+        for (int i = from; i < args.size(); i++) {
+            if (!(args.get(i) instanceof Rule r))
+                throw errorAt(at, name + " argument " + (i + 1) + " must be a rule");
+            out[i - from] = r;
+        }
+        return out;
+    }
+
+    private Num[] nums(String name, List<Object> args, int from, int at) {
+        Num[] out = new Num[args.size() - from];
+        for (int i = from; i < args.size(); i++) {
+            if (!(args.get(i) instanceof Num x))
+                throw errorAt(at, name + " argument " + (i + 1) + " must be a number");
+            out[i - from] = x;
+        }
+        return out;
+    }
+
+    private IllegalArgumentException errorAt(int at, String message) {
+        return new IllegalArgumentException(message + " at " + at + ": " + src);
+    }
+
+    /* $이름 → 세션 StrategyParams 값 */
+    private Num param(String name, int at) {
+        ToDoubleFunction<StrategyParams> getter = switch (name) {
+            case "h1LongRsi" -> StrategyParams::getH1LongRsi;
+            case "h1ShortRsi" -> StrategyParams::getH1ShortRsi;
+            case "h1MinScore" -> StrategyParams::getH1MinScore;
+            case "volSpike" -> StrategyParams::getVolSpike;
+            case "rsiMid" -> StrategyParams::getRsiMid;
+            case "rsiRecoverLong" -> StrategyParams::getRsiRecoverLong;
+            case "rsiRecoverShort" -> StrategyParams::getRsiRecoverShort;
+            case "rsiStrongLong" -> StrategyParams::getRsiStrongLong;
+            case "rsiStrongShort" -> StrategyParams::getRsiStrongShort;
+            case "stopBandMul" -> StrategyParams::getStopBandMul;
+            case "tp1BandMul" -> StrategyParams::getTp1BandMul;
+            case "bbK" -> StrategyParams::getBbK;
+            default -> throw errorAt(at, "unknown parameter '$" + name + "'");
+        };
+        return s -> getter.applyAsDouble(s.getParams());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.binance.strategy;
+
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.SymbolSession;
+
+/** {@link StrategyDefinition} 을 로드 시점에 한 번 컴파일한 전략. 트리거는 M15/M5 용 트리를 따로 만든다 */
+public final class RuleStrategy implements Strategy {
+
+    private static final TimeFrame[] TRIGGER_TFS = { TimeFrame.M15, TimeFrame.M5 };
+
+    public static final RuleStrategy DEFAULT = compile(StrategyDefinition.defaults());
+
+    private final String name;
+    private final Rule gateLong;
+    private final Rule gateShort;
+    private final Rule[] triggerLong = new Rule[TimeFrame.values().length];   // TimeFrame.ordinal() 별
+    private final Rule[] triggerShort = new Rule[TimeFrame.values().length];
+
+    private RuleStrategy(StrategyDefinition d) {
+        if (d.getName() == null || d.getName().isBlank())
+            throw new IllegalArgumentException("strategy name is required");
+        this.name = d.getName();
+        this.gateLong = compile(d, "gate-long", d.getGateLong(), TimeFrame.H1);
+        this.gateShort = compile(d, "gate-short", d.getGateShort(), TimeFrame.H1);
+        for (TimeFrame tf : TRIGGER_TFS) {
+            triggerLong[tf.ordinal()] = compile(d, "trigger-long", d.getTriggerLong(), tf);
+            triggerShort[tf.ordinal()] = compile(d, "trigger-short", d.getTriggerShort(), tf);
+        }
+    }
+
+    public static RuleStrategy compile(StrategyDefinition d) {
+        return new RuleStrategy(d);
+    }
+
+    private static Rule compile(StrategyDefinition d, String field, String expr, TimeFrame tf) {
+        if (expr == null || expr.isBlank())
+            throw new IllegalArgumentException("strategy " + d.getName() + ": " + field + " is required");
+        try {
+            return RuleCompiler.compile(expr, tf);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("strategy " + d.getName() + " " + field + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean gateLong(SymbolSession s) {
+        return gateLong.test(s);
+    }
+
+    @Override
+    public boolean gateShort(SymbolSession s) {
+        return gateShort.test(s);
+    }
+
+    @Override
+    public boolean triggerLong(SymbolSession s, TimeFrame tf) {
+        Rule r = triggerLong[tf.ordinal()];
+        return r != null && r.test(s);
+    }
+
+    @Override
+    public boolean triggerShort(SymbolSession s, TimeFrame tf) {
+        Rule r = triggerShort[tf.ordinal()];
+        return r != null && r.test(s);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleStrategy[" + name + "]";
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.binance.strategy;
+
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.SymbolSession;
+
+/**
+ * 전략 SPI. H1 마감마다 게이트(환경)를, M15/M5 마감마다 진입 트리거를 판정한다.
+ * 시나리오 생성/추적/알림은 CalculateService 가 전략마다 따로 들고 있는 상태로 처리하므로
+ * 여러 전략이 같은 세션 버퍼와 지표를 공유하며 나란히 돈다.
+ * 구현은 세션 상태를 바꾸면 안 되고 평가 중 할당을 피해야 한다 (mailbox 스레드, 마감봉마다 호출).
+ */
+public interface Strategy {
+
+    String DEFAULT_NAME = "default";
+
+    /** 알림/시나리오 이벤트에 붙는 이름 (전략끼리 유일) */
+    String name();
+
+    /** H1 환경: LONG 진입 허용 */
+    boolean gateLong(SymbolSession s);
+
+    /** H1 환경: SHORT 진입 허용 */
+    boolean gateShort(SymbolSession s);
+
+    /** tf(M15/M5) 마지막 마감봉 기준 LONG 트리거 */
+    boolean triggerLong(SymbolSession s, TimeFrame tf);
+
+    /** tf(M15/M5) 마지막 마감봉 기준 SHORT 트리거 */
+    boolean triggerShort(SymbolSession s, TimeFrame tf);
+}
@@ -0,0 +1,36 @@
+package com.example.binance.strategy;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 규칙 정의 (binance.strategy.definitions[*]). 각 식은 {@link RuleCompiler} 문법을 따른다.
+ * 게이트는 타임프레임을 생략하면 H1, 트리거는 평가하는 타임프레임(M15, M5)으로 묶인다.
+ */
+@Getter
+@Setter
+@ToString
+public class StrategyDefinition {
+
+    private String name;
+    private String gateLong;
+    private String gateShort;
+    private String triggerLong;
+    private String triggerShort;
+
+    /** 기존 하드코딩 로직과 같은 규칙 (임계값은 세션 StrategyParams 를 읽는다) */
+    public static StrategyDefinition defaults() {
+        StrategyDefinition d = new StrategyDefinition();
+        d.setName(Strategy.DEFAULT_NAME);
+        // H1: EMA 정배열 / RSI / BB 중심선 위 중 h1MinScore 개 이상
+        d.setGateLong("score($h1MinScore, ema_above, rsi_above($h1LongRsi), close_above_mid)");
+        d.setGateShort("score($h1MinScore, ema_below, rsi_below($h1ShortRsi), close_below_mid)");
+        // 중심선 재탈환/상단 돌파 & (볼륨 스파이크 | RSI 회복 | RSI 강세)
+        d.setTriggerLong("all(any(cross_mid_up, close_above_upper), "
+                + "any(volume_spike($volSpike), rsi_recover_up($rsiRecoverLong, $rsiMid), rsi_above($rsiStrongLong)))");
+        d.setTriggerShort("all(any(cross_mid_down, close_below_lower), "
+                + "any(volume_spike($volSpike), rsi_recover_down($rsiRecoverShort, $rsiMid), rsi_below($rsiStrongShort)))");
+        return d;
+    }
+}
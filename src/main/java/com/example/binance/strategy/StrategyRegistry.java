@@ -0,0 +1,69 @@
+package com.example.binance.strategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.binance.properties.StrategyProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 세션마다 나란히 돌릴 전략 목록. 순서가 곧 세션 안 전략 상태의 인덱스다.
+ * 기본 전략 → binance.strategy.definitions (시작 시 컴파일, 잘못된 규칙이면 기동 실패) → {@link Strategy} 빈 순.
+ */
+@Component
+@Slf4j
+public class StrategyRegistry {
+
+    /** 알림 중복 제거 키에 인덱스를 넣으므로 (DedupWindow payload 상위 8bit) */
+    public static final int MAX_STRATEGIES = 256;
+    /** scenario_event.strategy 컬럼 길이. 넘으면 그 전략 이벤트가 든 배치가 통째로 실패한다 */
+    public static final int MAX_NAME_LENGTH = 32;
+
+    private final List<Strategy> strategies;
+
+    @Autowired
+    public StrategyRegistry(StrategyProperties properties, ObjectProvider<Strategy> beans) {
+        this(collect(properties, beans));
+        log.info("Strategies: {}", strategies.stream().map(Strategy::name).toList());
+    }
+
+    private StrategyRegistry(List<Strategy> strategies) {
+        if (strategies.isEmpty())
+            throw new IllegalArgumentException("at least one strategy is required");
+        if (strategies.size() > MAX_STRATEGIES)
+            throw new IllegalArgumentException("too many strategies: " + strategies.size());
+        Set<String> names = new HashSet<>();
+        for (Strategy s : strategies) {
+            if (s.name().length() > MAX_NAME_LENGTH)
+                throw new IllegalArgumentException("strategy name longer than " + MAX_NAME_LENGTH + ": " + s.name());
+            if (!names.add(s.name()))
+                throw new IllegalArgumentException("duplicate strategy name: " + s.name());
+        }
+        this.strategies = List.copyOf(strategies);
+    }
+
+    public static StrategyRegistry of(Strategy... strategies) {
+        return new StrategyRegistry(List.of(strategies));
+    }
+
+    private static List<Strategy> collect(StrategyProperties properties, ObjectProvider<Strategy> beans) {
+        List<Strategy> out = new ArrayList<>();
+        if (properties.isIncludeDefault())
+            out.add(RuleStrategy.DEFAULT);
+        for (StrategyDefinition d : properties.getDefinitions())
+            out.add(RuleStrategy.compile(d));
+        beans.orderedStream().forEach(out::add);
+        return out;
+    }
+
+    public List<Strategy> strategies() {
+        return strategies;
+    }
+}
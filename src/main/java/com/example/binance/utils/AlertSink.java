@@ -0,0 +1,8 @@
+package com.example.binance.utils;
+
+/** 알림 출력 지점. 운영에서는 {@link Notifier}(텔레그램), 백테스트에서는 메모리 캡처 */
+public interface AlertSink {
+
+    /** 메시지 전송 요청. 받아들였으면 true */
+    boolean send(String message);
+}
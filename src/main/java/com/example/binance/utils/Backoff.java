@@ -0,0 +1,33 @@
+package com.example.binance.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지수 백오프 + equal jitter. n 번째 대기는 {@code [d/2, d]} 구간의 임의 값이며 d = min(max, base * 2^n).
+ * 여러 연결이 동시에 끊겨도 재연결 시점이 흩어진다.
+ */
+public class Backoff {
+
+    private final long baseMs;
+    private final long maxMs;
+    private int attempt;
+
+    public Backoff(long baseMs, long maxMs) {
+        this.baseMs = baseMs;
+        this.maxMs = maxMs;
+    }
+
+    public synchronized long nextDelayMs() {
+        long d = Math.min(maxMs, baseMs << Math.min(attempt, 30));
+        attempt++;
+        return d / 2 + ThreadLocalRandom.current().nextLong(d / 2 + 1);
+    }
+
+    public synchronized int attempts() {
+        return attempt;
+    }
+
+    public synchronized void reset() {
+        attempt = 0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.binance.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 메모리 상한과 TTL 이 있는 long 키 중복 제거 집합.
+ * 키는 {@link #key(int, int, int, long)} 로 심볼 id/타임프레임/종류/시간을 하나의 long 에 묶는다.
+ * lock striping 으로 스트라이프마다 open addressing 해시 테이블과 삽입 순서 링을 두고,
+ * TTL 이 지나거나 용량을 넘긴 가장 오래된 키부터 제거한다.
+ */
+public class DedupWindow {
+
+    public static final int KIND_LONG = 0;
+    public static final int KIND_SHORT = 1;
+    public static final int KIND_EXIT = 2;
+    public static final int KIND_HIT = 3;
+
+    private static final int SYMBOL_BITS = 22;
+    private static final int TF_BITS = 3;
+    private static final int KIND_BITS = 3;
+    private static final int PAYLOAD_BITS = 64 - SYMBOL_BITS - TF_BITS - KIND_BITS; // 36
+    private static final long PAYLOAD_MASK = (1L << PAYLOAD_BITS) - 1;
+
+    private final Stripe[] stripes;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final LongAdder evicted = new LongAdder();
+
+    public DedupWindow(int capacity, long ttl, TimeUnit unit) {
+        this(capacity, unit.toMillis(ttl), 16, System::currentTimeMillis);
+    }
+
+    public DedupWindow(int capacity, long ttlMs, int stripeCount, LongSupplier clock) {
+        int n = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[n];
+        int perStripe = Math.max(1, capacity / n);
+        for (int i = 0; i < n; i++)
+            stripes[i] = new Stripe(perStripe);
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /** symbolId(22bit) | timeframe(3bit) | kind(3bit) | payload(36bit, 예: openTime/분 또는 txId) */
+    public static long key(int symbolId, int timeframe, int kind, long payload) {
+        return ((long) symbolId << (64 - SYMBOL_BITS))
+                | ((long) timeframe << (PAYLOAD_BITS + KIND_BITS))
+                | ((long) kind << PAYLOAD_BITS)
+                | (payload & PAYLOAD_MASK);
+    }
+
+    /** 처음 보는 키(또는 TTL 이 지난 키)면 추가하고 true */
+    public boolean add(long key) {
+        if (key == 0L)
+            throw new IllegalArgumentException("key 0 is reserved");
+        long h = mix(key);
+        Stripe s = stripes[(int) (h >>> 58) & (stripes.length - 1)];
+        return s.add(key, h, clock.getAsLong());
+    }
+
+    public int size() {
+        int n = 0;
+        for (Stripe s : stripes)
+            n += s.count();
+        return n;
+    }
+
+    public long evicted() {
+        return evicted.sum();
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private final class Stripe {
+        private final int capacity;
+        private final long[] table;     // 0 = 빈 슬롯
+        private final int mask;
+        private final long[] ringKeys;  // 삽입 순서 (가장 오래된 것이 head)
+        private final long[] ringTimes;
+        private int head;
+        private int count;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            int size = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            this.table = new long[size];
+            this.mask = size - 1;
+            this.ringKeys = new long[capacity];
+            this.ringTimes = new long[capacity];
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized boolean add(long key, long h, long now) {
+            expire(now);
+            int i = (int) h & mask;
+            while (table[i] != 0L) {
+                if (table[i] == key)
+                    return false;
+                i = (i + 1) & mask;
+            }
+            if (count == capacity) {
+                evictOldest();
+                // 삭제로 슬롯 배치가 바뀌었을 수 있으므로 다시 찾는다
+                i = (int) h & mask;
+                while (table[i] != 0L)
+                    i = (i + 1) & mask;
+            }
+            table[i] = key;
+            int tail = head + count;
+            if (tail >= capacity)
+                tail -= capacity;
+            ringKeys[tail] = key;
+            ringTimes[tail] = now;
+            count++;
+            return true;
+        }
+
+        private void expire(long now) {
+            long limit = now - ttlMs;
+            while (count > 0 && ringTimes[head] <= limit)
+                evictOldest();
+        }
+
+        private void evictOldest() {
+            remove(ringKeys[head]);
+            head = head + 1 == capacity ? 0 : head + 1;
+            count--;
+            evicted.increment();
+        }
+
+        /** linear probing 삭제 (backward shift, 툼스톤 없음) */
+        private void remove(long key) {
+            int i = (int) mix(key) & mask;
+            while (table[i] != key) {
+                if (table[i] == 0L)
+                    return;
+                i = (i + 1) & mask;
+            }
+            table[i] = 0L;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                long kj = table[j];
+                if (kj == 0L)
+                    return;
+                int k = (int) mix(kj) & mask;
+                boolean inRange = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+                if (!inRange) {
+                    table[i] = kj;
+                    table[j] = 0L;
+                    i = j;
+                }
+            }
+        }
+    }
+}
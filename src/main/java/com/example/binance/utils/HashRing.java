@@ -0,0 +1,44 @@
+package com.example.binance.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일관 해시 링. 멤버마다 가상 노드를 링에 뿌리고 키는 시계 방향으로 처음 만나는 노드의 멤버가 맡는다.
+ * 멤버가 하나 빠지거나 늘어도 그 멤버 몫의 키만 옮겨 간다.
+ * 해시는 JVM 과 무관하게 같은 값이 나와야 하므로 {@link String#hashCode()} 대신 UTF-8 바이트의 FNV-1a + fmix64.
+ */
+public final class HashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public HashRing(Collection<String> members, int virtualNodes) {
+        for (String m : members)
+            for (int i = 0; i < virtualNodes; i++)
+                ring.putIfAbsent(hash(m + '#' + i), m);
+    }
+
+    /** key 를 맡는 멤버, 멤버가 없으면 null */
+    public String owner(String key) {
+        if (ring.isEmpty())
+            return null;
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(key));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,36 +1,215 @@
 package com.example.binance.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
 import com.example.binance.properties.TelegramProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.example.binance.config.WebClientConfig.postSend;
 
-
+/**
+ * 텔레그램 알림 파이프라인.
+ * {@link #send(String)} 는 bounded 큐에 넣고 바로 반환하며, 전용 디스패처 스레드 하나가
+ * 토큰 버킷({@code telegram.rate-per-second}/{@code burst}, 기본은 개인 초당 1건·그룹 분당 20건)으로 속도를 맞춰 순서대로 보낸다.
+ * 토큰을 기다리는 동안 쌓인 메시지는 한 메시지로 합치고, 실패 시 백오프(429 는 retry_after)로 재시도한다.
+ * 디스패처는 전송 중 블로킹되므로 가상 스레드 모드(Java 21+)에서는 가상 스레드로 띄운다.
+ */
 @Component
 @Slf4j
-@RequiredArgsConstructor
-public class Notifier {
+public class Notifier implements AlertSink, MeterBinder {
+
+    static final int QUEUE_CAPACITY = 1_000;
+    static final int MAX_TEXT = 4_096;          // Telegram sendMessage 최대 길이
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_BACKOFF_MS = 1_000L;
+    static final String SEPARATOR = "\n\n";
+
+    /* 한 메시지 전송 (테스트에서 바꿔 끼운다) */
+    interface Transport {
+        void post(String text) throws Exception;
+    }
+
+    /* 백오프 대기 (테스트에서 바꿔 끼운다) */
+    interface Sleeper {
+        void sleep(long ms) throws InterruptedException;
+    }
+
+    private final Transport transport;
+    private final TokenBucket limiter;
+    private final Sleeper sleeper;
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ObjectMapper om = new ObjectMapper();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @Autowired
+    public Notifier(TelegramProperties telegramProperties) {
+        this(text -> postSend(telegramProperties.getDomain(),
+                        null,
+                        Map.of("chat_id", String.valueOf(telegramProperties.getChatId()), "text", text),
+                        null,
+                        new ParameterizedTypeReference<String>(){}),
+                new TokenBucket(telegramProperties.effectiveBurst(), telegramProperties.effectiveRatePerSecond()),
+                Thread::sleep);
+    }
+
+    Notifier(Transport transport, TokenBucket limiter, Sleeper sleeper) {
+        this.transport = transport;
+        this.limiter = limiter;
+        this.sleeper = sleeper;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        dispatcher = Threads.factory("telegram-notifier-", virtualThreads).newThread(this::dispatchLoop);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null)
+            dispatcher.interrupt();
+    }
+
+    /** 비동기 전송 요청. 큐가 가득 차면 버리고 false (호출 스레드를 막지 않음) */
+    @Override
+    public boolean send(final String message) {
+        if (message == null || message.isEmpty())
+            return false;
+        if (!queue.offer(message)) {
+            dropped.incrementAndGet();
+            log.warn("Notifier queue full, dropped: {}", message);
+            return false;
+        }
+        return true;
+    }
+
+    public int queueDepth() { return queue.size(); }
+    public long sentCount() { return sent.get(); }
+    public long failureCount() { return failures.get(); }
+    public long droppedCount() { return dropped.get(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("binance.notifier.queue.depth", this, Notifier::queueDepth).register(registry);
+        FunctionCounter.builder("binance.notifier.sent", this, Notifier::sentCount).register(registry);
+        FunctionCounter.builder("binance.notifier.failures", this, Notifier::failureCount).register(registry);
+        FunctionCounter.builder("binance.notifier.dropped", this, Notifier::droppedCount).register(registry);
+    }
 
-    private final TelegramProperties telegramProperties;
+    private void dispatchLoop() {
+        List<String> batch = new ArrayList<>();
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null)
+                    continue;
+                limiter.acquire();
 
-    public void send(final String message){
+                // 토큰을 기다리는 동안 쌓인 메시지를 순서대로 합친다. 합친 메시지가 여럿이면 하나마다 토큰을 쓴다
+                batch.clear();
+                batch.add(first);
+                queue.drainTo(batch);
+                List<String> texts = merge(batch);
+                for (int i = 0; i < texts.size(); i++) {
+                    if (i > 0)
+                        limiter.acquire();
+                    deliver(texts.get(i));
+                }
 
-        final String payload = String.format("{\"chat_id\":\"%s\",\"text\":\"%s\"}", 
-                                            telegramProperties.getChatId(), 
-                                            message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Notifier dispatch error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** 최대 길이 안에서 메시지를 이어 붙인다 (순서 유지) */
+    static List<String> merge(List<String> messages) {
+        List<String> out = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (String m : messages) {
+            if (m.length() > MAX_TEXT)
+                m = m.substring(0, MAX_TEXT);
+            if (sb.length() > 0 && sb.length() + SEPARATOR.length() + m.length() > MAX_TEXT) {
+                out.add(sb.toString());
+                sb.setLength(0);
+            }
+            if (sb.length() > 0)
+                sb.append(SEPARATOR);
+            sb.append(m);
+        }
+        if (sb.length() > 0)
+            out.add(sb.toString());
+        return out;
+    }
+
+    void deliver(String text) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            long waitMs = BASE_BACKOFF_MS << (attempt - 1);
+            try {
+                transport.post(text);
+                sent.incrementAndGet();
+                return;
+            } catch (WebClientResponseException e) {
+                if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    waitMs = Math.max(waitMs, retryAfterMs(e.getResponseBodyAsString()));
+                    limiter.drain();
+                } else if (e.getStatusCode().is4xxClientError()) {
+                    log.error("Telegram rejected message ({}): {}", e.getStatusCode(), e.getResponseBodyAsString());
+                    break; // 재시도해도 같은 결과
+                }
+                log.warn("Telegram send failed ({}), attempt {}/{}", e.getStatusCode(), attempt, MAX_ATTEMPTS);
+            } catch (Exception e) {
+                log.warn("Telegram send error: {}, attempt {}/{}", e.getMessage(), attempt, MAX_ATTEMPTS);
+            }
+            if (attempt < MAX_ATTEMPTS)   // 마지막 시도 뒤에는 기다리지 않는다
+                sleeper.sleep(waitMs);
+        }
+        failures.incrementAndGet();
+        log.error("ERROR : telegram message dropped after retries");
+    }
 
+    private long retryAfterMs(String body) {
         try {
-            postSend(telegramProperties.getDomain(),
-                    null,
-                    payload,
-                    null,
-                    new ParameterizedTypeReference<String>(){});
+            JsonNode retry = om.readTree(body).path("parameters").path("retry_after");
+            return retry.isNumber() ? retry.asLong() * 1000L : 0L;
         } catch (Exception e) {
-            log.error("ERROR : {}", e.getMessage());
+            return 0L;
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.example.binance.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** 심볼 → 1부터 시작하는 compact int id (프로세스 수명 동안 고정) */
+public final class SymbolIds {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    private SymbolIds() {}
+
+    public static int of(String symbol) {
+        return IDS.computeIfAbsent(symbol.toUpperCase(), s -> SEQ.incrementAndGet());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.binance.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * 스레드 생성 모드.
+ * 가상 스레드는 Java 21+ 에서만 쓸 수 있으므로 (Spring 의 multi-release {@link VirtualThreadTaskExecutor} 경유)
+ * Java 17 빌드에서는 요청해도 플랫폼 데몬 스레드로 대체한다.
+ */
+public final class Threads {
+
+    private Threads() {
+    }
+
+    /** 현재 JVM 이 가상 스레드를 지원하는지 */
+    public static boolean virtualSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /** virtual 이고 지원되면 가상 스레드, 아니면 {@code prefix + 순번} 이름의 데몬 플랫폼 스레드 */
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual && virtualSupported())
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
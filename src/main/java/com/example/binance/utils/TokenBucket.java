@@ -0,0 +1,57 @@
+package com.example.binance.utils;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 단순 토큰 버킷. {@code capacity} 만큼 버스트를 허용하고 초당 {@code ratePerSecond} 개씩 채운다.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double ratePerSecond) {
+        this(capacity, ratePerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(double capacity, double ratePerSecond, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    /** 토큰 하나를 바로 쓸 수 있으면 소비하고 0, 아니면 다음 토큰까지 기다려야 할 나노초 */
+    public synchronized long tryConsume() {
+        refill();
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0L;
+        }
+        return (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+    }
+
+    /** 토큰이 생길 때까지 호출 스레드를 재운다 (디스패처 스레드 전용) */
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryConsume()) > 0L)
+            Thread.sleep(Math.max(1L, wait / 1_000_000L));
+    }
+
+    /** 서버가 지정한 대기시간 동안 토큰을 비운다 (429 retry_after 등) */
+    public synchronized void drain() {
+        refill();
+        tokens = 0.0;
+    }
+}
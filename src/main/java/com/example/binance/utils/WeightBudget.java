@@ -0,0 +1,71 @@
+package com.example.binance.utils;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Binance 요청 가중치(분당) 로컬 예산. 창은 거래소와 같이 UTC 분 경계로 나뉜다.
+ * 응답 헤더의 사용량이 로컬 추정보다 크면 그 값을 따르고 (같은 IP 의 다른 프로세스 포함),
+ * 429/418 을 받으면 Retry-After 까지 모든 요청을 멈춘다.
+ */
+public class WeightBudget {
+
+    static final long WINDOW_MS = 60_000L;
+
+    private final int limit;
+    private final LongSupplier clock;
+
+    private long windowStart;
+    private int used;
+    private long blockedUntil;
+
+    public WeightBudget(int limitPerMinute, LongSupplier clock) {
+        this.limit = limitPerMinute;
+        this.clock = clock;
+    }
+
+    /** 바로 보낼 수 있으면 가중치를 잡고 0, 아니면 다시 시도할 때까지 기다릴 ms */
+    public synchronized long tryReserve(int weight) {
+        long now = clock.getAsLong();
+        if (now < blockedUntil)
+            return blockedUntil - now;
+        roll(now);
+        // 한 요청이 한도보다 무거우면 빈 창에서는 보낸다 (영원히 막히지 않도록)
+        if (used + weight <= limit || used == 0) {
+            used += weight;
+            return 0L;
+        }
+        return windowStart + WINDOW_MS - now;
+    }
+
+    /** 응답 헤더 X-MBX-USED-WEIGHT-1M 반영 */
+    public synchronized void observe(int serverUsed) {
+        roll(clock.getAsLong());
+        used = Math.max(used, serverUsed);
+    }
+
+    /** 429/418: retryAfterMs 동안 전부 멈춤 */
+    public synchronized void block(long retryAfterMs) {
+        blockedUntil = Math.max(blockedUntil, clock.getAsLong() + retryAfterMs);
+    }
+
+    public synchronized int used() {
+        roll(clock.getAsLong());
+        return used;
+    }
+
+    public synchronized long blockedUntil() {
+        return blockedUntil;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    private void roll(long now) {
+        long start = now - Math.floorMod(now, WINDOW_MS);
+        if (start != windowStart) {
+            windowStart = start;
+            used = 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.binance.ws;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+
+/**
+ * 하위 타임프레임 마감봉으로 상위 타임프레임 봉을 만든다.
+ * 상태를 따로 두지 않고 세션의 base {@link CandleBuffer} 에서 해당 구간 봉을 모아 합치므로
+ * 부트스트랩 직후에도 별도 시딩이 필요 없다. 구간의 base 봉이 하나라도 빠지면 INCOMPLETE 로 알린다.
+ */
+public final class CandleAggregator {
+
+    public enum Result { NONE, CLOSED, INCOMPLETE }
+
+    public interface Listener {
+        /** 로컬에서 합성된 상위 봉 (평가 후 호출) */
+        void closed(TimeFrame tf, Candle candle);
+
+        /** 구간 경계에 도달했지만 base 봉이 모자라 합성하지 못함 */
+        default void incomplete(TimeFrame tf, long openTime) {}
+    }
+
+    private CandleAggregator() {}
+
+    /** base 로 합성할 수 있는 상위 타임프레임, 긴 것부터 (H1 → M15) */
+    public static List<TimeFrame> targetsOf(TimeFrame base) {
+        List<TimeFrame> out = new ArrayList<>();
+        for (TimeFrame tf : TimeFrame.values())
+            if (tf.millis > base.millis && tf.millis % base.millis == 0)
+                out.add(tf);
+        out.sort(Comparator.comparingLong((TimeFrame tf) -> tf.millis).reversed());
+        return out;
+    }
+
+    /** 버퍼의 마지막 base 봉이 target 구간의 마지막 봉이면 그 구간을 합쳐 out 에 채운다 */
+    public static Result closeIfBoundary(CandleBuffer buf, TimeFrame base, TimeFrame target, Candle out) {
+        if (buf.size() == 0)
+            return Result.NONE;
+        int last = buf.lastIndex();
+        long bucketOpen = Math.floorDiv(buf.openTime(last), target.millis) * target.millis;
+        if (buf.closeTime(last) != bucketOpen + target.millis - 1)
+            return Result.NONE;
+        return aggregate(buf, base, target, bucketOpen, out) ? Result.CLOSED : Result.INCOMPLETE;
+    }
+
+    /** [bucketOpen, bucketOpen + target) 구간의 base 봉을 합친다. 구간의 봉이 모두 있을 때만 true */
+    public static boolean aggregate(CandleBuffer buf, TimeFrame base, TimeFrame target, long bucketOpen, Candle out) {
+        final int expected = (int) (target.millis / base.millis);
+        final long end = bucketOpen + target.millis;
+
+        int first = -1, lastIn = -1, n = 0;
+        for (int i = buf.lastIndex(); i >= 0; i--) {
+            long ot = buf.openTime(i);
+            if (ot >= end)
+                continue;
+            if (ot < bucketOpen)
+                break;
+            if (lastIn < 0)
+                lastIn = i;
+            first = i;
+            n++;
+        }
+        if (n != expected)
+            return false;
+
+        double high = Double.NEGATIVE_INFINITY, low = Double.POSITIVE_INFINITY, volume = 0.0;
+        for (int i = first; i <= lastIn; i++) {
+            high = Math.max(high, buf.high(i));
+            low = Math.min(low, buf.low(i));
+            volume += buf.volume(i);
+        }
+        out.setOpenTime(bucketOpen);
+        out.setCloseTime(end - 1);
+        out.setOpen(buf.open(first));
+        out.setHigh(high);
+        out.setLow(low);
+        out.setClose(buf.close(lastIn));
+        out.setVolume(volume);
+        return true;
+    }
+}
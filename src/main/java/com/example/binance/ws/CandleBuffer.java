@@ -0,0 +1,124 @@
+package com.example.binance.ws;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import com.example.binance.dto.Candle;
+
+/**
+ * 고정 용량 캔들 링버퍼 (struct-of-arrays).
+ * openTime/closeTime 과 OHLCV 를 병렬 primitive 배열로 보관하며 가득 차면 가장 오래된 봉을 덮어쓴다.
+ * 인덱스 0 은 가장 오래된 봉, {@link #lastIndex()} 는 가장 최근 봉이다.
+ * 쓰기는 세션 소유 스레드 하나만 수행한다고 가정한다.
+ */
+public class CandleBuffer {
+
+    private final int capacity;
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+
+    private int head;
+    private volatile int size;
+
+    public CandleBuffer(int capacity) {
+        this.capacity = capacity;
+        this.openTime = new long[capacity];
+        this.closeTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+    }
+
+    /** closeTime 이 마지막 봉보다 새로울 때만 추가 (중복/역순은 false) */
+    public boolean append(long ot, long ct, double o, double h, double l, double c, double v) {
+        int n = size;
+        if (n > 0 && closeTime[slot(n - 1)] >= ct)
+            return false;
+
+        int s;
+        if (n < capacity) {
+            s = slot(n);
+            n++;
+        } else {
+            s = head;
+            head = head + 1 == capacity ? 0 : head + 1;
+        }
+        openTime[s] = ot;
+        closeTime[s] = ct;
+        open[s] = o;
+        high[s] = h;
+        low[s] = l;
+        close[s] = c;
+        volume[s] = v;
+        size = n;
+        return true;
+    }
+
+    public boolean append(Candle c) {
+        return append(c.getOpenTime(), c.getCloseTime(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private int slot(int i) {
+        int s = head + i;
+        return s >= capacity ? s - capacity : s;
+    }
+
+    public int capacity() { return capacity; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int lastIndex() { return size - 1; }
+
+    public long openTime(int i) { return openTime[slot(i)]; }
+    public long closeTime(int i) { return closeTime[slot(i)]; }
+    public double open(int i) { return open[slot(i)]; }
+    public double high(int i) { return high[slot(i)]; }
+    public double low(int i) { return low[slot(i)]; }
+    public double close(int i) { return close[slot(i)]; }
+    public double volume(int i) { return volume[slot(i)]; }
+
+    public long lastCloseTime() {
+        int n = size;
+        return n == 0 ? -1L : closeTime[slot(n - 1)];
+    }
+
+    /** i 번째 봉을 {@link Candle} 로 복사 (지표 검증, 외부 API 용) */
+    public Candle get(int i) {
+        int s = slot(i);
+        return new Candle(openTime[s], closeTime[s], open[s], high[s], low[s], close[s], volume[s]);
+    }
+
+    /** 최근 n 개 봉에 대한 복사 없는 읽기 전용 뷰 (요소 접근 시에만 Candle 생성) */
+    public List<Candle> tail(int n) {
+        final int count = Math.min(n, size);
+        final int from = size - count;
+        return new AbstractList<Candle>() {
+            @Override
+            public Candle get(int index) {
+                if (index < 0 || index >= count)
+                    throw new IndexOutOfBoundsException(index);
+                return CandleBuffer.this.get(from + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    public List<Candle> asList() {
+        return tail(size);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.binance.ws;
+
+import com.example.binance.enums.TimeFrame;
+
+/**
+ * 디코딩된 kline 프레임. {@link KlineFrameDecoder} 가 프레임마다 재사용하는 가변 객체이므로
+ * 다른 스레드로 넘길 때는 필요한 값만 복사한다.
+ */
+public final class KlineFrame {
+    public String stream;      // "ethusdt@kline_5m" (디코더가 intern 한 인스턴스)
+    public long eventTime;     // data.E
+    public TimeFrame timeFrame;
+    public long openTime;
+    public long closeTime;
+    public double open;
+    public double high;
+    public double low;
+    public double close;
+    public double volume;
+    public boolean isFinal;
+
+    void reset() {
+        stream = null;
+        eventTime = 0L;
+        timeFrame = null;
+        openTime = 0L;
+        closeTime = 0L;
+        open = high = low = close = volume = 0.0;
+        isFinal = false;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.binance.ws;
+
+import java.io.IOException;
+
+import com.example.binance.enums.TimeFrame;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * combined-stream kline 프레임용 스트리밍 디코더.
+ * JsonNode 트리를 만들지 않고 {@code i,t,T,o,h,l,c,v,x} 를 primitive 필드로 바로 읽으며,
+ * {@code x=false} 를 만나면 나머지를 건너뛰고 바로 반환한다.
+ * 가격 문자열은 중간 String 없이 char 버퍼에서 직접 파싱한다.
+ * 스레드당 하나씩 사용한다 (thread-safe 아님).
+ */
+public final class KlineFrameDecoder {
+
+    public enum Result { FINAL, NON_FINAL, IGNORED }
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final double[] POW10 = new double[23];
+    private static final long MAX_EXACT = 1L << 53;
+
+    static {
+        double p = 1.0;
+        for (int i = 0; i < POW10.length; i++) {
+            POW10[i] = p;
+            p *= 10.0;
+        }
+    }
+
+    // stream 이름 intern 캐시 (같은 스트림이면 같은 String 인스턴스 → 라우팅 맵 조회 시 할당 없음)
+    private final String[] streamCache = new String[1024];
+
+    public Result decode(String text, KlineFrame f) throws IOException {
+        f.reset();
+        try (JsonParser p = FACTORY.createParser(text)) {
+            if (p.nextToken() != JsonToken.START_OBJECT)
+                return Result.IGNORED;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken t = p.nextToken();
+                if ("stream".equals(name) && t == JsonToken.VALUE_STRING) {
+                    f.stream = intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                } else if ("data".equals(name) && t == JsonToken.START_OBJECT) {
+                    return readData(p, f);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return Result.IGNORED;
+    }
+
+    private Result readData(JsonParser p, KlineFrame f) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken t = p.nextToken();
+            if ("E".equals(name)) {
+                f.eventTime = p.getLongValue();
+            } else if ("k".equals(name) && t == JsonToken.START_OBJECT) {
+                return readKline(p, f);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return Result.IGNORED;
+    }
+
+    private Result readKline(JsonParser p, KlineFrame f) throws IOException {
+        boolean sawFinal = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken t = p.nextToken();
+            if (name.length() != 1) {
+                p.skipChildren();
+                continue;
+            }
+            switch (name.charAt(0)) {
+                case 't' -> f.openTime = p.getLongValue();
+                case 'T' -> f.closeTime = p.getLongValue();
+                case 'i' -> f.timeFrame = interval(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                case 'o' -> f.open = number(p, t);
+                case 'h' -> f.high = number(p, t);
+                case 'l' -> f.low = number(p, t);
+                case 'c' -> f.close = number(p, t);
+                case 'v' -> f.volume = number(p, t);
+                case 'x' -> {
+                    sawFinal = true;
+                    f.isFinal = t == JsonToken.VALUE_TRUE;
+                    if (!f.isFinal)
+                        return Result.NON_FINAL;   // ✅ 미마감 봉은 여기서 중단
+                }
+                default -> p.skipChildren();
+            }
+        }
+        if (!sawFinal || f.timeFrame == null)
+            return Result.IGNORED;
+        return Result.FINAL;
+    }
+
+    private static double number(JsonParser p, JsonToken t) throws IOException {
+        if (t == JsonToken.VALUE_STRING)
+            return parseDouble(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        return p.getDoubleValue();
+    }
+
+    private static TimeFrame interval(char[] b, int off, int len) {
+        if (len == 2 && b[off] == '5' && b[off + 1] == 'm')
+            return TimeFrame.M5;
+        if (len == 3 && b[off] == '1' && b[off + 1] == '5' && b[off + 2] == 'm')
+            return TimeFrame.M15;
+        if (len == 2 && b[off] == '1' && b[off + 1] == 'h')
+            return TimeFrame.H1;
+        return null;
+    }
+
+    /** "2501.37" 같은 10진 문자열 → double. 정확히 표현 가능한 범위를 벗어나면 JDK 파서로 폴백 */
+    static double parseDouble(char[] b, int off, int len) {
+        int i = off;
+        int end = off + len;
+        boolean neg = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            neg = b[i] == '-';
+            i++;
+        }
+        if (i == end)
+            return fallback(b, off, len);
+
+        long mant = 0L;
+        int scale = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            char ch = b[i];
+            if (ch >= '0' && ch <= '9') {
+                if (mant >= MAX_EXACT / 10)
+                    return fallback(b, off, len);
+                mant = mant * 10 + (ch - '0');
+                if (dot)
+                    scale++;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                return fallback(b, off, len);
+            }
+        }
+        if (scale >= POW10.length)
+            return fallback(b, off, len);
+
+        // mant < 2^53, 10^scale <= 10^22 둘 다 double 로 정확 → 한 번의 나눗셈은 올바르게 반올림됨
+        double v = mant / POW10[scale];
+        return neg ? -v : v;
+    }
+
+    private static double fallback(char[] b, int off, int len) {
+        return Double.parseDouble(new String(b, off, len));
+    }
+
+    private String intern(char[] b, int off, int len) {
+        int h = 0;
+        for (int i = off; i < off + len; i++)
+            h = 31 * h + b[i];
+        int slot = (h ^ (h >>> 16)) & (streamCache.length - 1);
+        String cached = streamCache[slot];
+        if (cached != null && cached.length() == len) {
+            boolean same = true;
+            for (int i = 0; i < len; i++) {
+                if (cached.charAt(i) != b[off + i]) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same)
+                return cached;
+        }
+        String s = new String(b, off, len);
+        streamCache[slot] = s;
+        return s;
+    }
+}
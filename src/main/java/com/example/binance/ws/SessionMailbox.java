@@ -0,0 +1,117 @@
+package com.example.binance.ws;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 심볼별 단일 소비자 작업 큐 (actor mailbox).
+ * 작업은 공유 워커 풀에서 한 번에 하나씩, 넣은 순서대로 실행되므로 같은 심볼은 순차 처리되고
+ * 서로 다른 심볼은 여러 코어에서 병렬로 처리된다. 연속된 drain 사이의 happens-before 는
+ * {@code scheduled} 플래그가 보장하므로 세션의 가변 상태는 별도 동기화 없이 이 큐 안에서만 다룬다.
+ */
+@Slf4j
+public class SessionMailbox {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    static final int BATCH = 64; // 한 번 drain 에서 처리할 최대 작업 수 (다른 심볼에 양보)
+    static final int RESERVE_DIVISOR = 4; // 용량의 1/4 은 버릴 수 없는 작업 몫
+
+    private final String name;
+    private final Executor executor;
+    private final int capacity;
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();   // 작업 실행에 쓴 누적 시간 (CPU 예산 측정)
+
+    public SessionMailbox(String name, Executor executor) {
+        this(name, executor, DEFAULT_CAPACITY);
+    }
+
+    public SessionMailbox(String name, Executor executor, int capacity) {
+        this.name = name;
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /** 큐가 가득 차면 작업을 버리고 false 를 반환한다 (호출 스레드는 절대 막지 않음) */
+    public boolean offer(Runnable task) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            long n = dropped.incrementAndGet();
+            if (n == 1 || n % 100 == 0)
+                log.warn("Mailbox full {}: dropped={}", name, n);
+            return false;
+        }
+        queue.offer(task);
+        schedule();
+        return true;
+    }
+
+    /**
+     * 잃어도 되는 작업(진행 중 봉 등)용: 용량의 {@code 1/RESERVE_DIVISOR} 를 남겨 두고 그 전에 버린다.
+     * 큐가 밀리면 이쪽이 먼저 빠지므로 마감봉처럼 꼭 필요한 작업은 남은 자리로 들어간다.
+     */
+    public boolean offerDroppable(Runnable task) {
+        if (size.get() >= capacity - capacity / RESERVE_DIVISOR) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return offer(task);
+    }
+
+    /**
+     * 용량과 무관하게 넣는다. 빠지면 안 되는 제어 작업(공백 메우기 시작/끝, 세션 종료 등) 전용이며
+     * 호출 측이 세션당 개수를 제한해야 한다.
+     */
+    public void force(Runnable task) {
+        size.incrementAndGet();
+        queue.offer(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.warn("Mailbox {} rejected: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        long started = System.nanoTime();
+        try {
+            Runnable task;
+            int n = 0;
+            while (n++ < BATCH && (task = queue.poll()) != null) {
+                size.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("Mailbox task error {}: {}", name, e.getMessage(), e);
+                }
+            }
+        } finally {
+            busyNanos.addAndGet(System.nanoTime() - started);
+            scheduled.set(false);
+            if (!queue.isEmpty())
+                schedule();
+        }
+    }
+
+    public int size() { return size.get(); }
+    public long dropped() { return dropped.get(); }
+    public long busyNanos() { return busyNanos.get(); }
+}
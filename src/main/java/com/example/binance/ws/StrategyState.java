@@ -0,0 +1,48 @@
+package com.example.binance.ws;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+
+import lombok.Getter;
+
+/** 세션 안에서 전략 하나가 따로 들고 있는 상태: H1 환경, M5 활성화, 진행 중 시나리오 */
+@Getter
+public class StrategyState {
+
+    private final AtomicReference<BootStrapEnv> h1EnvRef = new AtomicReference<BootStrapEnv>();
+    private final Map<TimeFrame, TradeScenario> activeScenarios = new ConcurrentHashMap<>();
+
+    // 5분봉 활성화 상태 관리 (mailbox 스레드 전용)
+    private boolean m5Active = false;
+    private String lastM15TriggerSide = null; // "LONG" or "SHORT"
+    private long lastM15TriggerTime = 0L; // 마지막 15분봉 트리거 시간
+
+    public void activateM5(String side, long triggerTime) {
+        this.m5Active = true;
+        this.lastM15TriggerSide = side;
+        this.lastM15TriggerTime = triggerTime;
+    }
+
+    public void deactivateM5() {
+        this.m5Active = false;
+        this.lastM15TriggerSide = null;
+        this.lastM15TriggerTime = 0L;
+    }
+
+    public TradeScenario getScenario(TimeFrame tf) {
+        return activeScenarios.get(tf);
+    }
+
+    public void setScenario(TimeFrame tf, TradeScenario scenario) {
+        if (scenario == null) {
+            activeScenarios.remove(tf);
+        } else {
+            activeScenarios.put(tf, scenario);
+        }
+    }
+}
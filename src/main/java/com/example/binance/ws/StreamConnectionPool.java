@@ -0,0 +1,286 @@
+package com.example.binance.ws;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.binance.utils.Backoff;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * 여러 심볼의 kline 스트림을 소수의 combined-stream 연결에 묶어 관리한다.
+ * 연결당 최대 {@link #MAX_STREAMS_PER_CONNECTION} 개 스트림을 싣고,
+ * 심볼 추가/제거는 재연결 없이 SUBSCRIBE/UNSUBSCRIBE 메시지로 처리한다.
+ * 구독 메시지는 연결별로 모아 {@link #FLUSH_INTERVAL_MS} 마다 한 번에 보낸다 (연결당 초당 메시지 제한 대응).
+ * 끊긴 연결은 jitter 를 섞은 지수 백오프로 다시 연다 (연결이 열리면 백오프 초기화).
+ */
+@Slf4j
+public class StreamConnectionPool {
+
+    /** Binance Futures combined stream 연결당 스트림 한도 */
+    public static final int MAX_STREAMS_PER_CONNECTION = 200;
+    static final long FLUSH_INTERVAL_MS = 250L;
+    static final long RECONNECT_BASE_MS = 1_000L;
+    static final long RECONNECT_MAX_MS = 60_000L;
+
+    public interface Listener {
+        /** 수신 프레임 (combined stream 포맷: {"stream":..., "data":...}) */
+        void onFrame(String text);
+
+        /** 연결 시도가 실패했거나 끊긴 뒤 다시 열렸을 때, 해당 연결에 실려 있던 심볼 목록 */
+        default void onReconnected(Set<String> symbols) {}
+    }
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+    private final Listener listener;
+    private final int maxStreamsPerConnection;
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final Map<String, Connection> owners = new ConcurrentHashMap<>(); // symbol(lower) -> connection
+    private final Map<String, List<String>> streamsBySymbol = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionSeq = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ws-pool");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public StreamConnectionPool(OkHttpClient client, String baseUrl, Listener listener) {
+        this(client, baseUrl, listener, MAX_STREAMS_PER_CONNECTION);
+    }
+
+    public StreamConnectionPool(OkHttpClient client, String baseUrl, Listener listener, int maxStreamsPerConnection) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.listener = listener;
+        this.maxStreamsPerConnection = maxStreamsPerConnection;
+        scheduler.scheduleWithFixedDelay(this::flushAll, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** 심볼의 스트림들을 여유 있는 연결에 싣는다. 없으면 새 연결을 연다. */
+    public synchronized void subscribe(String symbol, List<String> streams) {
+        String key = symbol.toLowerCase();
+        if (owners.containsKey(key))
+            return;
+
+        Connection target = null;
+        for (Connection c : connections) {
+            if (c.streamCount() + streams.size() <= maxStreamsPerConnection) {
+                target = c;
+                break;
+            }
+        }
+        if (target == null) {
+            target = new Connection(connectionSeq.incrementAndGet());
+            connections.add(target);
+        }
+
+        streamsBySymbol.put(key, List.copyOf(streams));
+        owners.put(key, target);
+        target.add(key, streams);
+    }
+
+    public synchronized void unsubscribe(String symbol) {
+        String key = symbol.toLowerCase();
+        Connection c = owners.remove(key);
+        List<String> streams = streamsBySymbol.remove(key);
+        if (c == null || streams == null)
+            return;
+
+        c.remove(key, streams);
+        if (c.streamCount() == 0) {
+            connections.remove(c);
+            c.shutdown();
+        }
+    }
+
+    public boolean isConnected(String symbol) {
+        Connection c = owners.get(symbol.toLowerCase());
+        return c != null && c.open;
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    public synchronized void closeAll() {
+        for (Connection c : connections)
+            c.shutdown();
+        connections.clear();
+        owners.clear();
+        streamsBySymbol.clear();
+        scheduler.shutdownNow();
+    }
+
+    private void flushAll() {
+        for (Connection c : connections) {
+            try {
+                c.flush();
+            } catch (Exception e) {
+                log.warn("WS pool flush error #{}: {}", c.id, e.getMessage());
+            }
+        }
+    }
+
+    /** combined-stream 연결 하나 */
+    private final class Connection extends WebSocketListener {
+        private final int id;
+        private final Set<String> symbols = new LinkedHashSet<>();
+        private final Set<String> streams = new LinkedHashSet<>();
+        private final List<String> pendingSubscribe = new ArrayList<>();
+        private final List<String> pendingUnsubscribe = new ArrayList<>();
+        private final Backoff backoff = new Backoff(RECONNECT_BASE_MS, RECONNECT_MAX_MS);
+        private int requestId;
+        private volatile WebSocket webSocket;
+        private volatile boolean open;
+        private volatile boolean closed;
+        private boolean dropped;          // 연결 시도가 실패했거나 열린 연결이 끊김 → 다음 open 때 공백 메우기
+
+        Connection(int id) {
+            this.id = id;
+        }
+
+        synchronized int streamCount() {
+            return streams.size();
+        }
+
+        synchronized void add(String symbol, List<String> s) {
+            symbols.add(symbol);
+            streams.addAll(s);
+            pendingUnsubscribe.removeAll(s);
+            if (webSocket == null) {
+                connect();                // 최초 연결: URL 에 현재 스트림을 모두 싣는다
+            } else {
+                pendingSubscribe.addAll(s);
+            }
+        }
+
+        synchronized void remove(String symbol, List<String> s) {
+            symbols.remove(symbol);
+            streams.removeAll(s);
+            pendingSubscribe.removeAll(s);
+            pendingUnsubscribe.addAll(s);
+        }
+
+        private void connect() {
+            final String url = new StringBuilder(baseUrl)
+                    .append("?streams=")
+                    .append(String.join("/", streams))
+                    .toString();
+            pendingSubscribe.clear();
+            pendingUnsubscribe.clear();
+            webSocket = client.newWebSocket(new Request.Builder().url(url).build(), this);
+        }
+
+        synchronized void flush() {
+            if (!open || webSocket == null)
+                return;
+            if (!pendingSubscribe.isEmpty()) {
+                webSocket.send(command("SUBSCRIBE", pendingSubscribe));
+                pendingSubscribe.clear();
+            }
+            if (!pendingUnsubscribe.isEmpty()) {
+                webSocket.send(command("UNSUBSCRIBE", pendingUnsubscribe));
+                pendingUnsubscribe.clear();
+            }
+        }
+
+        private String command(String method, List<String> params) {
+            StringBuilder sb = new StringBuilder("{\"method\":\"").append(method).append("\",\"params\":[");
+            for (int i = 0; i < params.size(); i++) {
+                if (i > 0)
+                    sb.append(',');
+                sb.append('"').append(params.get(i)).append('"');
+            }
+            return sb.append("],\"id\":").append(++requestId).append('}').toString();
+        }
+
+        synchronized void shutdown() {
+            closed = true;
+            open = false;
+            if (webSocket != null) {
+                try {
+                    webSocket.close(1000, "bye");
+                } catch (Exception e) {
+                }
+            }
+        }
+
+        private void scheduleReconnect() {
+            open = false;
+            if (closed)
+                return;
+            synchronized (this) {
+                dropped = true;
+            }
+            final long delay = backoff.nextDelayMs();
+            log.info("WS pool #{} reconnect #{} in {}ms", id, backoff.attempts(), delay);
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    if (closed || streams.isEmpty())
+                        return;
+                    log.info("WS pool #{} reconnecting ({} streams)", id, streams.size());
+                    connect();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void onOpen(WebSocket ws, Response response) {
+            Set<String> reconnected;
+            synchronized (this) {
+                if (ws != webSocket)
+                    return;
+                open = true;
+                backoff.reset();
+                // 첫 연결이 실패한 뒤 재시도로 열린 경우도 부트스트랩 이후 공백이 있다
+                reconnected = dropped ? Set.copyOf(symbols) : Set.of();
+                dropped = false;
+            }
+            log.info("WS open #{} : {} streams", id, streams.size());
+            if (!reconnected.isEmpty())
+                listener.onReconnected(reconnected);
+        }
+
+        @Override
+        public void onMessage(WebSocket ws, String text) {
+            listener.onFrame(text);
+        }
+
+        @Override
+        public void onFailure(WebSocket ws, Throwable t, Response response) {
+            if (ws != webSocket)
+                return;
+            log.error("WS failure #{} {}", id, t.getMessage());
+            scheduleReconnect();
+        }
+
+        @Override
+        public void onClosing(WebSocket ws, int code, String reason) {
+            log.info("WS closing #{} {} {}", id, code, reason);
+            ws.close(1000, null);
+        }
+
+        @Override
+        public void onClosed(WebSocket ws, int code, String reason) {
+            if (ws != webSocket)
+                return;
+            scheduleReconnect();   // 서버측 종료(24h 등)도 재연결
+        }
+    }
+}
@@ -1,62 +1,228 @@
 package com.example.binance.ws;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import com.example.binance.dto.Candle;
 import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.dto.Candle;
+import com.example.binance.dto.ScenarioEvent;
+import com.example.binance.dto.SessionSnapshot;
+import com.example.binance.dto.StrategyParams;
 import com.example.binance.dto.TradeScenario;
 import com.example.binance.enums.TimeFrame;
+import com.example.binance.indicator.IndicatorState;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import okhttp3.WebSocket;
 
 @Getter
 @RequiredArgsConstructor
 public class SymbolSession {
+    public static final int MAX_BUFFER = 300;
+    public static final int SNAPSHOT_BARS = 5;
+
     private final String symbol;
-    private final AtomicReference<BootStrapEnv> h1EnvRef = new AtomicReference<BootStrapEnv>();
-    private volatile WebSocket webSocket;
+    private final SessionMailbox mailbox;
+    private final StrategyParams params;
+
+    // 버퍼/지표는 전략들이 함께 읽고, 전략별 상태는 strategies 에 따로 둔다 (인덱스 = StrategyRegistry 순서)
+    private final Map<TimeFrame, CandleBuffer> buffers = new ConcurrentHashMap<>();
+    private final Map<TimeFrame, IndicatorState> indicators = new ConcurrentHashMap<>();
+    private final List<StrategyState> strategies = new CopyOnWriteArrayList<>();
+    // VERIFY 모드: 거래소 봉을 기다리는 로컬 합성 봉 (mailbox 스레드 전용)
+    private final Map<TimeFrame, Candle> pendingAggregates = new EnumMap<>(TimeFrame.class);
+
+    // 재연결 공백 메우는 동안 미뤄 둔 실시간 마감봉 (mailbox 스레드 전용)
+    private boolean backfilling = false;
+    private boolean backfillAgain = false;
+    private List<Runnable> deferred = new ArrayList<>();
+    // 공백 메우기 시작 작업이 mailbox 에 대기 중인지 (재연결 스레드가 세움): 용량 무시 작업을 세션당 하나로 묶는다
+    private final AtomicBoolean backfillQueued = new AtomicBoolean();
+
+    // 진행 중 봉 감시 레벨: 리더 스레드가 프레임마다 읽고 mailbox 스레드가 갱신
+    private volatile double watchAbove = Double.POSITIVE_INFINITY;
+    private volatile double watchBelow = Double.NEGATIVE_INFINITY;
+
+    // 읽기 모델: mailbox 스레드가 만들어 통째로 바꿔 끼우고, 다른 스레드는 이 참조만 읽는다
+    private volatile SessionSnapshot snapshot;
+    private long snapshotVersion; // mailbox 스레드 전용
+
+    // 샤딩 모드: 이 시각(ms)까지만 알림을 낸다. 임대 갱신마다 연장되고 비샤딩 세션은 무기한
+    private volatile long leaseUntil = Long.MAX_VALUE;
+
+    public SymbolSession(String symbol, SessionMailbox mailbox) {
+        this(symbol, mailbox, StrategyParams.DEFAULT);
+    }
+
+    // 규칙 평가마다 불리므로 있으면 get 만 (computeIfAbsent 람다 할당 회피)
+    public CandleBuffer buffer(TimeFrame tf){
+        CandleBuffer b = buffers.get(tf);
+        return b != null ? b : buffers.computeIfAbsent(tf, t -> new CandleBuffer(MAX_BUFFER));
+    }
+
+    public IndicatorState indicators(TimeFrame tf){
+        IndicatorState st = indicators.get(tf);
+        return st != null ? st : indicators.computeIfAbsent(tf, t -> new IndicatorState(params));
+    }
+
+    /** index 번째 전략의 상태 (없으면 만든다, mailbox 스레드) */
+    public StrategyState strategy(int index) {
+        while (strategies.size() <= index)
+            strategies.add(new StrategyState());
+        return strategies.get(index);
+    }
+
+    /** 어느 전략이든 M5 트리거를 기다리는 중인지 */
+    public boolean isM5Active() {
+        for (int i = 0; i < strategies.size(); i++)
+            if (strategies.get(i).isM5Active())
+                return true;
+        return false;
+    }
+
+    /** 모든 전략의 진행 중 시나리오 */
+    public List<TradeScenario> openScenarios() {
+        List<TradeScenario> out = new ArrayList<>();
+        for (StrategyState st : strategies)
+            out.addAll(st.getActiveScenarios().values());
+        return out;
+    }
 
-    private final Map<TimeFrame, Deque<Candle>> buffers = new ConcurrentHashMap<>();
-    private final Map<TimeFrame, TradeScenario> activeScenarios = new ConcurrentHashMap<>();
+    /** 마감봉 추가: closeTime 이 마지막 봉보다 새로울 때만 버퍼/지표를 갱신 */
+    public boolean append(TimeFrame tf, long openTime, long closeTime,
+                          double open, double high, double low, double close, double volume) {
+        if (!buffer(tf).append(openTime, closeTime, open, high, low, close, volume))
+            return false;
+        indicators(tf).update(closeTime, close, volume);
+        return true;
+    }
+
+    public boolean append(TimeFrame tf, Candle c) {
+        return append(tf, c.getOpenTime(), c.getCloseTime(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+    }
+
+    /** 부트스트랩: 버퍼와 지표를 비우고 closeTime 순으로 다시 채운다 (중복/역순 드롭) */
+    public int reload(TimeFrame tf, List<Candle> candles) {
+        buffer(tf).clear();
+        indicators(tf).reset();
+        candles.sort(Comparator.comparingLong(Candle::getCloseTime));
+        for (Candle c : candles)
+            append(tf, c);
+        return buffer(tf).size();
+    }
+
+    /** 공백 메우기 시작 작업을 넣어야 하면 true (이미 대기 중이면 false, 아무 스레드) */
+    public boolean queueBackfill() {
+        return backfillQueued.compareAndSet(false, true);
+    }
+
+    /**
+     * 공백 메우기 시작: 이후 실시간 마감봉은 {@link #defer} 로 미룬다.
+     * 이미 진행 중이면 false 를 돌려주고 끝날 때 한 번 더 메우도록 표시한다.
+     */
+    public boolean beginBackfill() {
+        backfillQueued.set(false);
+        if (backfilling) {
+            backfillAgain = true;
+            return false;
+        }
+        this.backfilling = true;
+        return true;
+    }
 
-    // 5분봉 활성화 상태 관리
-    private volatile boolean m5Active = false;
-    private volatile String lastM15TriggerSide = null; // "LONG" or "SHORT"
-    private volatile long lastM15TriggerTime = 0L; // 마지막 15분봉 트리거 시간
+    /** 진행 중에 다시 끊겼다 이어졌는지 (읽으면 지움) */
+    public boolean takeBackfillAgain() {
+        boolean again = backfillAgain;
+        backfillAgain = false;
+        return again;
+    }
+
+    public void defer(Runnable task) {
+        deferred.add(task);
+    }
+
+    /** 공백 메우기 끝: 미뤄 둔 작업을 도착 순서대로 돌려준다 */
+    public List<Runnable> endBackfill() {
+        this.backfilling = false;
+        List<Runnable> out = deferred;
+        deferred = new ArrayList<>();
+        return out;
+    }
 
-    public Deque<Candle> buffer(TimeFrame tf){
-        return buffers.computeIfAbsent(tf, t -> new ArrayDeque<>());
+    public void setLeaseUntil(long millis) {
+        this.leaseUntil = millis;
     }
 
-    public void setWebSocket(WebSocket ws){ this.webSocket = ws; }
+    /** now 에 이 인스턴스가 심볼의 주인인지 (임대가 끊긴 뒤 남은 작업이 알림을 내지 않게) */
+    public boolean holdsLease(long now) {
+        return now < leaseUntil;
+    }
+
+    /** 현재 버퍼/지표/전략 상태로 불변 스냅샷을 만들어 교체한다 (mailbox 스레드). strategyNames 는 전략 인덱스 순 */
+    public SessionSnapshot publishSnapshot(List<String> strategyNames) {
+        Map<TimeFrame, SessionSnapshot.Frame> frames = new EnumMap<>(TimeFrame.class);
+        long lastClose = -1L;
+        for (TimeFrame tf : TimeFrame.values()) {
+            CandleBuffer b = buffers.get(tf);
+            if (b == null || b.isEmpty())
+                continue;
+            List<SessionSnapshot.Bar> bars = new ArrayList<>(SNAPSHOT_BARS);
+            for (int i = Math.max(0, b.size() - SNAPSHOT_BARS); i < b.size(); i++)
+                bars.add(new SessionSnapshot.Bar(b.openTime(i), b.closeTime(i), b.open(i), b.high(i), b.low(i), b.close(i), b.volume(i)));
+            IndicatorState st = indicators(tf);
+            frames.put(tf, new SessionSnapshot.Frame(b.size(), List.copyOf(bars),
+                    finite(st.emaFast()), finite(st.emaSlow()), finite(st.rsi()),
+                    finite(st.bbMid()), finite(st.bbUpper()), finite(st.bbLower()), finite(st.avgVolume())));
+            lastClose = Math.max(lastClose, b.lastCloseTime());
+        }
+
+        List<SessionSnapshot.StrategyView> views = new ArrayList<>(strategies.size());
+        for (int i = 0; i < strategies.size(); i++) {
+            StrategyState st = strategies.get(i);
+            BootStrapEnv env = st.getH1EnvRef().get();
+            List<ScenarioEvent> scenarios = new ArrayList<>();
+            for (TradeScenario s : st.getActiveScenarios().values())
+                scenarios.add(ScenarioEvent.of(ScenarioEvent.Type.UPDATE, s, null));
+            views.add(new SessionSnapshot.StrategyView(
+                    i < strategyNames.size() ? strategyNames.get(i) : String.valueOf(i),
+                    env == null ? null : new SessionSnapshot.H1Env(env.getHourKey(), env.isLongOk(), env.isShortOk(),
+                            env.getBbMid(), env.getBbUp(), env.getBbLow()),
+                    st.isM5Active(), st.getLastM15TriggerSide(), st.getLastM15TriggerTime(), List.copyOf(scenarios)));
+        }
 
-    public void activateM5(String side, long triggerTime) {
-        this.m5Active = true;
-        this.lastM15TriggerSide = side;
-        this.lastM15TriggerTime = triggerTime;
+        SessionSnapshot next = new SessionSnapshot(symbol, ++snapshotVersion, lastClose,
+                Collections.unmodifiableMap(frames), List.copyOf(views));
+        this.snapshot = next;
+        return next;
     }
 
-    public void deactivateM5() {
-        this.m5Active = false;
-        this.lastM15TriggerSide = null;
-        this.lastM15TriggerTime = 0L;
+    /* 워밍업 전 NaN 은 JSON 에 못 쓰므로 null */
+    private static Double finite(double v) {
+        return Double.isFinite(v) ? v : null;
     }
 
-    public TradeScenario getScenario(TimeFrame tf) {
-        return activeScenarios.get(tf);
+    /** 진행 중 봉의 고가/저가가 활성 시나리오의 미도달 레벨에 닿았는지 (리더 스레드에서 프레임마다 호출) */
+    public boolean touchesWatch(double high, double low) {
+        return high >= watchAbove || low <= watchBelow;
     }
 
-    public void setScenario(TimeFrame tf, TradeScenario scenario) {
-        if (scenario == null) {
-            activeScenarios.remove(tf);
-        } else {
-            activeScenarios.put(tf, scenario);
+    /** 활성 시나리오 기준으로 감시 레벨 재계산 (mailbox 스레드) */
+    public void refreshWatchLevels() {
+        double above = Double.POSITIVE_INFINITY, below = Double.NEGATIVE_INFINITY;
+        for (StrategyState st : strategies) {
+            for (TradeScenario s : st.getActiveScenarios().values()) {
+                above = Math.min(above, s.nextLevelAbove());
+                below = Math.max(below, s.nextLevelBelow());
+            }
         }
+        this.watchAbove = above;
+        this.watchBelow = below;
     }
 }
@@ -0,0 +1,49 @@
+CREATE TABLE IF NOT EXISTS scenario_event (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tx           VARCHAR(16)  NOT NULL,
+    event        VARCHAR(8)   NOT NULL,   -- OPEN / UPDATE / CLOSE
+    symbol       VARCHAR(32)  NOT NULL,
+    timeframe    VARCHAR(4)   NOT NULL,
+    side         VARCHAR(5)   NOT NULL,
+    activated_at BIGINT       NOT NULL,   -- 시나리오 시작 봉 closeTime(ms)
+    event_time   BIGINT       NOT NULL,   -- 이벤트 시점 봉 closeTime(ms)
+    entry        DOUBLE       NOT NULL,
+    stop         DOUBLE       NOT NULL,
+    tp1          DOUBLE       NOT NULL,
+    tp2          DOUBLE       NOT NULL,
+    highest      DOUBLE       NOT NULL,
+    lowest       DOUBLE       NOT NULL,
+    hit_tp1      BOOLEAN      NOT NULL,
+    hit_tp2      BOOLEAN      NOT NULL,
+    hit_stop     BOOLEAN      NOT NULL,
+    reason       VARCHAR(255),
+    hit_tp1_at   BIGINT,                  -- TP/STOP 을 처음 닿은 시각(ms). low-latency 모드에서는 프레임 이벤트 시각
+    hit_tp2_at   BIGINT,
+    hit_stop_at  BIGINT,
+    strategy     VARCHAR(32)  DEFAULT 'default'   -- 시나리오를 연 전략 (여러 전략 A/B, 길이 = StrategyRegistry.MAX_NAME_LENGTH)
+);
+
+-- 예전 스키마로 만든 파일 DB 를 올릴 때만 직접 실행한다
+-- ALTER TABLE scenario_event ADD COLUMN IF NOT EXISTS hit_tp1_at BIGINT;
+-- ALTER TABLE scenario_event ADD COLUMN IF NOT EXISTS hit_tp2_at BIGINT;
+-- ALTER TABLE scenario_event ADD COLUMN IF NOT EXISTS hit_stop_at BIGINT;
+-- ALTER TABLE scenario_event ADD COLUMN IF NOT EXISTS strategy VARCHAR(32) DEFAULT 'default';
+
+CREATE INDEX IF NOT EXISTS idx_scenario_event_sym_tf_act ON scenario_event (symbol, timeframe, activated_at);
+CREATE INDEX IF NOT EXISTS idx_scenario_event_tx ON scenario_event (tx);
+-- 적중률 집계: event = 'CLOSE' 이고 activated_at 범위
+CREATE INDEX IF NOT EXISTS idx_scenario_event_event_act ON scenario_event (event, activated_at);
+
+-- 샤딩 모드: 인스턴스 생존 신호와 심볼 소유 임대
+CREATE TABLE IF NOT EXISTS shard_member (
+    instance_id  VARCHAR(64)  PRIMARY KEY,
+    heartbeat_at BIGINT       NOT NULL    -- 마지막 생존 신호(ms)
+);
+
+CREATE TABLE IF NOT EXISTS symbol_lease (
+    symbol       VARCHAR(32)  PRIMARY KEY,
+    owner        VARCHAR(64)  NOT NULL,
+    expires_at   BIGINT       NOT NULL    -- 이 시각(ms)까지 갱신이 없으면 다른 인스턴스가 가져간다
+);
+
+CREATE INDEX IF NOT EXISTS idx_symbol_lease_owner ON symbol_lease (owner);
@@ -1,11 +1,26 @@
 package com.example.binance;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class BinanceApplicationTests {
 
+	// ./data 의 캔들 파일과 H2 파일을 건드리지 않는다
+	@TempDir
+	static Path dataDir;
+
+	@DynamicPropertySource
+	static void dataDir(DynamicPropertyRegistry registry) {
+		registry.add("binance.store.dir", () -> dataDir.resolve("candles").toString());
+		registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + dataDir.resolve("binance") + ";DB_CLOSE_ON_EXIT=FALSE");
+	}
+
 	@Test
 	void contextLoads() {
 	}
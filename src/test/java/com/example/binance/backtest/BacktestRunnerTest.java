@@ -0,0 +1,121 @@
+package com.example.binance.backtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.AggregationMode;
+import com.example.binance.enums.TimeFrame;
+
+class BacktestRunnerTest {
+
+    private static final long M5 = 5 * 60_000L;
+    private static final long START = 1_704_067_200_000L; // 2024-01-01T00:00Z
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBinanceDumpFormat() throws IOException {
+        Files.writeString(dir.resolve("ETHUSDT-5m-2024-01.csv"), String.join("\n",
+                "open_time,open,high,low,close,volume,close_time,quote_volume,count,taker_buy_volume,taker_buy_quote_volume,ignore",
+                "1704067500000,2.5,3.5,1.5,3.0,20.0,1704067799999,0,0,0,0,0",
+                "1704067200000,1.0,2.0,0.5,1.5,10.0,1704067499999,0,0,0,0,0"));
+        Files.writeString(dir.resolve("ETHUSDT-5m-2024-02.csv"),
+                "1704067500000000,2.5,3.5,1.5,3.0,20.0,1704067799999999,0,0,0,0,0\n"); // 마이크로초 + 중복
+
+        List<Candle> candles = CandleCsvReader.read(dir, "ETHUSDT", TimeFrame.M5);
+
+        assertThat(candles).hasSize(2);
+        assertThat(candles.get(0).getCloseTime()).isEqualTo(1_704_067_499_999L);
+        assertThat(candles.get(1).getHigh()).isEqualTo(3.5);
+        assertThat(candles.get(1).getVolume()).isEqualTo(20.0);
+    }
+
+    @Test
+    void replaysSymbolsInParallel() throws Exception {
+        int days = 60;
+        writeSeries(dir, "ETHUSDT", days, 1L);
+        writeSeries(dir, "BTCUSDT", days, 2L);
+
+        List<BacktestResult> results = new BacktestRunner(dir, 2).run(List.of("ETHUSDT", "BTCUSDT"));
+
+        assertThat(results).hasSize(2);
+        int perSymbol = days * 24 * (12 + 4 + 1);
+        for (BacktestResult r : results) {
+            assertThat(r.getCandles()).isEqualTo(perSymbol);
+            assertThat(r.getScenarios()).isNotEmpty();
+            assertThat(r.getAlerts()).isGreaterThanOrEqualTo(r.getScenarios().size());
+            assertThat(r.getScenarios()).allSatisfy(s -> {
+                assertThat(s.getSymbol()).isEqualTo(r.getSymbol());
+                assertThat(s.getClosedAt()).isGreaterThanOrEqualTo(s.getActivatedAt());
+            });
+        }
+
+        // 같은 데이터는 같은 결과
+        BacktestResult again = new BacktestRunner(dir, 1).run(List.of("ETHUSDT")).get(0);
+        BacktestResult first = results.get(0);
+        assertThat(again.getScenarios()).extracting(ScenarioResult::getActivatedAt, ScenarioResult::outcome)
+                .containsExactlyElementsOf(first.getScenarios().stream()
+                        .map(s -> tuple(s.getActivatedAt(), s.outcome())).toList());
+    }
+
+    @Test
+    void localAggregationMatchesExchangeCandles() throws Exception {
+        writeSeries(dir, "ETHUSDT", 30, 3L);
+
+        BacktestResult exchange = new BacktestRunner(dir, 1).run(List.of("ETHUSDT")).get(0);
+        BacktestResult local = new BacktestRunner(dir, 1, AggregationMode.LOCAL).run(List.of("ETHUSDT")).get(0);
+
+        // 같은 봉을 같은 순서로 평가하므로 시나리오가 그대로 일치해야 한다
+        assertThat(local.getCandles()).isEqualTo(30 * 24 * 12);
+        assertThat(local.getAlerts()).isEqualTo(exchange.getAlerts());
+        assertThat(local.getScenarios()).extracting(ScenarioResult::getActivatedAt, ScenarioResult::getTimeframe, ScenarioResult::outcome)
+                .containsExactlyElementsOf(exchange.getScenarios().stream()
+                        .map(s -> tuple(s.getActivatedAt(), s.getTimeframe(), s.outcome())).toList());
+    }
+
+    /* M5 랜덤워크를 만들고 M15/H1 은 그것을 묶어 일관된 세트를 쓴다 */
+    static void writeSeries(Path dir, String symbol, int days, long seed) throws IOException {
+        Random rnd = new Random(seed);
+        int n = days * 24 * 12;
+        double[][] m5 = new double[n][5];
+        double price = 2500.0;
+        for (int i = 0; i < n; i++) {
+            double open = price;
+            price = Math.max(1.0, price * (1 + rnd.nextGaussian() * 0.003));
+            double high = Math.max(open, price) * (1 + rnd.nextDouble() * 0.001);
+            double low = Math.min(open, price) * (1 - rnd.nextDouble() * 0.001);
+            m5[i] = new double[] { open, high, low, price, 100 + rnd.nextDouble() * 50 };
+        }
+        write(dir, symbol, TimeFrame.M5, m5, 1);
+        write(dir, symbol, TimeFrame.M15, m5, 3);
+        write(dir, symbol, TimeFrame.H1, m5, 12);
+    }
+
+    private static void write(Path dir, String symbol, TimeFrame tf, double[][] m5, int group) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve(symbol + "-" + tf.timeFrame + "-2024.csv"))) {
+            for (int i = 0; i + group <= m5.length; i += group) {
+                double open = m5[i][0], high = m5[i][1], low = m5[i][2], close = m5[i + group - 1][3], vol = 0;
+                for (int j = i; j < i + group; j++) {
+                    high = Math.max(high, m5[j][1]);
+                    low = Math.min(low, m5[j][2]);
+                    vol += m5[j][4];
+                }
+                long openTime = START + i * M5;
+                w.write(openTime + "," + open + "," + high + "," + low + "," + close + "," + vol + ","
+                        + (openTime + group * M5 - 1) + ",0,0,0,0,0\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.binance.backtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.binance.dto.StrategyParams;
+
+class ParameterSweepTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void gridIndexMapsToAxisValues() {
+        SweepSpace space = new SweepSpace()
+                .axis("bbK", (b, v) -> b.bbK(v), 1.5, 2.0)
+                .axis("volSpike", (b, v) -> b.volSpike(v), 1.0, 1.2, 1.5);
+
+        assertThat(space.size()).isEqualTo(6);
+        assertThat(space.values(4)).containsExactly(2.0, 1.2);
+        StrategyParams p = space.params(4);
+        assertThat(p.getBbK()).isEqualTo(2.0);
+        assertThat(p.getVolSpike()).isEqualTo(1.2);
+        assertThat(p.getRsiPeriod()).isEqualTo(StrategyParams.DEFAULT.getRsiPeriod());
+
+        assertThat(space.sample(4, 7L)).hasSize(4).doesNotHaveDuplicates().containsAnyOf(space.grid());
+        assertThat(space.sample(100, 7L)).containsExactly(space.grid());
+        assertThat(SweepSpace.defaults().size()).isGreaterThan(10_000);
+    }
+
+    @Test
+    void defaultParamsReproduceBacktestAndRankingIsDeterministic() throws Exception {
+        BacktestRunnerTest.writeSeries(dir, "ETHUSDT", 30, 5L);
+        BacktestRunnerTest.writeSeries(dir, "BTCUSDT", 30, 6L);
+        List<ReplayTape> tapes = List.of(ReplayTape.load(dir, "ETHUSDT"), ReplayTape.load(dir, "BTCUSDT"));
+
+        SweepSpace space = new SweepSpace()
+                .axis("bbK", (b, v) -> b.bbK(v), 1.5, 2.0)
+                .axis("stopBandMul", (b, v) -> b.stopBandMul(v), 0.2, 0.4)
+                .axis("h1MinScore", (b, v) -> b.h1MinScore((int) v), 2, 3);
+
+        List<SweepResult> parallel = new ParameterSweep(tapes, space, 4, 1).run(space.grid());
+        List<SweepResult> serial = new ParameterSweep(tapes, space, 1, 1).run(space.grid());
+
+        assertThat(parallel).hasSize(8);
+        assertThat(parallel).extracting(SweepResult::getIndex)
+                .containsExactlyElementsOf(serial.stream().map(SweepResult::getIndex).toList());
+        assertThat(parallel).isSortedAccordingTo(SweepResult.ranking(1));
+
+        // bbK=2.0, stopBandMul=0.2, h1MinScore=2 → 라이브 기본값과 같으므로 BacktestRunner 와 같은 결과
+        SweepResult defaults = parallel.stream().filter(r -> r.getIndex() == 4).findFirst().orElseThrow();
+        List<BacktestResult> backtest = new BacktestRunner(dir, 2).run(List.of("ETHUSDT", "BTCUSDT"));
+        int scenarios = backtest.stream().mapToInt(r -> r.getScenarios().size()).sum();
+        long stops = backtest.stream().mapToLong(r -> r.count("STOP")).sum();
+        assertThat(defaults.getScenarios()).isEqualTo(scenarios).isPositive();
+        assertThat(defaults.getStop()).isEqualTo(stops);
+    }
+}
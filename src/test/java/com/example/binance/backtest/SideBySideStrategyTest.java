@@ -0,0 +1,81 @@
+package com.example.binance.backtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.service.CalculateService;
+import com.example.binance.service.ScenarioListener;
+import com.example.binance.service.SessionEvaluator;
+import com.example.binance.strategy.RuleStrategy;
+import com.example.binance.strategy.StrategyDefinition;
+import com.example.binance.strategy.StrategyRegistry;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SideBySideStrategyTest {
+
+    @TempDir
+    Path dir;
+
+    private record Opened(String strategy, TimeFrame tf, String side, long activatedAt, double entry, double stop) { }
+
+    private record Run(List<Opened> opened, List<String> alerts, SymbolSession sess) { }
+
+    @Test
+    void secondStrategySharesBuffersWithoutChangingTheFirst() throws Exception {
+        BacktestRunnerTest.writeSeries(dir, "ETHUSDT", 30, 3L);
+        ReplayTape tape = ReplayTape.load(dir, "ETHUSDT");
+
+        StrategyDefinition eager = new StrategyDefinition();
+        eager.setName("eager");
+        eager.setGateLong("ema_above");
+        eager.setGateShort("ema_below");
+        eager.setTriggerLong("cross_mid_up");
+        eager.setTriggerShort("cross_mid_down");
+
+        Run solo = run(tape, StrategyRegistry.of(RuleStrategy.DEFAULT));
+        Run ab = run(tape, StrategyRegistry.of(RuleStrategy.DEFAULT, RuleStrategy.compile(eager)));
+
+        assertThat(solo.opened()).isNotEmpty();
+        assertThat(ab.opened()).filteredOn(o -> o.strategy().equals("default"))
+                .containsExactlyElementsOf(solo.opened());
+        assertThat(ab.opened()).filteredOn(o -> o.strategy().equals("eager")).isNotEmpty();
+        assertThat(ab.alerts()).anyMatch(m -> m.endsWith("strategy: eager"));
+        assertThat(solo.alerts()).noneMatch(m -> m.contains("strategy:"));
+
+        // 지표는 세션에 하나: 전략이 늘어도 마감봉당 파생 값 계산은 최대 한 번
+        for (TimeFrame tf : TimeFrame.values())
+            assertThat(ab.sess().indicators(tf).derivations()).isLessThanOrEqualTo(ab.sess().indicators(tf).count());
+    }
+
+    private static Run run(ReplayTape tape, StrategyRegistry registry) {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties());
+        VirtualClock clock = new VirtualClock();
+        CapturingAlertSink alerts = new CapturingAlertSink();
+        List<Opened> opened = new ArrayList<>();
+        ScenarioListener recorder = new ScenarioListener() {
+            @Override
+            public void onOpened(TradeScenario s) {
+                opened.add(new Opened(s.getStrategy(), s.getTimeframe(), s.getSide(), s.getActivatedAt(), s.getEntry(), s.getStop()));
+            }
+        };
+        CalculateService calc = new CalculateService(alerts, metrics, clock, List.of(recorder), registry);
+        SymbolSession sess = new SymbolSession(tape.symbol(), new SessionMailbox(tape.symbol(), Runnable::run));
+        for (TimeFrame tf : TimeFrame.values())
+            sess.buffer(tf);
+        tape.replay(sess, new SessionEvaluator(calc, metrics), clock);
+        return new Run(opened, alerts.messages(), sess);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.binance.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+
+/** 벤치마크용 합성 캔들 (랜덤 워크, 시드 고정) */
+final class BenchData {
+
+    static final long START = 1_700_006_400_000L; // 시간 경계에 정렬된 UTC 시각
+
+    private BenchData() {}
+
+    static List<Candle> candles(TimeFrame tf, int n, long seed) {
+        Random rnd = new Random(seed);
+        long step = tf.millis;
+        List<Candle> out = new ArrayList<>(n);
+        double price = 2500.0;
+        long open = START;
+        for (int i = 0; i < n; i++) {
+            double next = price + rnd.nextGaussian() * 4.0;
+            double high = Math.max(price, next) + rnd.nextDouble() * 2.0;
+            double low = Math.min(price, next) - rnd.nextDouble() * 2.0;
+            out.add(new Candle(open, open + step - 1, price, high, low, next, 50 + rnd.nextDouble() * 100));
+            price = next;
+            open += step;
+        }
+        return out;
+    }
+
+    static String klineFrame(String symbol, TimeFrame tf, Candle c, boolean isFinal) {
+        String lower = symbol.toLowerCase();
+        return "{\"stream\":\"" + lower + "@kline_" + tf.timeFrame + "\",\"data\":{\"e\":\"kline\",\"E\":" + (c.getCloseTime() + 1)
+                + ",\"s\":\"" + symbol + "\",\"k\":{\"t\":" + c.getOpenTime() + ",\"T\":" + c.getCloseTime()
+                + ",\"s\":\"" + symbol + "\",\"i\":\"" + tf.timeFrame + "\",\"f\":100,\"L\":200"
+                + ",\"o\":\"" + String.format("%.2f", c.getOpen()) + "\",\"c\":\"" + String.format("%.2f", c.getClose())
+                + "\",\"h\":\"" + String.format("%.2f", c.getHigh()) + "\",\"l\":\"" + String.format("%.2f", c.getLow())
+                + "\",\"v\":\"" + String.format("%.3f", c.getVolume()) + "\",\"n\":100,\"x\":" + isFinal
+                + ",\"q\":\"1000.0\",\"V\":\"500\",\"Q\":\"0.500\",\"B\":\"0\"}}}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.binance.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.indicator.IndicatorState;
+import com.example.binance.service.IndicatorService;
+
+/** ta4j 재계산(IndicatorService) vs 증분 상태(IndicatorState) */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({ "200", "300" })
+    int candles;
+
+    private final IndicatorService ta4j = new IndicatorService();
+    private List<Candle> list;
+    private IndicatorState state;
+    private int next;
+
+    @Setup
+    public void setup() {
+        list = BenchData.candles(TimeFrame.M15, candles, 1L);
+        state = new IndicatorState();
+        list.forEach(state::update);
+    }
+
+    @Benchmark
+    public double ta4jEma() {
+        return ta4j.ema(list, TimeFrame.M15, 21);
+    }
+
+    @Benchmark
+    public double ta4jRsi() {
+        return ta4j.rsi(list, TimeFrame.M15, 14);
+    }
+
+    @Benchmark
+    public double[] ta4jBollinger() {
+        return ta4j.bollinger(list, TimeFrame.M15, 20, 2);
+    }
+
+    /** M15 마감 한 번에 예전 코드가 하던 계산: BB + RSI + 직전 RSI */
+    @Benchmark
+    public double ta4jPerM15Close() {
+        double[] bb = ta4j.bollinger(list, TimeFrame.M15, 20, 2);
+        double rsi = ta4j.rsi(list, TimeFrame.M15, 14);
+        double prev = ta4j.rsi(list.subList(0, list.size() - 1), TimeFrame.M15, 14);
+        return bb[0] + rsi + prev;
+    }
+
+    /** 증분 갱신 + 같은 값 읽기 */
+    @Benchmark
+    public double incrementalPerM15Close() {
+        Candle c = list.get(next++ % list.size());
+        state.update(c);
+        return state.bbMid() + state.bbUpper() + state.bbLower() + state.rsi() + state.prevRsi() + state.avgVolume();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.binance.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.KlineFrame;
+import com.example.binance.ws.KlineFrameDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** kline 프레임 파싱: JsonNode 트리(예전 onMessage) vs 스트리밍 디코더 */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KlineParseBenchmark {
+
+    @Param({ "true", "false" })
+    boolean isFinal;
+
+    private final ObjectMapper om = new ObjectMapper();
+    private final KlineFrameDecoder decoder = new KlineFrameDecoder();
+    private final KlineFrame frame = new KlineFrame();
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = BenchData.klineFrame("ETHUSDT", TimeFrame.M5, BenchData.candles(TimeFrame.M5, 1, 3L).get(0), isFinal);
+    }
+
+    @Benchmark
+    public double jsonTree() throws Exception {
+        JsonNode root = om.readTree(text);
+        JsonNode k = root.path("data").path("k");
+        if (!k.path("x").asBoolean())
+            return 0.0;
+        String interval = k.path("i").asText();
+        long t = k.path("t").asLong();
+        long T = k.path("T").asLong();
+        return interval.length() + t + T + k.path("o").asDouble() + k.path("h").asDouble()
+                + k.path("l").asDouble() + k.path("c").asDouble() + k.path("v").asDouble();
+    }
+
+    @Benchmark
+    public double streamingDecoder() throws Exception {
+        if (decoder.decode(text, frame) != KlineFrameDecoder.Result.FINAL)
+            return 0.0;
+        return frame.timeFrame.ordinal() + frame.openTime + frame.closeTime + frame.open + frame.high
+                + frame.low + frame.close + frame.volume;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.binance.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.DomainProperties;
+import com.example.binance.properties.RestProperties;
+import com.example.binance.service.BinanceRestClient;
+import com.example.binance.service.BinanceRestService;
+import com.example.binance.utils.Threads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * 수백 개 세션이 한꺼번에 시작(타임프레임별 200봉)하거나 재연결(타임프레임별 3봉)할 때 전체 히스토리를 받는 데 걸리는 시간.
+ * 지연을 주는 로컬 스텁 서버에 세 가지 방식으로 요청한다.
+ * <ul>
+ *   <li>platform: 블로킹 klines 를 concurrency 개의 플랫폼 스레드 풀에서</li>
+ *   <li>reactive: 현재 BootstrapCoordinator 처럼 klinesAsync + flatMap(concurrency)</li>
+ *   <li>virtual: 블로킹 klines 를 세션마다 가상 스레드에서 (동시 실행은 concurrency 로 제한)</li>
+ * </ul>
+ * virtual 은 JDK 21 에서만 돈다: {@code ./mvnw -Pjmh,java21 test-compile exec:exec -Djmh.args="SessionStartBenchmark"}.
+ * JDK 17 에서는 {@code -p mode=platform,reactive} 로 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SessionStartBenchmark {
+
+    private static final TimeFrame[] TIME_FRAMES = { TimeFrame.M5, TimeFrame.M15, TimeFrame.H1 };
+
+    @Param({ "platform", "reactive", "virtual" })
+    String mode;
+
+    @Param({ "500" })
+    int sessions;
+
+    @Param({ "8", "128" })
+    int concurrency;
+
+    @Param({ "start", "reconnect" })
+    String phase;
+
+    @Param({ "20" })
+    long latencyMs;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService executor;
+    private BinanceRestService rest;
+    private int limit;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if ("virtual".equals(mode) && !Threads.virtualSupported())
+            throw new UnsupportedOperationException("virtual mode needs JDK 21 (-Pjava21)");
+
+        limit = "start".equals(phase) ? 200 : 3;
+        byte[] body = klinesJson(limit);
+
+        serverExecutor = Executors.newCachedThreadPool(Threads.factory("stub-", false));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/fapi/v1/klines", ex -> respond(ex, body));
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        DomainProperties domain = new DomainProperties();
+        domain.setMain("http://127.0.0.1:" + server.getAddress().getPort());
+        domain.setKlines("/fapi/v1/klines");
+        RestProperties props = new RestProperties();
+        props.setWeightPerMinute(10_000_000); // 로컬 스텁이므로 가중치 대기는 빼고 잰다
+        rest = new BinanceRestService(domain, new BinanceRestClient(WebClient.create(), props, Clock.systemUTC()));
+
+        executor = switch (mode) {
+            case "platform" -> Executors.newFixedThreadPool(concurrency, Threads.factory("bootstrap-", false));
+            case "virtual" -> Executors.newCachedThreadPool(Threads.factory("bootstrap-vt-", true)); // 스레드 재사용 없음
+            default -> null;
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null)
+            executor.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int startAll() throws Exception {
+        return "reactive".equals(mode) ? reactive() : blocking();
+    }
+
+    private int reactive() {
+        return Flux.range(0, sessions)
+                .flatMap(i -> Flux.fromArray(TIME_FRAMES)
+                        .flatMap(tf -> rest.klinesAsync(symbol(i), tf, limit))
+                        .map(List::size)
+                        .reduce(0, Integer::sum), concurrency)
+                .reduce(0, Integer::sum)
+                .block();
+    }
+
+    private int blocking() throws Exception {
+        // virtual: 세션마다 스레드를 만들고 동시 요청 수만 제한 / platform: 풀 크기가 곧 동시성
+        Semaphore permits = new Semaphore("virtual".equals(mode) ? concurrency : Integer.MAX_VALUE);
+        List<Callable<Integer>> tasks = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            final String symbol = symbol(i);
+            tasks.add(() -> {
+                permits.acquire();
+                try {
+                    int n = 0;
+                    for (TimeFrame tf : TIME_FRAMES) {
+                        List<Candle> list = rest.klines(symbol, tf, limit);
+                        n += list.size();
+                    }
+                    return n;
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        int total = 0;
+        for (Future<Integer> f : executor.invokeAll(tasks))
+            total += f.get();
+        return total;
+    }
+
+    private static String symbol(int i) {
+        return "SYM" + i + "USDT";
+    }
+
+    private void respond(HttpExchange ex, byte[] body) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] klinesJson(int n) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Candle c : BenchData.candles(TimeFrame.M5, n, 5L)) {
+            if (sb.length() > 1)
+                sb.append(',');
+            sb.append('[').append(c.getOpenTime())
+                    .append(",\"").append(c.getOpen()).append("\",\"").append(c.getHigh())
+                    .append("\",\"").append(c.getLow()).append("\",\"").append(c.getClose())
+                    .append("\",\"").append(c.getVolume()).append("\",").append(c.getCloseTime())
+                    .append(",\"0\",0,\"0\",\"0\",\"0\"]");
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
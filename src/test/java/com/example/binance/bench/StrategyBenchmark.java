@@ -0,0 +1,110 @@
+package com.example.binance.bench;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.example.binance.dto.BootStrapEnv;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.properties.TelegramProperties;
+import com.example.binance.service.CalculateService;
+import com.example.binance.utils.Notifier;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 합성 SymbolSession 에 15분 단위로 봉을 밀어 넣으며 CalculateService 평가 한 번의 비용을 잰다.
+ * 알림은 Notifier 큐에만 쌓이고 실제로 전송되지 않는다 (디스패처 미기동).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    private CalculateService calc;
+    private SymbolSession sess;
+    private final Random rnd = new Random(11L);
+    private double price = 2500.0;
+    private long m15Open;
+    private long step;
+
+    @Setup
+    public void setup() {
+        for (Class<?> c : new Class<?>[] { CalculateService.class, Notifier.class })
+            ((Logger) LoggerFactory.getLogger(c)).setLevel(Level.ERROR);
+
+        calc = new CalculateService(new Notifier(new TelegramProperties()),
+                new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties()),
+                Clock.systemUTC(), List.of());
+        sess = new SymbolSession("ETHUSDT", new SessionMailbox("ETHUSDT", Runnable::run));
+
+        // H1 200개 구간 뒤에 M15/M5 를 맞춘다
+        sess.reload(TimeFrame.H1, BenchData.candles(TimeFrame.H1, 200, 1L));
+        long h1End = sess.buffer(TimeFrame.H1).lastCloseTime() + 1;
+        m15Open = h1End - 200 * TimeFrame.M15.millis;
+        for (int i = 0; i < 200; i++)
+            appendM15Step(false);
+        sess.strategy(0).getH1EnvRef().set(BootStrapEnv.builder().hourKey(h1End).longOk(true).shortOk(true).build());
+    }
+
+    /** 15분 한 구간: M5 3개 + M15 1개 (+ 4번째마다 H1 1개) */
+    private void appendM15Step(boolean withH1) {
+        long m5Open = m15Open;
+        double open = price, high = price, low = price;
+        double vol = 0.0;
+        for (int i = 0; i < 3; i++) {
+            double next = price + rnd.nextGaussian() * 3.0;
+            double h = Math.max(price, next) + rnd.nextDouble();
+            double l = Math.min(price, next) - rnd.nextDouble();
+            double v = 50 + rnd.nextDouble() * 100;
+            sess.append(TimeFrame.M5, m5Open, m5Open + 299_999L, price, h, l, next, v);
+            high = Math.max(high, h);
+            low = Math.min(low, l);
+            vol += v;
+            price = next;
+            m5Open += 300_000L;
+        }
+        sess.append(TimeFrame.M15, m15Open, m15Open + 899_999L, open, high, low, price, vol);
+        if (withH1 && ++step % 4 == 0)
+            sess.append(TimeFrame.H1, m15Open - 2_700_000L, m15Open + 899_999L, open, high, low, price, vol * 4);
+        m15Open += 900_000L;
+    }
+
+    @Benchmark
+    public SymbolSession onCandleClosedH1M15() {
+        appendM15Step(true);
+        calc.onCandleClosed_H1M15(sess);
+        return sess;
+    }
+
+    @Benchmark
+    public SymbolSession onCandleClosedM5() {
+        appendM15Step(true);
+        if (!sess.strategy(0).isM5Active())
+            sess.strategy(0).activateM5(rnd.nextBoolean() ? "LONG" : "SHORT", m15Open);
+        calc.onCandleClosed_M5(sess);
+        return sess;
+    }
+}
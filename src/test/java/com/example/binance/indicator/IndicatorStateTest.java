@@ -0,0 +1,91 @@
+package com.example.binance.indicator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.service.IndicatorService;
+
+class IndicatorStateTest {
+
+    private final IndicatorService ta4j = new IndicatorService();
+
+    private static List<Candle> randomWalk(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<Candle> out = new ArrayList<>();
+        double price = 2500.0;
+        long open = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            double next = price + rnd.nextGaussian() * 5.0;
+            double high = Math.max(price, next) + rnd.nextDouble() * 2.0;
+            double low = Math.min(price, next) - rnd.nextDouble() * 2.0;
+            out.add(new Candle(open, open + 900_000L - 1, price, high, low, next, 100 + rnd.nextDouble() * 50));
+            price = next;
+            open += 900_000L;
+        }
+        return out;
+    }
+
+    @Test
+    void matchesTa4jOnSameWindow() {
+        List<Candle> candles = randomWalk(200, 42L);
+        IndicatorState st = new IndicatorState();
+        candles.forEach(st::update);
+
+        assertThat(st.emaFast()).isCloseTo(ta4j.ema(candles, TimeFrame.M15, 21), within(1e-6));
+        assertThat(st.emaSlow()).isCloseTo(ta4j.ema(candles, TimeFrame.M15, 50), within(1e-6));
+        assertThat(st.rsi()).isCloseTo(ta4j.rsi(candles, TimeFrame.M15, 14), within(1e-6));
+        assertThat(st.prevRsi()).isCloseTo(ta4j.rsi(candles.subList(0, 199), TimeFrame.M15, 14), within(1e-6));
+
+        double[] bb = ta4j.bollinger(candles, TimeFrame.M15, 20, 2);
+        assertThat(st.bbMid()).isCloseTo(bb[0], within(1e-6));
+        assertThat(st.bbUpper()).isCloseTo(bb[1], within(1e-6));
+        assertThat(st.bbLower()).isCloseTo(bb[2], within(1e-6));
+
+        double sum = 0.0;
+        for (int i = 180; i < 200; i++)
+            sum += candles.get(i).getVolume();
+        assertThat(st.avgVolume()).isCloseTo(sum / 20.0, within(1e-9));
+    }
+
+    @Test
+    void derivedValuesComputedOncePerClose() {
+        List<Candle> candles = randomWalk(100, 3L);
+        IndicatorState st = new IndicatorState();
+        candles.subList(0, 99).forEach(st::update);
+
+        // 같은 마감봉을 여러 평가가 읽어도 한 번만 계산
+        for (int i = 0; i < 12; i++) {
+            st.bbMid();
+            st.bbUpper();
+            st.bbLower();
+            st.avgVolume();
+        }
+        assertThat(st.derivations()).isEqualTo(1);
+
+        st.update(candles.get(99));
+        double[] bb = ta4j.bollinger(candles, TimeFrame.M15, 20, 2);
+        assertThat(st.bbUpper()).isCloseTo(bb[1], within(1e-6));
+        assertThat(st.bbLower()).isCloseTo(bb[2], within(1e-6));
+        assertThat(st.derivations()).isEqualTo(2);
+    }
+
+    @Test
+    void resetStartsOver() {
+        List<Candle> candles = randomWalk(120, 7L);
+        IndicatorState st = new IndicatorState();
+        randomWalk(50, 1L).forEach(st::update);
+        st.reset();
+        candles.forEach(st::update);
+
+        assertThat(st.count()).isEqualTo(120);
+        assertThat(st.rsi()).isCloseTo(ta4j.rsi(candles, TimeFrame.M15, 14), within(1e-6));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.binance.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PipelineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PipelineMetrics metrics(int maxSymbolTags) {
+        MetricsProperties props = new MetricsProperties();
+        props.setMaxSymbolTags(maxSymbolTags);
+        return new PipelineMetrics(registry, props);
+    }
+
+    @Test
+    void symbolTagsAreBounded() {
+        PipelineMetrics m = metrics(2);
+        m.frame("BTCUSDT", true);
+        m.frame("ETHUSDT", false);
+        m.frame("SOLUSDT", true);
+        m.frame("XRPUSDT", true);
+
+        assertThat(registry.get("binance.ws.frames").tag("symbol", "BTCUSDT").tag("final", "true").counter().count()).isEqualTo(1);
+        assertThat(registry.get("binance.ws.frames").tag("symbol", PipelineMetrics.OTHER).tag("final", "true").counter().count()).isEqualTo(2);
+        assertThat(registry.find("binance.ws.frames").tag("symbol", "SOLUSDT").counters()).isEmpty();
+    }
+
+    @Test
+    void unbindFreesTagSlot() {
+        PipelineMetrics m = metrics(1);
+        SymbolSession btc = new SymbolSession("BTCUSDT", new SessionMailbox("BTCUSDT", Runnable::run));
+        m.bindSession(btc);
+        assertThat(registry.find("binance.session.buffer.size").tag("symbol", "BTCUSDT").gauges()).hasSize(3);
+
+        m.unbindSession("BTCUSDT");
+        assertThat(registry.find("binance.session.buffer.size").gauges()).isEmpty();
+
+        m.frame("ETHUSDT", true);
+        assertThat(registry.get("binance.ws.frames").tag("symbol", "ETHUSDT").tag("final", "true").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.binance.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.example.binance.dto.ScenarioEvent;
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+
+class ScenarioEventRepositoryTest {
+
+    private final EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("schema.sql")
+            .build();
+    private final JdbcTemplate jdbc = new JdbcTemplate(db);
+    private final ScenarioEventRepository repository = new ScenarioEventRepository(jdbc);
+
+    @AfterEach
+    void shutdown() {
+        db.shutdown();
+    }
+
+    @Test
+    void batchInsertAndHitRates() {
+        TradeScenario win = new TradeScenario("ETHUSDT", TimeFrame.M15, "LONG", 100, 95, 105, 110, 1_000L).initialise(100, 1_000L);
+        TradeScenario loss = new TradeScenario("ETHUSDT", TimeFrame.M15, "SHORT", 100, 105, 95, 90, 2_000L).initialise(100, 2_000L);
+        win.update(106, 99, 1_900L);
+        loss.update(106, 99, 2_900L);
+
+        repository.insertAll(List.of(
+                ScenarioEvent.of(ScenarioEvent.Type.OPEN, win, null),
+                ScenarioEvent.of(ScenarioEvent.Type.OPEN, loss, null),
+                ScenarioEvent.of(ScenarioEvent.Type.CLOSE, win, "15m filter inactive"),
+                ScenarioEvent.of(ScenarioEvent.Type.CLOSE, loss, "15m filter inactive")));
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM scenario_event", Integer.class)).isEqualTo(4);
+
+        List<Map<String, Object>> rates = repository.hitRates(0L);
+        assertThat(rates).hasSize(1);
+        Map<String, Object> row = rates.get(0);
+        assertThat(((Number) row.get("SCENARIOS")).intValue()).isEqualTo(2);
+        assertThat(((Number) row.get("TP1")).intValue()).isEqualTo(1);
+        assertThat(((Number) row.get("STOP")).intValue()).isEqualTo(1);
+
+        assertThat(repository.hitRates(1_500L)).first()
+                .satisfies(r -> assertThat(((Number) r.get("SCENARIOS")).intValue()).isEqualTo(1));
+    }
+
+    @Test
+    void hitRatesUsesTheEventIndex() {
+        String plan = jdbc.queryForObject("EXPLAIN " + ScenarioEventRepository.HIT_RATES, String.class, 0L);
+        assertThat(plan).containsIgnoringCase("IDX_SCENARIO_EVENT_EVENT_ACT");
+    }
+}
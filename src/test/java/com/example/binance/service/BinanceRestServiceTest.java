@@ -0,0 +1,134 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.DomainProperties;
+import com.example.binance.properties.RestProperties;
+import com.example.binance.utils.WeightBudget;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Mono;
+
+class BinanceRestServiceTest {
+
+    private static final String KLINES = "[[1704067200000,\"1.0\",\"2.0\",\"0.5\",\"1.5\",\"10.0\",1704067499999,\"0\",0,\"0\",\"0\",\"0\"]]";
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int[] statuses = { 200 };   // 요청 순서대로 응답 코드 (마지막 값 반복)
+
+    private BinanceRestClient client;
+    private BinanceRestService service;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fapi/v1/klines", this::klines);
+        server.start();
+
+        DomainProperties domain = new DomainProperties();
+        domain.setMain("http://127.0.0.1:" + server.getAddress().getPort());
+        domain.setKlines("/fapi/v1/klines");
+        client = new BinanceRestClient(WebClient.create(), new RestProperties(), Clock.systemUTC());
+        service = new BinanceRestService(domain, client);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    private void klines(HttpExchange ex) throws IOException {
+        int n = hits.getAndIncrement();
+        int status = statuses[Math.min(n, statuses.length - 1)];
+        try {
+            Thread.sleep(200); // 동시 요청이 겹치도록
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (status == 200 ? KLINES : "{\"code\":-1003}").getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.getResponseHeaders().add("X-MBX-USED-WEIGHT-1M", String.valueOf(1500 + n));
+        if (status != 200)
+            ex.getResponseHeaders().add("Retry-After", "1");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Test
+    void identicalInFlightRequestsShareOneCallAndTrackServerWeight() {
+        List<List<Candle>> results = Mono.zip(
+                        service.klinesAsync("ETHUSDT", TimeFrame.M5, 200),
+                        service.klinesAsync("ETHUSDT", TimeFrame.M5, 200),
+                        service.klinesAsync("ETHUSDT", TimeFrame.M5, 200))
+                .map(t -> List.of(t.getT1(), t.getT2(), t.getT3()))
+                .block();
+
+        assertThat(hits).hasValue(1);
+        assertThat(client.coalescedCount()).isEqualTo(2);
+        assertThat(results).allSatisfy(list -> assertThat(list).singleElement()
+                .satisfies(c -> assertThat(c.getCloseTime()).isEqualTo(1_704_067_499_999L)));
+        assertThat(client.usedWeight()).isEqualTo(1500);
+
+        // 끝난 요청은 합치지 않고 새로 보낸다
+        service.klinesAsync("ETHUSDT", TimeFrame.M5, 200).block();
+        assertThat(hits).hasValue(2);
+    }
+
+    @Test
+    void honorsRetryAfterOn429AndFailsFastOn418() {
+        statuses = new int[] { 429, 200 };
+        long started = System.currentTimeMillis();
+        List<Candle> candles = service.klinesAsync("BTCUSDT", TimeFrame.H1, 10).block();
+
+        assertThat(candles).hasSize(1);
+        assertThat(hits).hasValue(2);
+        assertThat(System.currentTimeMillis() - started).isGreaterThanOrEqualTo(1_000L);
+        assertThat(client.throttledCount()).isEqualTo(1);
+
+        statuses = new int[] { 418 };
+        hits.set(0);
+        assertThatThrownBy(() -> service.klinesAsync("BTCUSDT", TimeFrame.H1, 11).block())
+                .isInstanceOf(WebClientResponseException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void budgetQueuesUntilNextMinute() {
+        AtomicLong now = new AtomicLong(1_704_067_230_000L); // 분 경계 + 30s
+        WeightBudget budget = new WeightBudget(10, now::get);
+
+        assertThat(budget.tryReserve(5)).isZero();
+        assertThat(budget.tryReserve(5)).isZero();
+        assertThat(budget.tryReserve(1)).isEqualTo(30_000L);
+
+        budget.observe(2);          // 서버 값이 작으면 로컬 추정 유지
+        assertThat(budget.used()).isEqualTo(10);
+
+        now.addAndGet(30_000L);     // 다음 분
+        assertThat(budget.tryReserve(1)).isZero();
+        budget.block(2_000L);
+        assertThat(budget.tryReserve(1)).isEqualTo(2_000L);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.properties.DomainProperties;
+import com.example.binance.properties.StoreProperties;
+import com.example.binance.properties.StreamProperties;
+import com.example.binance.store.CandleStore;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class BootstrapCoordinatorTest {
+
+    private static final long H = 1_704_067_200_000L; // 정시
+    private static final long M5 = TimeFrame.M5.millis;
+    private static final int LIMIT = 20;
+    private static final String SYMBOL = "ETHUSDT";
+
+    private record Call(TimeFrame tf, Long startTime, Long endTime, int limit) { }
+
+    @TempDir
+    Path dir;
+
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private long now;
+    private boolean rangeFails;   // startTime 을 준 요청만 실패
+    private CandleStore store;
+
+    /* 거래소 흉내: now 가 속한 진행 중 봉까지 있다 */
+    private final BinanceRestService rest = new BinanceRestService(new DomainProperties(), null) {
+        @Override
+        public Mono<List<Candle>> klinesAsync(String symbol, TimeFrame tf, Long startTime, Long endTime, int limit) {
+            calls.add(new Call(tf, startTime, endTime, limit));
+            if (rangeFails && startTime != null)
+                return Mono.error(new IllegalStateException("HTTP 503"));
+            long current = Math.floorDiv(now, tf.millis) * tf.millis;
+            long from = startTime == null ? current - (limit - 1) * tf.millis : startTime;
+            long to = endTime == null ? current : Math.min(endTime, current);
+            List<Candle> out = new ArrayList<>();
+            for (long open = from; open <= to && out.size() < limit; open += tf.millis)
+                out.add(candle(tf, open));
+            return Mono.just(out);
+        }
+    };
+
+    @BeforeEach
+    void open() {
+        StoreProperties props = new StoreProperties();
+        props.setDir(dir.toString());
+        store = new CandleStore(props);
+    }
+
+    @AfterEach
+    void close() {
+        store.closeAll();
+    }
+
+    private BootstrapCoordinator coordinator() {
+        StreamProperties props = new StreamProperties();
+        props.setBootstrapLimit(LIMIT);
+        return new BootstrapCoordinator(rest, props, store, Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC),
+                Schedulers.immediate());
+    }
+
+    private static Candle candle(TimeFrame tf, long open) {
+        double p = 100 + (open / tf.millis) % 17;
+        return new Candle(open, open + tf.millis - 1, p, p + 1, p - 1, p + 0.5, 10);
+    }
+
+    private void storeBars(TimeFrame tf, long fromOpen, long toOpenExclusive) {
+        for (long open = fromOpen; open < toOpenExclusive; open += tf.millis) {
+            Candle k = candle(tf, open);
+            store.append(SYMBOL, tf, k.getOpenTime(), k.getCloseTime(), k.getOpen(), k.getHigh(), k.getLow(),
+                    k.getClose(), k.getVolume());
+        }
+    }
+
+    private static void assertContiguous(List<Candle> bars, TimeFrame tf, long firstOpen, long lastOpen) {
+        assertThat(bars).isNotEmpty();
+        assertThat(bars.get(0).getOpenTime()).isEqualTo(firstOpen);
+        assertThat(bars.get(bars.size() - 1).getOpenTime()).isEqualTo(lastOpen);
+        for (int i = 1; i < bars.size(); i++)
+            assertThat(bars.get(i).getOpenTime() - bars.get(i - 1).getOpenTime()).isEqualTo(tf.millis);
+    }
+
+    @Test
+    void fetchFillsOnlyTheTailGapAfterTheStoreAndMergesWithoutOverlap() {
+        now = H + 100 * M5 + 120_000L;          // 100 번째 5분봉이 진행 중
+        storeBars(TimeFrame.M5, H, H + 90 * M5); // 0..89 저장됨
+
+        Map<TimeFrame, List<Candle>> data = coordinator().fetch(SYMBOL).block();
+
+        // 저장분 뒤(90 번째 봉 open)부터 빈 11 봉 + 1 만 요청
+        assertThat(calls).contains(new Call(TimeFrame.M5, H + 90 * M5, null, 12));
+        // 저장분 최근 LIMIT 개(70..89) + REST 마감봉(90..99), 진행 중인 100 번째는 제외
+        List<Candle> m5 = data.get(TimeFrame.M5);
+        assertThat(m5).hasSize(LIMIT + 10);
+        assertContiguous(m5, TimeFrame.M5, H + 70 * M5, H + 99 * M5);
+        assertThat(store.lastCloseTime(SYMBOL, TimeFrame.M5)).isEqualTo(H + 100 * M5 - 1);
+
+        // 저장분이 없는 타임프레임은 최신 LIMIT 개를 통째로
+        assertThat(calls).contains(new Call(TimeFrame.H1, null, null, LIMIT), new Call(TimeFrame.M15, null, null, LIMIT));
+        assertThat(calls).hasSize(3);
+        long m15Current = Math.floorDiv(now, TimeFrame.M15.millis) * TimeFrame.M15.millis;
+        assertContiguous(data.get(TimeFrame.M15), TimeFrame.M15,
+                m15Current - (LIMIT - 1) * TimeFrame.M15.millis, m15Current - TimeFrame.M15.millis);
+        assertThat(store.tail(SYMBOL, TimeFrame.M15, 100)).hasSize(LIMIT - 1);
+    }
+
+    @Test
+    void fetchFallsBackToALatestWindowWhenTheGapIsTooLarge() {
+        now = H + 200 * M5 + 1;
+        storeBars(TimeFrame.M5, H, H + 90 * M5);
+
+        List<Candle> m5 = coordinator().fetch(SYMBOL).block().get(TimeFrame.M5);
+
+        assertThat(calls).contains(new Call(TimeFrame.M5, null, null, LIMIT));
+        assertContiguous(m5, TimeFrame.M5, H + 181 * M5, H + 199 * M5);
+    }
+
+    @Test
+    void fetchFallsBackToALatestWindowWhenTheGapRequestFails() {
+        now = H + 100 * M5 + 120_000L;
+        storeBars(TimeFrame.M5, H, H + 90 * M5);
+        rangeFails = true;
+
+        List<Candle> m5 = coordinator().fetch(SYMBOL).block().get(TimeFrame.M5);
+
+        // 저장분 + 구멍이 아니라 최신 LIMIT 개 (진행 중인 100 번째 제외)
+        assertThat(calls).contains(new Call(TimeFrame.M5, H + 90 * M5, null, 12), new Call(TimeFrame.M5, null, null, LIMIT));
+        assertThat(m5).hasSize(LIMIT - 1);
+        assertContiguous(m5, TimeFrame.M5, H + 81 * M5, H + 99 * M5);
+    }
+
+    @Test
+    void gapsRequestsTheClosedRangeAfterEachBufferAndSkipsUpToDateFrames() {
+        now = H + 3 * TimeFrame.H1.millis + 7 * M5 + 1_000L;
+        Map<TimeFrame, Long> last = new EnumMap<>(TimeFrame.class);
+        last.put(TimeFrame.H1, H + 3 * TimeFrame.H1.millis - 1);       // 최신
+        last.put(TimeFrame.M15, H + 10 * TimeFrame.M15.millis - 1);    // 4 봉 뒤처짐 (+ 진행 중 1)
+        last.put(TimeFrame.M5, H + 36 * M5 - 1);                       // 7 봉 뒤처짐 (+ 진행 중 1)
+
+        Map<TimeFrame, List<Candle>> gaps = coordinator().gaps(SYMBOL, last).block();
+
+        assertThat(calls).containsExactlyInAnyOrder(
+                new Call(TimeFrame.M15, H + 10 * TimeFrame.M15.millis, now, 5),
+                new Call(TimeFrame.M5, H + 36 * M5, now, 8));
+        assertThat(gaps.get(TimeFrame.H1)).isEmpty();
+        assertContiguous(gaps.get(TimeFrame.M15), TimeFrame.M15, H + 10 * TimeFrame.M15.millis, H + 13 * TimeFrame.M15.millis);
+        assertContiguous(gaps.get(TimeFrame.M5), TimeFrame.M5, H + 36 * M5, H + 42 * M5);
+        assertThat(store.lastCloseTime(SYMBOL, TimeFrame.M5)).isEqualTo(H + 43 * M5 - 1);
+    }
+
+    @Test
+    void gapsIsEmptyWhenAnyFrameIsTooFarBehindOrEmpty() {
+        now = H + 100 * M5;
+        assertThat(coordinator().gaps(SYMBOL, Map.of(TimeFrame.M5, H + 10 * M5 - 1)).blockOptional()).isEmpty();
+        assertThat(coordinator().gaps(SYMBOL, Map.of(TimeFrame.M5, -1L)).blockOptional()).isEmpty();
+        assertThat(calls).isEmpty();
+    }
+}
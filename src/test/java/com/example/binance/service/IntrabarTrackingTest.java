@@ -0,0 +1,63 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.TradeScenario;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IntrabarTrackingTest {
+
+    private static final long ACTIVATED = 1_704_067_499_999L; // 트리거 봉 closeTime
+    private static final long NEXT_OPEN = ACTIVATED + 1;
+
+    @Test
+    void notifiesFirstTouchWithFrameTimeAndStopsWatchingHitLevels() {
+        List<String> alerts = new ArrayList<>();
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(NEXT_OPEN + 61_000L), ZoneOffset.UTC);
+        CalculateService calc = new CalculateService(m -> alerts.add(m),
+                new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties()), clock, List.of());
+
+        SymbolSession sess = new SymbolSession("ETHUSDT", new SessionMailbox("ETHUSDT", Runnable::run));
+        TradeScenario scenario = new TradeScenario("ETHUSDT", TimeFrame.M15, "LONG", 100.0, 98.0, 103.0, 106.0, ACTIVATED)
+                .initialise(100.0, ACTIVATED);
+        sess.strategy(0).setScenario(TimeFrame.M15, scenario);
+        sess.refreshWatchLevels();
+
+        // 레벨 사이에서 움직이는 동안은 mailbox 로 넘길 필요가 없다
+        assertThat(sess.touchesWatch(102.9, 98.1)).isFalse();
+        assertThat(sess.touchesWatch(103.0, 99.0)).isTrue();
+
+        // 트리거 봉 자체(시작 전 봉)의 프레임은 무시
+        calc.onIntrabar(sess, ACTIVATED - 299_999L, 104.0, 99.0, ACTIVATED - 1_000L);
+        assertThat(scenario.isHitTp1()).isFalse();
+
+        long touched = NEXT_OPEN + 60_000L;
+        calc.onIntrabar(sess, NEXT_OPEN, 103.5, 99.0, touched);
+        assertThat(scenario.isHitTp1()).isTrue();
+        assertThat(scenario.getHitTp1At()).isEqualTo(touched);
+        assertThat(alerts).singleElement().asString().contains("TP1", "tx=" + scenario.getId());
+
+        // TP1 은 더 이상 감시하지 않고, 같은 프레임이 다시 와도 중복 알림 없음
+        assertThat(sess.touchesWatch(105.0, 99.0)).isFalse();
+        calc.onIntrabar(sess, NEXT_OPEN, 103.5, 99.0, touched + 250L);
+        assertThat(alerts).hasSize(1);
+
+        // 봉 마감 반영은 이미 기록된 시각을 덮어쓰지 않는다
+        scenario.update(103.8, 99.0, NEXT_OPEN + 299_999L);
+        assertThat(scenario.getHitTp1At()).isEqualTo(touched);
+    }
+}
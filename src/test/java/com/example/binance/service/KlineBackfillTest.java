@@ -0,0 +1,210 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.backtest.CapturingAlertSink;
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.DomainProperties;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.properties.StoreProperties;
+import com.example.binance.properties.StreamProperties;
+import com.example.binance.store.CandleStore;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/** 재연결 공백 메우기: 빈 구간은 closeTime 순으로 채우고, 그동안 들어온 실시간 봉은 뒤에 순서대로 처리한다 */
+class KlineBackfillTest {
+
+    private static final long H1 = TimeFrame.H1.millis;
+    private static final long M5 = TimeFrame.M5.millis;
+    private static final long BASE = 1_700_000_000_000L / H1 * H1;
+    private static final long SEEDED_UNTIL = BASE + 10 * H1;          // 부트스트랩으로 채운 구간의 끝 (open 기준)
+    private static final long NOW = SEEDED_UNTIL + H1 + 10 * 60_000L;  // 1시간 10분 끊겨 있었다
+
+    private record Closed(TimeFrame tf, long closeTime) { }
+
+    private final Sinks.Empty<Void> restReleased = Sinks.empty();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<Closed> evaluated = new ArrayList<>();
+
+    /* 공백 구간 [start, end] 의 봉을 만들어 주되, restReleased 가 끝날 때까지 응답을 잡아 둔다 */
+    private final BinanceRestService rest = new BinanceRestService(new DomainProperties(), null) {
+        @Override
+        public Mono<List<Candle>> klinesAsync(String symbol, TimeFrame tf, Long startTime, Long endTime, int limit) {
+            requests.add(tf + ":" + startTime + ".." + endTime);
+            return restReleased.asMono().then(Mono.fromCallable(() -> {
+                List<Candle> out = new ArrayList<>();
+                for (long open = startTime; open <= endTime && out.size() < limit; open += tf.millis)
+                    out.add(candle(tf, open));
+                return out;
+            }));
+        }
+    };
+
+    private volatile long now = NOW;
+    private final Clock clock = new Clock() {
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(now); }
+    };
+    private final PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties());
+    private final CapturingAlertSink alerts = new CapturingAlertSink();
+    private final SessionEvaluator evaluator = new SessionEvaluator(new CalculateService(alerts, metrics, clock, List.of()),
+            metrics, List.of((s, tf) -> evaluated.add(new Closed(tf, s.buffer(tf).lastCloseTime()))));
+    private KlineSocketService service;
+
+    /* 부트스트랩이 끝난 세션: SEEDED_UNTIL 직전까지 타임프레임마다 20 봉 */
+    private SymbolSession seededSession(SessionMailbox mailbox) {
+        StoreProperties storeProps = new StoreProperties();
+        storeProps.setEnabled(false);
+        CandleStore store = new CandleStore(storeProps);
+        StreamProperties streamProps = new StreamProperties();
+        BootstrapCoordinator coordinator = new BootstrapCoordinator(rest, streamProps, store, clock, Schedulers.immediate());
+        service = new KlineSocketService(new DomainProperties(), streamProps, rest, coordinator,
+                evaluator, null, metrics, store);
+
+        SymbolSession sess = new SymbolSession("ETHUSDT", mailbox);
+        for (TimeFrame tf : TimeFrame.values())
+            for (long open = SEEDED_UNTIL - 20 * tf.millis; open < SEEDED_UNTIL; open += tf.millis) {
+                Candle k = candle(tf, open);
+                evaluator.onCandleClosed(sess, tf, k.getOpenTime(), k.getCloseTime(), k.getOpen(), k.getHigh(),
+                        k.getLow(), k.getClose(), k.getVolume());
+            }
+        evaluated.clear();
+        return sess;
+    }
+
+    private boolean offerLive(SymbolSession sess, long open) {
+        Candle k = candle(TimeFrame.M5, open);
+        return sess.getMailbox().offer(() -> service.onCandleClosed(sess, TimeFrame.M5, k.getOpenTime(), k.getCloseTime(),
+                k.getOpen(), k.getHigh(), k.getLow(), k.getClose(), k.getVolume()));
+    }
+
+    @Test
+    void closesTheGapThenReplaysDeferredLiveCandlesInOrder() {
+        SymbolSession sess = seededSession(new SessionMailbox("ETHUSDT", Runnable::run));
+
+        service.backfill(sess);
+        assertThat(sess.isBackfilling()).isTrue();
+        assertThat(requests).containsExactlyInAnyOrder(
+                "H1:" + SEEDED_UNTIL + ".." + NOW,
+                "M15:" + SEEDED_UNTIL + ".." + NOW,
+                "M5:" + SEEDED_UNTIL + ".." + NOW);
+
+        // REST 응답을 기다리는 동안 들어온 실시간 마감봉: 공백의 마지막 봉(중복)과 그 뒤 두 봉
+        long lastGapOpen = NOW - M5;
+        for (long open : new long[] { lastGapOpen, lastGapOpen + M5, lastGapOpen + 2 * M5 })
+            offerLive(sess, open);
+        assertThat(evaluated).isEmpty();
+
+        restReleased.tryEmitEmpty();
+
+        // 공백: H1 1개, M15 4개, M5 14개 (진행 중이던 봉은 closedOnly 로 빠짐), closeTime 순 · 동률은 H1 → M15 → M5
+        List<Closed> expected = new ArrayList<>();
+        for (TimeFrame tf : TimeFrame.values())
+            for (long open = SEEDED_UNTIL; open + tf.millis - 1 < NOW; open += tf.millis)
+                expected.add(new Closed(tf, open + tf.millis - 1));
+        expected.sort(Comparator.comparingLong(Closed::closeTime).thenComparing(Closed::tf));
+        assertThat(expected).filteredOn(c -> c.tf() == TimeFrame.M5).hasSize(14);
+        // 미뤄 둔 봉: 중복은 버퍼가 거르고 나머지 둘이 도착 순서대로
+        expected.add(new Closed(TimeFrame.M5, lastGapOpen + 2 * M5 - 1));
+        expected.add(new Closed(TimeFrame.M5, lastGapOpen + 3 * M5 - 1));
+
+        assertThat(sess.isBackfilling()).isFalse();
+        assertThat(evaluated).containsExactlyElementsOf(expected);
+        assertThat(alerts.messages()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void aFullMailboxCannotDropTheStartOrTheEndOfABackfill() {
+        Queue<Runnable> pending = new ArrayDeque<>();
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", pending::add, 4);
+        SymbolSession sess = seededSession(mailbox);
+
+        service.backfill(sess);
+        service.backfill(sess);   // 시작 작업이 이미 대기 중이면 하나로 묶는다
+        assertThat(mailbox.size()).isEqualTo(1);
+        drain(pending);
+        assertThat(sess.isBackfilling()).isTrue();
+        assertThat(requests).hasSize(3);
+
+        // 응답을 기다리는 동안 실시간 봉이 mailbox 를 채우고, 그 사이 또 끊겼다 이어진다
+        long open = NOW - M5;
+        while (offerLive(sess, open))
+            open += M5;
+        assertThat(mailbox.size()).isEqualTo(4);
+        service.backfill(sess);   // 가득 차도 시작 작업은 들어간다
+        service.backfill(sess);
+        assertThat(mailbox.size()).isEqualTo(5);
+
+        now = NOW + 2 * M5;
+        restReleased.tryEmitEmpty();
+        drain(pending);
+
+        // 끝 작업이 빠지지 않아 미루기가 풀리고, 두 번째 재연결분까지 한 번 더 받았다
+        assertThat(sess.isBackfilling()).isFalse();
+        assertThat(requests).hasSize(5).contains("M5:" + NOW + ".." + now, "M15:" + (SEEDED_UNTIL + H1) + ".." + now);
+        assertThat(mailbox.size()).isZero();
+        assertThat(mailbox.dropped()).isEqualTo(1);
+        assertThat(sess.getDeferred()).isEmpty();
+        assertThat(evaluated).filteredOn(c -> c.tf() == TimeFrame.M5).extracting(Closed::closeTime)
+                .isSorted().endsWith(open - 1);
+    }
+
+    @Test
+    void aDroppedFinalCandleIsRefetchedByABackfill() {
+        Queue<Runnable> pending = new ArrayDeque<>();
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", pending::add, 4);
+        SymbolSession sess = seededSession(mailbox);
+        restReleased.tryEmitEmpty();
+
+        for (int i = 0; i < 5; i++) {
+            Candle k = candle(TimeFrame.M5, SEEDED_UNTIL + i * M5);
+            service.submitClosed(sess, TimeFrame.M5, k.getOpenTime(), k.getCloseTime(), k.getOpen(), k.getHigh(),
+                    k.getLow(), k.getClose(), k.getVolume());
+        }
+        assertThat(mailbox.dropped()).isEqualTo(1);
+        assertThat(mailbox.size()).isEqualTo(5);   // 받은 4 봉 + 공백 메우기 시작
+
+        drain(pending);
+
+        // 빠진 5 번째 봉부터 REST 로 다시 받아 M5 가 끊김 없이 이어진다
+        assertThat(requests).contains("M5:" + (SEEDED_UNTIL + 4 * M5) + ".." + NOW);
+        assertThat(sess.isBackfilling()).isFalse();
+        List<Long> m5 = evaluated.stream().filter(c -> c.tf() == TimeFrame.M5).map(Closed::closeTime).toList();
+        assertThat(m5).hasSize(14);
+        for (int i = 0; i < m5.size(); i++)
+            assertThat(m5.get(i)).isEqualTo(SEEDED_UNTIL + (i + 1) * M5 - 1);
+    }
+
+    private static void drain(Queue<Runnable> pending) {
+        Runnable r;
+        while ((r = pending.poll()) != null)
+            r.run();
+    }
+
+    private static Candle candle(TimeFrame tf, long open) {
+        double p = 100 + Math.sin(open / (double) M5 / 7.0) * 5;
+        return new Candle(open, open + tf.millis - 1, p, p + 0.5, p - 0.5, p + 0.1, 10);
+    }
+}
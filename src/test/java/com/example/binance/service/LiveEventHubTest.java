@@ -0,0 +1,91 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.example.binance.enums.BackpressurePolicy;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.Disposable;
+import reactor.test.subscriber.TestSubscriber;
+
+class LiveEventHubTest {
+
+    private static final long M15 = TimeFrame.M15.millis;
+
+    private final LiveEventHub hub = new LiveEventHub(new ObjectMapper());
+    private final SymbolSession sess = new SymbolSession("ETHUSDT", new SessionMailbox("ETHUSDT", Runnable::run));
+
+    private void close(int i) {
+        double p = 100 + i;
+        sess.append(TimeFrame.M15, i * M15, (i + 1) * M15 - 1, p, p + 1, p - 1, p, 10);
+        hub.onCandleClosed(sess, TimeFrame.M15);
+    }
+
+    @Test
+    void slowClientsKeepTheirOwnBacklogWhileOthersGetEverything() {
+        close(0); // 구독자 없음: 직렬화도 하지 않는다
+        assertThat(hub.droppedCount()).isZero();
+
+        List<ServerSentEvent<String>> fast = new ArrayList<>(), other = new ArrayList<>();
+        Disposable d1 = hub.subscribe(List.of("ethusdt"), Set.of(), BackpressurePolicy.DROP_OLDEST, 256).subscribe(fast::add);
+        Disposable d2 = hub.subscribe(List.of("ETHUSDT", "BTCUSDT"), Set.of("candle"), BackpressurePolicy.LATEST, 1).subscribe(other::add);
+        TestSubscriber<ServerSentEvent<String>> slow = TestSubscriber.<ServerSentEvent<String>>builder().initialRequest(0).build();
+        TestSubscriber<ServerSentEvent<String>> latest = TestSubscriber.<ServerSentEvent<String>>builder().initialRequest(0).build();
+        hub.subscribe(List.of("ETHUSDT"), Set.of("candle"), BackpressurePolicy.DROP_OLDEST, 2).subscribe(slow);
+        hub.subscribe(List.of("ETHUSDT"), Set.of("candle"), BackpressurePolicy.LATEST, 1).subscribe(latest);
+        assertThat(hub.clientCount()).isEqualTo(4);
+        assertThat(hub.topicCount()).isEqualTo(2);
+
+        for (int i = 1; i <= 5; i++)
+            close(i);
+
+        // 빠른 구독자는 봉마다 candle + indicators, 같은 직렬화 인스턴스를 공유
+        assertThat(fast).hasSize(10);
+        assertThat(fast.get(0).event()).isEqualTo("candle");
+        assertThat(fast.get(1).event()).isEqualTo("indicators");
+        assertThat(fast.get(1).data()).contains("\"symbol\":\"ETHUSDT\"", "\"bbMid\":");
+        assertThat(other).hasSize(5).allMatch(e -> e.event().equals("candle"));
+        for (int i = 0; i < 5; i++)
+            assertThat(other.get(i)).isSameAs(fast.get(2 * i));
+
+        // 요청하지 않던 구독자: drop-oldest 는 마지막 2개, latest 는 마지막 1개만
+        slow.request(10);
+        latest.request(10);
+        assertThat(slow.getReceivedOnNext()).extracting(ServerSentEvent::data)
+                .allMatch(s -> s.contains("\"close\":104.0") || s.contains("\"close\":105.0")).hasSize(2);
+        assertThat(latest.getReceivedOnNext()).extracting(ServerSentEvent::data).singleElement()
+                .asString().contains("\"close\":105.0");
+        assertThat(hub.droppedCount()).isEqualTo(3);
+
+        d1.dispose();
+        d2.dispose();
+        slow.cancel();
+        latest.cancel();
+        assertThat(hub.clientCount()).isZero();
+        // 마지막 구독자가 나가면 토픽도 사라지고, emit 쪽은 토픽을 새로 만들지 않는다
+        assertThat(hub.topicCount()).isZero();
+        close(6);
+        assertThat(hub.topicCount()).isZero();
+    }
+
+    @Test
+    void rejectsTooManySymbols() {
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i <= LiveEventHub.MAX_SYMBOLS; i++)
+            many.add("S" + i + "USDT");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> hub.subscribe(many, Set.of(), BackpressurePolicy.LATEST, 1));
+        assertThat(hub.topicCount()).isZero();
+    }
+}
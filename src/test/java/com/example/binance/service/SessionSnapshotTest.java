@@ -0,0 +1,126 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.dto.SessionSnapshot;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.metrics.PipelineMetrics;
+import com.example.binance.properties.MetricsProperties;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionSnapshotTest {
+
+    private static final long M5 = TimeFrame.M5.millis;
+
+    private static List<Candle> series(TimeFrame tf, int n, long end) {
+        List<Candle> out = new ArrayList<>();
+        for (int i = n; i > 0; i--) {
+            long open = end - i * tf.millis;
+            double p = 100 + Math.sin(open / 3_600_000.0);
+            out.add(new Candle(open, open + tf.millis - 1, p, p + 0.5, p - 0.5, p, 10));
+        }
+        return out;
+    }
+
+    @Test
+    void publishesImmutableVersionsReadableWhileTheMailboxWrites() throws Exception {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry(), new MetricsProperties());
+        CalculateService calc = new CalculateService(m -> true, metrics, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), List.of());
+        SessionEvaluator evaluator = new SessionEvaluator(calc, metrics);
+        SymbolSession sess = new SymbolSession("ETHUSDT", new SessionMailbox("ETHUSDT", Runnable::run));
+
+        long start = 1_704_067_200_000L;
+        Map<TimeFrame, List<Candle>> data = new EnumMap<>(TimeFrame.class);
+        for (TimeFrame tf : TimeFrame.values())
+            data.put(tf, series(tf, 100, start));
+        evaluator.bootstrap(sess, data);
+
+        SessionSnapshot first = sess.getSnapshot();
+        assertThat(first.version()).isEqualTo(1);
+        assertThat(first.lastCloseTime()).isEqualTo(start - 1);
+        assertThat(first.frames()).containsOnlyKeys(TimeFrame.values());
+        assertThat(first.frames().get(TimeFrame.M5).last()).hasSize(SymbolSession.SNAPSHOT_BARS)
+                .last().satisfies(b -> assertThat(b.closeTime()).isEqualTo(start - 1));
+        assertThat(first.strategies()).singleElement().satisfies(s -> {
+            assertThat(s.name()).isEqualTo("default");
+            assertThat(s.h1Env()).isNotNull();
+        });
+
+        // 읽는 스레드는 락 없이 참조만 읽는다: 버전은 단조 증가하고 스냅샷 안의 봉은 서로 맞물린다
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> broken = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long seen = 0;
+            while (!done.get() && broken.get() == null) {
+                SessionSnapshot s = sess.getSnapshot();
+                List<SessionSnapshot.Bar> bars = s.frames().get(TimeFrame.M5).last();
+                if (s.version() < seen)
+                    broken.set("version went back " + seen + " -> " + s.version());
+                for (int i = 1; i < bars.size(); i++)
+                    if (bars.get(i).closeTime() - bars.get(i - 1).closeTime() != M5)
+                        broken.set("torn bars at v" + s.version());
+                if (bars.get(bars.size() - 1).closeTime() != s.lastCloseTime())
+                    broken.set("last bar != lastCloseTime at v" + s.version());
+                seen = s.version();
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 2_000; i++) {
+            long open = start + i * M5;
+            evaluator.onCandleClosed(sess, TimeFrame.M5, open, open + M5 - 1, 100, 100.5, 99.5, 100, 10);
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(broken.get()).isNull();
+        assertThat(sess.getSnapshot().version()).isEqualTo(2_001);
+        assertThat(first.frames().get(TimeFrame.M5).last().get(SymbolSession.SNAPSHOT_BARS - 1).closeTime())
+                .isEqualTo(start - 1); // 예전 스냅샷은 그대로
+    }
+
+    @Test
+    void pagesThroughSessionsBySymbolCursor() {
+        Map<String, SymbolSession> sessions = new TreeMap<>();
+        for (String s : List.of("SOLUSDT", "BTCUSDT", "ETHUSDT", "XRPUSDT", "DOGEUSDT"))
+            sessions.put(s, new SymbolSession(s, new SessionMailbox(s, Runnable::run)));
+        sessions.get("ETHUSDT").publishSnapshot(List.of("default"));
+        Set<String> connected = Set.of("ETHUSDT");
+
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            KlineSocketService.SessionPage page = KlineSocketService.page(sessions, after, 2, connected::contains);
+            assertThat(page.total()).isEqualTo(5);
+            page.items().forEach(e -> seen.add(e.symbol()));
+            after = page.next();
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactly("BTCUSDT", "DOGEUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT");
+
+        KlineSocketService.SessionEntry eth = KlineSocketService.page(sessions, "DOGEUSDT", 1, connected::contains).items().get(0);
+        assertThat(eth.connected()).isTrue();
+        assertThat(eth.snapshot().version()).isEqualTo(1);
+        assertThat(KlineSocketService.page(sessions, "BTCUSDT", 10, connected::contains).items().get(0).snapshot()).isNull();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.example.binance.backtest.VirtualClock;
+import com.example.binance.properties.ShardProperties;
+import com.example.binance.repository.LeaseRepository;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+class ShardCoordinatorTest {
+
+    private final EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("schema.sql")
+            .build();
+    private final LeaseRepository leases = new LeaseRepository(new JdbcTemplate(db));
+    private final VirtualClock clock = new VirtualClock();
+
+    @AfterEach
+    void shutdown() {
+        db.shutdown();
+    }
+
+    /* 세션만 만들고 지우는 로컬 스텁 */
+    static final class StubHost implements SessionHost {
+        final Map<String, SymbolSession> sessions = new ConcurrentHashMap<>();
+
+        @Override
+        public List<SymbolSession> startAll(Collection<String> symbols) {
+            List<SymbolSession> created = new ArrayList<>();
+            for (String s : symbols)
+                created.add(sessions.computeIfAbsent(s, k -> new SymbolSession(k, new SessionMailbox(k, Runnable::run))));
+            return created;
+        }
+
+        @Override
+        public void close(String symbol) {
+            sessions.remove(symbol);
+        }
+
+        @Override
+        public Map<String, SymbolSession> sessions() {
+            return sessions;
+        }
+    }
+
+    private ShardCoordinator instance(String id, StubHost host) {
+        ShardProperties p = new ShardProperties();
+        p.setEnabled(true);
+        p.setInstanceId(id);
+        return new ShardCoordinator(p, leases, host, clock);
+    }
+
+    @Test
+    void splitsSymbolsAndMovesThemToTheSurvivor() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+            symbols.add("SYM" + i + "USDT");
+        StubHost hostA = new StubHost(), hostB = new StubHost();
+        ShardCoordinator a = instance("a", hostA), b = instance("b", hostB);
+        a.assign(symbols);
+        b.assign(symbols);
+
+        // a 가 먼저 전부 잡고, b 가 합류하면 b 몫을 놓고 b 가 다음 주기에 가져간다
+        clock.set(1_000L);
+        assertThat(a.tick().acquired()).hasSize(40);
+        assertThat(b.tick().acquired()).isEmpty();
+        clock.set(6_000L);
+        assertThat(a.tick().released()).isNotEmpty();
+        b.tick();
+
+        Set<String> union = new HashSet<>(hostA.sessions.keySet());
+        union.addAll(hostB.sessions.keySet());
+        assertThat(hostA.sessions).isNotEmpty();
+        assertThat(hostB.sessions).isNotEmpty().doesNotContainKeys(hostA.sessions.keySet().toArray(String[]::new));
+        assertThat(union).containsExactlyInAnyOrderElementsOf(symbols);
+        assertThat(a.memberCount()).isEqualTo(2);
+
+        // b 가 멈춤: 알림 기한(만료 - clock-skew)이 먼저 지나고, 임대가 만료되면 a 가 전부 가져간다
+        List<String> ofB = new ArrayList<>(hostB.sessions.keySet());
+        clock.set(16_000L);
+        assertThat(a.tick().acquired()).isEmpty();  // b 임대가 아직 살아 있다
+        clock.set(6_000L + 14_500L);
+        assertThat(hostB.sessions.values()).allMatch(s -> !s.holdsLease(clock.millis()));
+        assertThat(hostA.sessions.values()).allMatch(s -> s.holdsLease(clock.millis()));
+
+        clock.set(6_000L + 15_001L);
+        assertThat(a.tick().acquired()).containsExactlyInAnyOrderElementsOf(ofB);
+        assertThat(hostA.sessions.keySet()).containsExactlyInAnyOrderElementsOf(symbols);
+        assertThat(a.memberCount()).isEqualTo(1);
+
+        // 되살아난 b 는 넘어간 임대를 잃은 것으로 보고 세션을 닫는다 (a 임대가 살아 있어 다시 잡지 못함)
+        assertThat(b.tick().lost()).containsExactlyInAnyOrderElementsOf(ofB);
+        assertThat(hostB.sessions).isEmpty();
+    }
+}
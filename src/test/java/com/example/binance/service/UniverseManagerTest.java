@@ -0,0 +1,75 @@
+package com.example.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.ExchangeInfo;
+import com.example.binance.dto.ExchangeSymbol;
+import com.example.binance.dto.Ticker24h;
+import com.example.binance.properties.UniverseProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+class UniverseManagerTest {
+
+    /* exchangeInfo / ticker 24hr 응답을 그대로 저장한 로컬 스텁 */
+    static final UniverseSource STUB = new UniverseSource() {
+        private final ObjectMapper mapper = new ObjectMapper();
+
+        @Override
+        public Mono<List<ExchangeSymbol>> symbols() {
+            return Mono.fromCallable(() -> read("exchangeInfo.json", new TypeReference<ExchangeInfo>() { }).getSymbols());
+        }
+
+        @Override
+        public Mono<List<Ticker24h>> tickers() {
+            return Mono.fromCallable(() -> read("ticker24hr.json", new TypeReference<List<Ticker24h>>() { }));
+        }
+
+        private <T> T read(String name, TypeReference<T> type) throws IOException {
+            try (InputStream in = UniverseManagerTest.class.getResourceAsStream("/universe/" + name)) {
+                return mapper.readValue(in, type);
+            }
+        }
+    };
+
+    @Test
+    void ranksTradingPerpetualsByQuoteVolume() {
+        UniverseProperties p = new UniverseProperties();
+        p.setMinQuoteVolume(1_000_000);
+        p.setExclude(List.of("XRPUSDT"));
+
+        List<String> ranked = UniverseManager.rank(STUB.symbols().block(), STUB.tickers().block(), p);
+
+        // SETTLING, 분기물, BUSD, 거래대금 미달, 제외 목록은 빠진다
+        assertThat(ranked).containsExactly("BTCUSDT", "ETHUSDT", "SOLUSDT", "DOGEUSDT");
+    }
+
+    @Test
+    void selectKeepsIncumbentsWithinSlackAndLimitsStarts() {
+        List<String> ranked = List.of("A", "B", "C", "D", "E", "F", "G");
+
+        // 처음: 상위 3개, 한 번에 2개까지만 시작
+        UniverseManager.Plan first = UniverseManager.select(ranked, Set.of(), Set.of(), Set.of(), 3, 1, 2);
+        assertThat(first.start()).containsExactly("A", "B");
+        assertThat(first.stop()).isEmpty();
+
+        // D 는 4위지만 slack(1) 안이라 유지, G 는 밀려나 종료, 남은 한 자리는 B
+        UniverseManager.Plan second = UniverseManager.select(ranked, Set.of("A", "D", "G"), Set.of(), Set.of(), 3, 1, 2);
+        assertThat(second.stop()).containsExactly("G");
+        assertThat(second.start()).containsExactly("B");
+
+        // 외부 세션(B)은 시작하지 않고, 냉각 중(A)인 운영 심볼은 내린다
+        UniverseManager.Plan third = UniverseManager.select(ranked, Set.of("A", "C"), Set.of("B"), Set.of("A"), 3, 0, 5);
+        assertThat(third.stop()).containsExactly("A");
+        assertThat(third.start()).containsExactly("D", "E");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.binance.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.binance.dto.Candle;
+
+class CandleFileTest {
+
+    private static final long M5 = 300_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void persistsAcrossReopenAndGrows() throws IOException {
+        Path path = dir.resolve("ETHUSDT").resolve("5m.bin");
+        int n = CandleFile.INITIAL_RECORDS * 2 + 10; // 매핑 확장 두 번
+
+        try (CandleFile f = new CandleFile(path)) {
+            for (int i = 0; i < n; i++)
+                assertThat(f.append(i * M5, (i + 1) * M5 - 1, i, i + 1, i - 1, i + 0.5, 10 + i)).isTrue();
+            assertThat(f.append(0, M5 - 1, 0, 0, 0, 0, 0)).isFalse(); // 역순/중복
+        }
+
+        try (CandleFile f = new CandleFile(path)) {
+            assertThat(f.size()).isEqualTo(n);
+            assertThat(f.lastCloseTime()).isEqualTo(n * M5 - 1);
+
+            List<Candle> tail = f.tail(3);
+            assertThat(tail).extracting(Candle::getOpen).containsExactly(n - 3.0, n - 2.0, n - 1.0);
+            assertThat(tail.get(2).getVolume()).isEqualTo(10 + n - 1);
+
+            // 다시 열어도 이어서 붙는다
+            assertThat(f.append(n * M5, (n + 1) * M5 - 1, 1, 2, 0, 1, 1)).isTrue();
+            assertThat(f.size()).isEqualTo(n + 1);
+        }
+    }
+
+    @Test
+    void rangeUsesCloseTimeIndex() throws IOException {
+        try (CandleFile f = new CandleFile(dir.resolve("x.bin"))) {
+            for (int i = 0; i < 100; i++)
+                f.append(i * M5, (i + 1) * M5 - 1, i, i, i, i, i);
+
+            List<Candle> r = f.range(10 * M5, 20 * M5 - 1);
+            assertThat(r).hasSize(10);
+            assertThat(r.get(0).getCloseTime()).isEqualTo(11 * M5 - 1);
+            assertThat(r.get(9).getCloseTime()).isEqualTo(20 * M5 - 1);
+            assertThat(f.range(1_000 * M5, 2_000 * M5)).isEmpty();
+        }
+    }
+
+    @Test
+    void openKeepsOnlyTheNewestRecordsPastTheLimit() throws IOException {
+        Path path = dir.resolve("ETHUSDT").resolve("5m.bin");
+        int n = CandleFile.INITIAL_RECORDS * 4;
+        try (CandleFile f = new CandleFile(path)) {
+            for (int i = 0; i < n; i++)
+                f.append(i * M5, (i + 1) * M5 - 1, i, i, i, i, i);
+        }
+        long before = Files.size(path);
+
+        try (CandleFile f = CandleFile.open(path, 100)) {
+            assertThat(f.size()).isEqualTo(100);
+            assertThat(f.tail(100)).extracting(Candle::getOpen).startsWith(n - 100.0).endsWith(n - 1.0);
+            assertThat(f.append(n * M5, (n + 1) * M5 - 1, 1, 1, 1, 1, 1)).isTrue();
+        }
+        assertThat(Files.size(path)).isLessThan(before);
+        assertThat(Files.exists(path.resolveSibling("5m.bin.tmp"))).isFalse();
+
+        // 한도 안이면 그대로
+        try (CandleFile f = CandleFile.open(path, 1_000)) {
+            assertThat(f.size()).isEqualTo(101);
+            assertThat(f.lastCloseTime()).isEqualTo((n + 1) * M5 - 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.binance.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.StrategyParams;
+import com.example.binance.enums.TimeFrame;
+import com.example.binance.ws.SessionMailbox;
+import com.example.binance.ws.SymbolSession;
+
+class RuleCompilerTest {
+
+    private static final long M15 = TimeFrame.M15.millis;
+
+    private static SymbolSession session(StrategyParams params) {
+        SymbolSession sess = new SymbolSession("ETHUSDT", new SessionMailbox("ETHUSDT", Runnable::run), params);
+        double price = 100.0;
+        for (int i = 0; i < 40; i++) {
+            price += (i % 3 == 0) ? -1.0 : 1.5;       // 완만한 상승
+            double volume = i == 39 ? 500.0 : 100.0;  // 마지막 봉 거래량 급증
+            sess.append(TimeFrame.M15, i * M15, (i + 1) * M15 - 1, price, price + 1, price - 1, price, volume);
+        }
+        return sess;
+    }
+
+    @Test
+    void evaluatesCombinatorsAndParamsAgainstSessionIndicators() {
+        SymbolSession sess = session(StrategyParams.DEFAULT);
+
+        assertThat(RuleCompiler.compile("rsi_above(50)", TimeFrame.M15).test(sess)).isTrue();
+        assertThat(RuleCompiler.compile("not(rsi_below(M15, 50))", TimeFrame.H1).test(sess)).isTrue();
+        assertThat(RuleCompiler.compile("all(ema_above, close_above_mid, volume_spike($volSpike))", TimeFrame.M15).test(sess)).isTrue();
+        assertThat(RuleCompiler.compile("any(ema_below, close_below_lower)", TimeFrame.M15).test(sess)).isFalse();
+
+        String score = "score($h1MinScore, ema_above, rsi_below(50), close_below_mid)";
+        assertThat(RuleCompiler.compile(score, TimeFrame.M15).test(sess)).isFalse();   // 1 / 3 < 2
+        SymbolSession lenient = session(StrategyParams.builder().h1MinScore(1).build());
+        assertThat(RuleCompiler.compile(score, TimeFrame.M15).test(lenient)).isTrue(); // 같은 트리, 세션 파라미터만 다름
+
+        SymbolSession strict = session(StrategyParams.builder().volSpike(10.0).build());
+        assertThat(RuleCompiler.compile("volume_spike($volSpike)", TimeFrame.M15).test(strict)).isFalse();
+    }
+
+    @Test
+    void rejectsBadDefinitionsAtLoadTime() {
+        assertThatThrownBy(() -> RuleCompiler.compile("rsi_abve(50)", TimeFrame.M15))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unknown rule 'rsi_abve'");
+        assertThatThrownBy(() -> RuleCompiler.compile("rsi_above($rsiHigh)", TimeFrame.M15))
+                .hasMessageContaining("unknown parameter '$rsiHigh'");
+        assertThatThrownBy(() -> RuleCompiler.compile("rsi_recover_up(49)", TimeFrame.M15))
+                .hasMessageContaining("takes 2 number(s)");
+        assertThatThrownBy(() -> RuleCompiler.compile("all(ema_above) extra", TimeFrame.M15))
+                .hasMessageContaining("unexpected");
+
+        StrategyDefinition d = StrategyDefinition.defaults();
+        d.setName("broken");
+        d.setTriggerShort(null);
+        assertThatThrownBy(() -> RuleStrategy.compile(d)).hasMessageContaining("strategy broken: trigger-short is required");
+        assertThatThrownBy(() -> StrategyRegistry.of(RuleStrategy.DEFAULT, RuleStrategy.DEFAULT))
+                .hasMessageContaining("duplicate strategy name");
+
+        StrategyDefinition longName = StrategyDefinition.defaults();
+        longName.setName("x".repeat(StrategyRegistry.MAX_NAME_LENGTH + 1));
+        assertThatThrownBy(() -> StrategyRegistry.of(RuleStrategy.compile(longName)))
+                .hasMessageContaining("strategy name longer than 32");
+        longName.setName("x".repeat(StrategyRegistry.MAX_NAME_LENGTH));
+        assertThat(StrategyRegistry.of(RuleStrategy.compile(longName)).strategies()).hasSize(1);
+    }
+}
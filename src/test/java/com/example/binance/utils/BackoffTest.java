@@ -0,0 +1,23 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BackoffTest {
+
+    @Test
+    void growsExponentiallyWithinJitterAndCaps() {
+        Backoff b = new Backoff(1_000L, 30_000L);
+        long[] ceilings = { 1_000, 2_000, 4_000, 8_000, 16_000, 30_000, 30_000 };
+        for (long d : ceilings)
+            assertThat(b.nextDelayMs()).isBetween(d / 2, d);
+
+        for (int i = 0; i < 100; i++)
+            assertThat(b.nextDelayMs()).isBetween(15_000L, 30_000L);
+
+        b.reset();
+        assertThat(b.attempts()).isZero();
+        assertThat(b.nextDelayMs()).isBetween(500L, 1_000L);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class DedupWindowTest {
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+
+    @Test
+    void rejectsDuplicatesUntilExpiry() {
+        DedupWindow w = new DedupWindow(64, 100L, 1, now::get);
+        long k = DedupWindow.key(1, 1, DedupWindow.KIND_LONG, 28_000_000L);
+
+        assertThat(w.add(k)).isTrue();
+        assertThat(w.add(k)).isFalse();
+
+        now.addAndGet(100L);
+        assertThat(w.add(k)).isTrue();
+        assertThat(w.evicted()).isEqualTo(1);
+        assertThat(w.size()).isEqualTo(1);
+    }
+
+    @Test
+    void staysBoundedAndKeepsRecentKeys() {
+        DedupWindow w = new DedupWindow(256, Long.MAX_VALUE / 2, 4, now::get);
+        for (int i = 1; i <= 10_000; i++)
+            assertThat(w.add(DedupWindow.key(i % 500 + 1, i % 3, DedupWindow.KIND_EXIT, i))).isTrue();
+
+        assertThat(w.size()).isLessThanOrEqualTo(256);
+        assertThat(w.evicted()).isEqualTo(10_000 - w.size());
+        // 가장 최근 키는 남아 있어야 한다
+        assertThat(w.add(DedupWindow.key(10_000 % 500 + 1, 10_000 % 3, DedupWindow.KIND_EXIT, 10_000))).isFalse();
+    }
+}
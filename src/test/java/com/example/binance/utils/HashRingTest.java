@@ -0,0 +1,32 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class HashRingTest {
+
+    @Test
+    void spreadsKeysAndMovesOnlyTheLeavingMembersShare() {
+        HashRing three = new HashRing(List.of("a", "b", "c"), 128);
+        HashRing two = new HashRing(List.of("a", "c"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String symbol = "SYM" + i + "USDT";
+            String before = three.owner(symbol);
+            counts.merge(before, 1, Integer::sum);
+            if (!"b".equals(before))
+                assertThat(two.owner(symbol)).isEqualTo(before); // b 몫만 옮겨 간다
+        }
+        assertThat(counts.values()).allSatisfy(n -> assertThat(n).isBetween(700, 1300));
+
+        // 멤버 순서와 무관, 멤버가 없으면 null
+        assertThat(new HashRing(List.of("c", "b", "a"), 128).owner("ETHUSDT")).isEqualTo(three.owner("ETHUSDT"));
+        assertThat(new HashRing(List.of(), 128).owner("ETHUSDT")).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.binance.properties.TelegramProperties;
+
+class NotifierTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    void mergeKeepsOrderAndSplitsAtTheLimit() {
+        String a = "a".repeat(2_000), b = "b".repeat(2_000), c = "c".repeat(100);
+
+        // a + sep + b = 4002 ≤ 4096, 거기에 c 를 더하면 넘친다
+        List<String> out = Notifier.merge(List.of(a, b, c));
+        assertThat(out).containsExactly(a + Notifier.SEPARATOR + b, c);
+
+        // 딱 한도까지는 한 메시지
+        String d = "d".repeat(Notifier.MAX_TEXT - 2_000 - Notifier.SEPARATOR.length());
+        assertThat(Notifier.merge(List.of(a, d))).containsExactly(a + Notifier.SEPARATOR + d);
+        assertThat(Notifier.merge(List.of(a, d + "d"))).containsExactly(a, d + "d");
+
+        assertThat(Notifier.merge(List.of("1", "2", "3"))).containsExactly("1\n\n2\n\n3");
+    }
+
+    @Test
+    void mergeTruncatesOversizeMessages() {
+        String big = "x".repeat(Notifier.MAX_TEXT + 500);
+        List<String> out = Notifier.merge(List.of("head", big, "tail"));
+
+        assertThat(out).containsExactly("head", "x".repeat(Notifier.MAX_TEXT), "tail");
+        assertThat(out).allMatch(s -> s.length() <= Notifier.MAX_TEXT);
+    }
+
+    @Test
+    void retriesWithBackoffAndDoesNotSleepAfterTheLastAttempt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Notifier n = notifier(text -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("down");
+        });
+
+        n.deliver("hello");
+
+        assertThat(calls).hasValue(Notifier.MAX_ATTEMPTS);
+        assertThat(sleeps).containsExactly(1_000L, 2_000L, 4_000L, 8_000L);
+        assertThat(n.failureCount()).isEqualTo(1);
+        assertThat(n.sentCount()).isZero();
+    }
+
+    @Test
+    void countsSuccessAfterRetriesAndGivesUpOnClientErrors() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Notifier n = notifier(text -> {
+            if (calls.incrementAndGet() < 3)
+                throw WebClientResponseException.create(502, "Bad Gateway", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        });
+        n.deliver("hello");
+        assertThat(calls).hasValue(3);
+        assertThat(n.sentCount()).isEqualTo(1);
+        assertThat(n.failureCount()).isZero();
+
+        // 429 는 retry_after 만큼 기다린다
+        sleeps.clear();
+        AtomicInteger limited = new AtomicInteger();
+        Notifier tooMany = notifier(text -> {
+            if (limited.incrementAndGet() == 1)
+                throw WebClientResponseException.create(429, "Too Many Requests", HttpHeaders.EMPTY,
+                        "{\"ok\":false,\"parameters\":{\"retry_after\":7}}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        });
+        tooMany.deliver("hello");
+        assertThat(sleeps).containsExactly(7_000L);
+        assertThat(tooMany.sentCount()).isEqualTo(1);
+
+        // 그 밖의 4xx 는 재시도 없이 버린다
+        sleeps.clear();
+        AtomicInteger rejected = new AtomicInteger();
+        Notifier bad = notifier(text -> {
+            rejected.incrementAndGet();
+            throw WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        });
+        bad.deliver("hello");
+        assertThat(rejected).hasValue(1);
+        assertThat(sleeps).isEmpty();
+        assertThat(bad.failureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void takesOneTokenPerMergedMessage() throws Exception {
+        List<String> posted = new CopyOnWriteArrayList<>();
+        AtomicInteger tokens = new AtomicInteger();
+        TokenBucket counting = new TokenBucket(100, 100.0) {
+            @Override
+            public void acquire() throws InterruptedException {
+                tokens.incrementAndGet();
+                super.acquire();
+            }
+        };
+        Notifier n = new Notifier(posted::add, counting, sleeps::add);
+
+        // 디스패처가 뜨기 전에 쌓아 두면 한 배치로 모여 3개로 나뉜다
+        for (char ch : "abc".toCharArray())
+            assertThat(n.send(String.valueOf(ch).repeat(3_000))).isTrue();
+        n.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (n.sentCount() < 3 && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+        } finally {
+            n.stop();
+        }
+
+        assertThat(posted).hasSize(3);
+        assertThat(posted).extracting(s -> s.charAt(0)).containsExactly('a', 'b', 'c');
+        assertThat(tokens).hasValue(3);
+    }
+
+    @Test
+    void rateDefaultsFollowTheChatTypeUnlessConfigured() {
+        TelegramProperties props = new TelegramProperties();
+        props.setChatId("123456");
+        assertThat(props.effectiveRatePerSecond()).isEqualTo(TelegramProperties.PRIVATE_RATE);
+        assertThat(props.effectiveBurst()).isEqualTo(TelegramProperties.PRIVATE_BURST);
+
+        // 그룹·채널은 분당 20건
+        props.setChatId("-1001234567890");
+        assertThat(props.effectiveRatePerSecond() * 60).isCloseTo(20.0, within(1e-9));
+        assertThat(props.effectiveBurst()).isEqualTo(TelegramProperties.GROUP_BURST);
+
+        props.setRatePerSecond(0.5);
+        props.setBurst(2);
+        assertThat(props.effectiveRatePerSecond()).isEqualTo(0.5);
+        assertThat(props.effectiveBurst()).isEqualTo(2);
+    }
+
+    private Notifier notifier(Notifier.Transport transport) {
+        return new Notifier(transport, new TokenBucket(100, 100.0), sleeps::add);
+    }
+}
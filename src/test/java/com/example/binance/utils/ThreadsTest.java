@@ -0,0 +1,22 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Test;
+
+class ThreadsTest {
+
+    @Test
+    void virtualFallsBackToDaemonPlatformThreadsBeforeJava21() {
+        ThreadFactory factory = Threads.factory("io-", true);
+        Thread t = factory.newThread(() -> { });
+
+        assertThat(t.isDaemon()).isTrue();
+        if (!Threads.virtualSupported())
+            assertThat(t.getName()).isEqualTo("io-1");
+
+        assertThat(Threads.factory("io-", false).newThread(() -> { }).getName()).isEqualTo("io-1");
+    }
+}
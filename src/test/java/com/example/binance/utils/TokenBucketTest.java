@@ -0,0 +1,44 @@
+package com.example.binance.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SEC = 1_000_000_000L;
+
+    @Test
+    void burstsUpToCapacityThenRefillsAtRate() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(3, 1.0, now::get);
+
+        for (int i = 0; i < 3; i++)
+            assertThat(bucket.tryConsume()).isZero();
+        assertThat(bucket.tryConsume()).isEqualTo(SEC);
+
+        now.addAndGet(SEC / 2);
+        assertThat(bucket.tryConsume()).isEqualTo(SEC / 2);
+        now.addAndGet(SEC / 2);
+        assertThat(bucket.tryConsume()).isZero();
+
+        // 오래 쉬어도 capacity 이상은 쌓이지 않는다
+        now.addAndGet(60 * SEC);
+        for (int i = 0; i < 3; i++)
+            assertThat(bucket.tryConsume()).isZero();
+        assertThat(bucket.tryConsume()).isPositive();
+    }
+
+    @Test
+    void drainEmptiesTheBucket() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(3, 1.0, now::get);
+
+        bucket.drain();
+        assertThat(bucket.tryConsume()).isEqualTo(SEC);
+        now.addAndGet(SEC);
+        assertThat(bucket.tryConsume()).isZero();
+    }
+}
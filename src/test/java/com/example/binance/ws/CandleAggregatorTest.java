@@ -0,0 +1,45 @@
+package com.example.binance.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+
+class CandleAggregatorTest {
+
+    private static final long M5 = TimeFrame.M5.millis;
+    private static final long H = 1_704_067_200_000L; // 정시
+
+    @Test
+    void targetsAreLongestFirst() {
+        assertThat(CandleAggregator.targetsOf(TimeFrame.M5)).containsExactly(TimeFrame.H1, TimeFrame.M15);
+        assertThat(CandleAggregator.targetsOf(TimeFrame.M15)).containsExactly(TimeFrame.H1);
+    }
+
+    @Test
+    void closesOnlyAtBoundaryAndOnlyWhenComplete() {
+        CandleBuffer buf = new CandleBuffer(64);
+        Candle out = new Candle();
+
+        for (int i = 0; i < 3; i++) {
+            buf.append(H + i * M5, H + (i + 1) * M5 - 1, 10 + i, 20 + i, 5 + i, 11 + i, 1.5);
+            CandleAggregator.Result r = CandleAggregator.closeIfBoundary(buf, TimeFrame.M5, TimeFrame.M15, out);
+            assertThat(r).isEqualTo(i < 2 ? CandleAggregator.Result.NONE : CandleAggregator.Result.CLOSED);
+        }
+        assertThat(out.getOpenTime()).isEqualTo(H);
+        assertThat(out.getCloseTime()).isEqualTo(H + 3 * M5 - 1);
+        assertThat(out.getOpen()).isEqualTo(10);
+        assertThat(out.getHigh()).isEqualTo(22);
+        assertThat(out.getLow()).isEqualTo(5);
+        assertThat(out.getClose()).isEqualTo(13);
+        assertThat(out.getVolume()).isEqualTo(4.5);
+
+        // 다음 15분 구간에서 가운데 봉이 빠지면 합성하지 않는다
+        buf.append(H + 3 * M5, H + 4 * M5 - 1, 1, 1, 1, 1, 1);
+        buf.append(H + 5 * M5, H + 6 * M5 - 1, 1, 1, 1, 1, 1);
+        assertThat(CandleAggregator.closeIfBoundary(buf, TimeFrame.M5, TimeFrame.M15, out))
+                .isEqualTo(CandleAggregator.Result.INCOMPLETE);
+    }
+}
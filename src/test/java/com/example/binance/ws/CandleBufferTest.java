@@ -0,0 +1,102 @@
+package com.example.binance.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.dto.Candle;
+import com.example.binance.enums.TimeFrame;
+
+class CandleBufferTest {
+
+    private static final long M5 = TimeFrame.M5.millis;
+    private static final long H = 1_704_067_200_000L; // 정시
+
+    private static boolean append(CandleBuffer buf, int i) {
+        return buf.append(H + i * M5, H + (i + 1) * M5 - 1, i, i + 0.5, i - 0.5, i + 0.25, 10 + i);
+    }
+
+    @Test
+    void wrapsAroundKeepingOldestFirst() {
+        CandleBuffer buf = new CandleBuffer(4);
+        assertThat(buf.isEmpty()).isTrue();
+        assertThat(buf.lastIndex()).isEqualTo(-1);
+        assertThat(buf.lastCloseTime()).isEqualTo(-1L);
+
+        for (int i = 0; i < 3; i++)
+            assertThat(append(buf, i)).isTrue();
+        assertThat(buf.size()).isEqualTo(3);
+        assertThat(buf.lastIndex()).isEqualTo(2);
+
+        // 가득 찬 뒤로는 가장 오래된 봉을 덮어쓴다 (0..6 중 3..6 이 남음)
+        for (int i = 3; i < 7; i++)
+            assertThat(append(buf, i)).isTrue();
+        assertThat(buf.size()).isEqualTo(4);
+        assertThat(buf.lastIndex()).isEqualTo(3);
+        for (int i = 0; i < 4; i++) {
+            int bar = i + 3;
+            assertThat(buf.openTime(i)).isEqualTo(H + bar * M5);
+            assertThat(buf.closeTime(i)).isEqualTo(H + (bar + 1) * M5 - 1);
+            assertThat(buf.open(i)).isEqualTo(bar);
+            assertThat(buf.high(i)).isEqualTo(bar + 0.5);
+            assertThat(buf.low(i)).isEqualTo(bar - 0.5);
+            assertThat(buf.close(i)).isEqualTo(bar + 0.25);
+            assertThat(buf.volume(i)).isEqualTo(10 + bar);
+        }
+        assertThat(buf.lastCloseTime()).isEqualTo(H + 7 * M5 - 1);
+        assertThat(buf.asList()).extracting(Candle::getOpen).containsExactly(3.0, 4.0, 5.0, 6.0);
+        assertThat(buf.get(buf.lastIndex()).getClose()).isEqualTo(6.25);
+    }
+
+    @Test
+    void rejectsStaleAndDuplicateCloseTimes() {
+        CandleBuffer buf = new CandleBuffer(4);
+        for (int i = 0; i < 6; i++)
+            append(buf, i);
+
+        assertThat(append(buf, 5)).isFalse();   // 같은 closeTime
+        assertThat(append(buf, 2)).isFalse();   // 이미 지나간 봉
+        assertThat(buf.size()).isEqualTo(4);
+        assertThat(buf.lastCloseTime()).isEqualTo(H + 6 * M5 - 1);
+        assertThat(buf.open(buf.lastIndex())).isEqualTo(5);
+
+        assertThat(append(buf, 6)).isTrue();
+        assertThat(buf.open(0)).isEqualTo(3);
+    }
+
+    @Test
+    void tailIsAViewOfTheNewestBars() {
+        CandleBuffer buf = new CandleBuffer(4);
+        for (int i = 0; i < 6; i++)
+            append(buf, i);
+
+        List<Candle> tail = buf.tail(2);
+        assertThat(tail).extracting(Candle::getOpen).containsExactly(4.0, 5.0);
+        assertThat(buf.tail(10)).hasSize(4);
+        assertThatThrownBy(() -> tail.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        append(buf, 6);   // 뷰는 복사가 아니므로 최신 상태를 따라간다
+        assertThat(tail).extracting(Candle::getOpen).containsExactly(5.0, 6.0);
+    }
+
+    @Test
+    void clearForgetsEverythingIncludingTheLastCloseTime() {
+        CandleBuffer buf = new CandleBuffer(4);
+        for (int i = 0; i < 6; i++)
+            append(buf, i);
+
+        buf.clear();
+        assertThat(buf.isEmpty()).isTrue();
+        assertThat(buf.lastIndex()).isEqualTo(-1);
+        assertThat(buf.lastCloseTime()).isEqualTo(-1L);
+        assertThat(buf.asList()).isEmpty();
+
+        // 비운 뒤에는 예전 봉도 다시 받는다 (재부트스트랩)
+        assertThat(append(buf, 1)).isTrue();
+        assertThat(buf.size()).isEqualTo(1);
+        assertThat(buf.openTime(0)).isEqualTo(H + M5);
+    }
+}
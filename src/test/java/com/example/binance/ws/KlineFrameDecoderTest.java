@@ -0,0 +1,58 @@
+package com.example.binance.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.binance.enums.TimeFrame;
+
+class KlineFrameDecoderTest {
+
+    private static final String FINAL = "{\"stream\":\"ethusdt@kline_15m\",\"data\":{\"e\":\"kline\",\"E\":1700000900123,\"s\":\"ETHUSDT\","
+            + "\"k\":{\"t\":1700000000000,\"T\":1700000899999,\"s\":\"ETHUSDT\",\"i\":\"15m\",\"f\":1,\"L\":2,"
+            + "\"o\":\"2501.37\",\"c\":\"2503.10\",\"h\":\"2505.00\",\"l\":\"2499.95\",\"v\":\"1234.567\",\"n\":10,"
+            + "\"x\":true,\"q\":\"1.0\",\"V\":\"500\",\"Q\":\"0.5\",\"B\":\"0\"}}}";
+
+    private final KlineFrameDecoder decoder = new KlineFrameDecoder();
+
+    @Test
+    void decodesFinalFrame() throws Exception {
+        KlineFrame f = new KlineFrame();
+        assertThat(decoder.decode(FINAL, f)).isEqualTo(KlineFrameDecoder.Result.FINAL);
+        assertThat(f.stream).isEqualTo("ethusdt@kline_15m");
+        assertThat(f.eventTime).isEqualTo(1700000900123L);
+        assertThat(f.timeFrame).isEqualTo(TimeFrame.M15);
+        assertThat(f.openTime).isEqualTo(1700000000000L);
+        assertThat(f.closeTime).isEqualTo(1700000899999L);
+        assertThat(f.open).isEqualTo(2501.37);
+        assertThat(f.close).isEqualTo(2503.10);
+        assertThat(f.high).isEqualTo(2505.00);
+        assertThat(f.low).isEqualTo(2499.95);
+        assertThat(f.volume).isEqualTo(1234.567);
+    }
+
+    @Test
+    void stopsAtNonFinalAndInternsStreamName() throws Exception {
+        KlineFrame a = new KlineFrame();
+        KlineFrame b = new KlineFrame();
+        String nonFinal = FINAL.replace("\"x\":true", "\"x\":false");
+        assertThat(decoder.decode(nonFinal, a)).isEqualTo(KlineFrameDecoder.Result.NON_FINAL);
+        assertThat(a.high).isEqualTo(2505.00);
+        decoder.decode(FINAL, b);
+        assertThat(b.stream).isSameAs(a.stream);
+    }
+
+    @Test
+    void ignoresSubscribeAcks() throws Exception {
+        assertThat(decoder.decode("{\"result\":null,\"id\":1}", new KlineFrame()))
+                .isEqualTo(KlineFrameDecoder.Result.IGNORED);
+    }
+
+    @Test
+    void parsesDecimalsExactly() {
+        for (String s : new String[] { "0.00001234", "65432.1", "-12.5", "1e-7", "123456789012345678901.5" }) {
+            char[] c = s.toCharArray();
+            assertThat(KlineFrameDecoder.parseDouble(c, 0, c.length)).isEqualTo(Double.parseDouble(s));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.binance.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SessionMailboxTest {
+
+    /* execute 로 받은 drain 을 테스트가 직접 돌린다 */
+    private static final class ManualExecutor implements Executor {
+        final Queue<Runnable> pending = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            pending.add(command);
+        }
+
+        boolean runNext() {
+            Runnable r = pending.poll();
+            if (r == null)
+                return false;
+            r.run();
+            return true;
+        }
+    }
+
+    @Test
+    void tasksFromManyThreadsRunOneAtATimeInPerProducerOrder() throws Exception {
+        final int producers = 4, perProducer = 5_000;
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", workers, producers * perProducer);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<int[]> executed = new ArrayList<>();   // mailbox 안에서만 만진다
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+        CountDownLatch go = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread t = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    final int seq = i;
+                    assertThat(mailbox.offer(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        executed.add(new int[] { producer, seq });
+                        running.decrementAndGet();
+                        done.countDown();
+                    })).isTrue();
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        go.countDown();
+        for (Thread t : threads)
+            t.join();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        workers.shutdown();
+        assertThat(workers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(executed).hasSize(producers * perProducer);
+        int[] next = new int[producers];
+        for (int[] e : executed)
+            assertThat(e[1]).isEqualTo(next[e[0]]++);
+        assertThat(mailbox.size()).isZero();
+        assertThat(mailbox.dropped()).isZero();
+    }
+
+    @Test
+    void dropsWhenFullWithoutBlocking() {
+        ManualExecutor executor = new ManualExecutor();
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", executor, 3);
+        AtomicInteger ran = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++)
+            assertThat(mailbox.offer(ran::incrementAndGet)).isEqualTo(i < 3);
+        assertThat(mailbox.size()).isEqualTo(3);
+        assertThat(mailbox.dropped()).isEqualTo(2);
+        assertThat(executor.pending).hasSize(1);   // drain 예약은 한 번만
+
+        executor.runNext();
+        assertThat(ran).hasValue(3);
+        assertThat(mailbox.size()).isZero();
+        assertThat(mailbox.offer(ran::incrementAndGet)).isTrue();
+        assertThat(mailbox.dropped()).isEqualTo(2);
+    }
+
+    @Test
+    void droppableTasksLeaveHeadroomForTheRest() {
+        ManualExecutor executor = new ManualExecutor();
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", executor, 8);
+        AtomicInteger ran = new AtomicInteger();
+
+        // 용량 8 중 2 자리는 남겨 둔다
+        for (int i = 0; i < 8; i++)
+            assertThat(mailbox.offerDroppable(ran::incrementAndGet)).isEqualTo(i < 6);
+        assertThat(mailbox.offer(ran::incrementAndGet)).isTrue();
+        assertThat(mailbox.offer(ran::incrementAndGet)).isTrue();
+        assertThat(mailbox.offer(ran::incrementAndGet)).isFalse();
+        assertThat(mailbox.dropped()).isEqualTo(3);
+
+        // 제어 작업은 가득 차도 들어간다
+        mailbox.force(ran::incrementAndGet);
+        assertThat(mailbox.size()).isEqualTo(9);
+        executor.runNext();
+        assertThat(ran).hasValue(9);
+        assertThat(mailbox.size()).isZero();
+    }
+
+    @Test
+    void drainsAtMostOneBatchThenReschedules() {
+        ManualExecutor executor = new ManualExecutor();
+        SessionMailbox mailbox = new SessionMailbox("ETHUSDT", executor);
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 2 * SessionMailbox.BATCH + 22; i++)
+            mailbox.offer(ran::incrementAndGet);
+
+        List<Integer> perDrain = new ArrayList<>();
+        int before = 0;
+        while (executor.runNext()) {
+            perDrain.add(ran.get() - before);
+            before = ran.get();
+        }
+        assertThat(perDrain).containsExactly(SessionMailbox.BATCH, SessionMailbox.BATCH, 22);
+        assertThat(mailbox.size()).isZero();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.binance.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+class StreamConnectionPoolTest {
+
+    private static final String URL = "wss://fstream.example/stream";
+
+    /* 보낸 프레임을 모으는 가짜 소켓 */
+    private static final class FakeSocket implements WebSocket {
+        final Request request;
+        final WebSocketListener listener;
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+
+        FakeSocket(Request request, WebSocketListener listener) {
+            this.request = request;
+            this.listener = listener;
+        }
+
+        String streams() {
+            return request.url().queryParameter("streams");
+        }
+
+        void open() {
+            listener.onOpen(this, null);
+        }
+
+        void fail() {
+            listener.onFailure(this, new IOException("reset"), null);
+        }
+
+        @Override public Request request() { return request; }
+        @Override public long queueSize() { return 0; }
+        @Override public boolean send(String text) { return sent.add(text); }
+        @Override public boolean send(ByteString bytes) { return false; }
+        @Override public boolean close(int code, String reason) { closed = true; return true; }
+        @Override public void cancel() { closed = true; }
+    }
+
+    private final List<FakeSocket> sockets = new CopyOnWriteArrayList<>();
+    private final List<Set<String>> reconnects = new CopyOnWriteArrayList<>();
+
+    private final OkHttpClient client = new OkHttpClient() {
+        @Override
+        public WebSocket newWebSocket(Request request, WebSocketListener listener) {
+            FakeSocket s = new FakeSocket(request, listener);
+            sockets.add(s);
+            return s;
+        }
+    };
+
+    private final List<StreamConnectionPool> pools = new ArrayList<>();
+
+    private StreamConnectionPool pool(int maxStreams) {
+        StreamConnectionPool p = new StreamConnectionPool(client, URL, new StreamConnectionPool.Listener() {
+            @Override
+            public void onFrame(String text) { }
+
+            @Override
+            public void onReconnected(Set<String> symbols) {
+                reconnects.add(symbols);
+            }
+        }, maxStreams);
+        pools.add(p);
+        return p;
+    }
+
+    @AfterEach
+    void close() {
+        pools.forEach(StreamConnectionPool::closeAll);
+    }
+
+    private static List<String> streams(String symbol) {
+        String s = symbol.toLowerCase();
+        return List.of(s + "@kline_5m", s + "@kline_15m", s + "@kline_1h");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void firstConnectCarriesStreamsInTheUrlAndLaterChangesAreBatched() throws Exception {
+        StreamConnectionPool pool = pool(StreamConnectionPool.MAX_STREAMS_PER_CONNECTION);
+        pool.subscribe("ETHUSDT", streams("ETHUSDT"));
+        assertThat(sockets).singleElement().extracting(FakeSocket::streams)
+                .isEqualTo("ethusdt@kline_5m/ethusdt@kline_15m/ethusdt@kline_1h");
+        FakeSocket ws = sockets.get(0);
+        assertThat(pool.isConnected("ETHUSDT")).isFalse();
+
+        // 열리기 전 추가분은 flush 하지 않고 쌓아 둔다
+        pool.subscribe("BTCUSDT", List.of("btcusdt@kline_5m"));
+        Thread.sleep(2 * StreamConnectionPool.FLUSH_INTERVAL_MS);
+        assertThat(ws.sent).isEmpty();
+
+        ws.open();
+        assertThat(pool.isConnected("ethusdt")).isTrue();
+        assertThat(reconnects).isEmpty();   // 첫 연결은 공백 메우기 대상이 아니다
+        await(() -> ws.sent.size() == 1);
+        assertThat(ws.sent.get(0)).isEqualTo("{\"method\":\"SUBSCRIBE\",\"params\":[\"btcusdt@kline_5m\"],\"id\":1}");
+
+        // 한 flush 주기 안의 변경은 메서드별 한 프레임으로
+        pool.subscribe("SOLUSDT", List.of("solusdt@kline_5m"));
+        pool.subscribe("XRPUSDT", List.of("xrpusdt@kline_5m"));
+        pool.unsubscribe("BTCUSDT");
+        await(() -> ws.sent.size() == 3);
+        assertThat(ws.sent.subList(1, 3)).containsExactly(
+                "{\"method\":\"SUBSCRIBE\",\"params\":[\"solusdt@kline_5m\",\"xrpusdt@kline_5m\"],\"id\":2}",
+                "{\"method\":\"UNSUBSCRIBE\",\"params\":[\"btcusdt@kline_5m\"],\"id\":3}");
+        assertThat(sockets).hasSize(1);
+    }
+
+    @Test
+    void opensAnotherConnectionPastTheStreamLimitAndReusesFreedRoom() {
+        StreamConnectionPool pool = pool(StreamConnectionPool.MAX_STREAMS_PER_CONNECTION);
+        for (int i = 0; i < 66; i++)
+            pool.subscribe("S" + i + "USDT", streams("S" + i + "USDT"));   // 198 streams
+        assertThat(pool.connectionCount()).isEqualTo(1);
+
+        pool.subscribe("S66USDT", streams("S66USDT"));   // 201 > 200
+        assertThat(pool.connectionCount()).isEqualTo(2);
+        assertThat(sockets).hasSize(2);
+        assertThat(sockets.get(1).streams()).isEqualTo("s66usdt@kline_5m/s66usdt@kline_15m/s66usdt@kline_1h");
+
+        // 첫 연결에 자리가 나면 새 심볼은 거기로 간다
+        pool.unsubscribe("S0USDT");
+        pool.subscribe("NEWUSDT", streams("NEWUSDT"));
+        assertThat(pool.connectionCount()).isEqualTo(2);
+        assertThat(sockets).hasSize(2);
+
+        // 비어 버린 연결은 닫는다
+        pool.unsubscribe("S66USDT");
+        assertThat(pool.connectionCount()).isEqualTo(1);
+        assertThat(sockets.get(1).closed).isTrue();
+    }
+
+    @Test
+    void reconnectResubscribesEverythingAndReportsTheSymbols() throws Exception {
+        StreamConnectionPool pool = pool(StreamConnectionPool.MAX_STREAMS_PER_CONNECTION);
+        pool.subscribe("ETHUSDT", streams("ETHUSDT"));
+        FakeSocket first = sockets.get(0);
+        first.open();
+        pool.subscribe("BTCUSDT", List.of("btcusdt@kline_5m"));
+        pool.unsubscribe("ETHUSDT");
+        pool.subscribe("SOLUSDT", List.of("solusdt@kline_5m"));
+
+        first.fail();   // flush 전에 끊김: 대기 중이던 변경은 새 URL 에 반영된다
+        assertThat(pool.isConnected("BTCUSDT")).isFalse();
+        await(() -> sockets.size() == 2);
+        FakeSocket second = sockets.get(1);
+        assertThat(second.streams()).isEqualTo("btcusdt@kline_5m/solusdt@kline_5m");
+
+        first.open();   // 이전 소켓의 늦은 콜백은 무시
+        assertThat(reconnects).isEmpty();
+
+        second.open();
+        assertThat(reconnects).containsExactly(Set.of("btcusdt", "solusdt"));
+        Thread.sleep(2 * StreamConnectionPool.FLUSH_INTERVAL_MS);
+        assertThat(second.sent).isEmpty();   // URL 로 다 실었으므로 보낼 구독 메시지가 없다
+    }
+
+    @Test
+    void firstConnectFailureStillTriggersBackfillOnOpen() throws Exception {
+        StreamConnectionPool pool = pool(StreamConnectionPool.MAX_STREAMS_PER_CONNECTION);
+        pool.subscribe("ETHUSDT", streams("ETHUSDT"));
+        sockets.get(0).fail();
+
+        await(() -> sockets.size() == 2);
+        sockets.get(1).open();
+        assertThat(reconnects).containsExactly(Set.of("ethusdt"));
+    }
+}